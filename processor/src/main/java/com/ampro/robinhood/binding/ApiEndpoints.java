@@ -0,0 +1,21 @@
+package com.ampro.robinhood.binding;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an interface whose {@link Endpoint} methods describe Robinhood
+ * requests. For an interface {@code QuoteEndpoints} the annotation
+ * processor generates {@code GeneratedQuoteEndpoints}, which implements it
+ * with one {@code ApiMethod} subclass per method.
+ *
+ * @author Jonathan Augustine
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface ApiEndpoints {
+}
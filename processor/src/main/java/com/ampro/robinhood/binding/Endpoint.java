@@ -0,0 +1,39 @@
+package com.ampro.robinhood.binding;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A request of an {@link ApiEndpoints} interface. The method must return
+ * {@code com.ampro.robinhood.net.ApiMethod}; its parameters are bound with
+ * {@link Route}, {@link Query}, {@link Field} and {@link Header}. A
+ * parameter of type {@code Configuration} without an annotation is used as
+ * the configuration of the method.
+ *
+ * @author Jonathan Augustine
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface Endpoint {
+
+    /** @return The url, with {@code {name}} for each route parameter */
+    String url();
+
+    /** @return The name of the {@code RequestMethod} (e.g. GET, POST) */
+    String method() default "GET";
+
+    /** @return The class of the response */
+    Class<?> returns();
+
+    /**
+     * @return Whether the request needs the authorization token, in which
+     *          case the method must declare
+     *          {@code RobinhoodNotLoggedInException}
+     */
+    boolean requiresToken() default false;
+
+}
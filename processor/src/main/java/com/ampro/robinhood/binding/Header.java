@@ -0,0 +1,22 @@
+package com.ampro.robinhood.binding;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a parameter to a request header
+ *
+ * @author Jonathan Augustine
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.PARAMETER)
+public @interface Header {
+
+    /** @return The name of the parameter */
+    String value();
+
+}
@@ -0,0 +1,30 @@
+package com.ampro.robinhood.binding;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an interface of getters describing a JSON element. For an
+ * interface {@code SplitElement} the annotation processor generates
+ * {@code GeneratedSplitElement}, which implements it with fields, and its
+ * Gson {@code TypeAdapter}, so the element is read and written without
+ * reflection.
+ * <p>
+ * Each {@code getX()} or {@code isX()} method is a field, named in snake
+ * case ({@code getLastTradePrice()} is {@code last_trade_price}) unless it
+ * has a {@link JsonName}.
+ *
+ * @author Jonathan Augustine
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface JsonElement {
+
+    /** @return The value of {@code ApiElement#requiresAuth()} */
+    boolean requiresAuth() default false;
+
+}
@@ -0,0 +1,757 @@
+package com.ampro.robinhood.binding.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.MirroredTypeException;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+import com.ampro.robinhood.binding.ApiEndpoints;
+import com.ampro.robinhood.binding.Endpoint;
+import com.ampro.robinhood.binding.Field;
+import com.ampro.robinhood.binding.Header;
+import com.ampro.robinhood.binding.JsonElement;
+import com.ampro.robinhood.binding.JsonName;
+import com.ampro.robinhood.binding.Query;
+import com.ampro.robinhood.binding.Route;
+
+/**
+ * Generates the implementations of {@link ApiEndpoints} and
+ * {@link JsonElement} interfaces.
+ * <p>
+ * The Gson factories of the generated elements are listed in
+ * {@code META-INF/services/com.google.gson.TypeAdapterFactory}, where
+ * {@code ElementTypeAdapterFactory} picks them up.
+ *
+ * @author Jonathan Augustine
+ */
+@SupportedAnnotationTypes({
+        "com.ampro.robinhood.binding.ApiEndpoints",
+        "com.ampro.robinhood.binding.JsonElement"
+})
+public class BindingProcessor extends AbstractProcessor {
+
+    static final String PREFIX = "Generated";
+
+    private static final String API_METHOD = "com.ampro.robinhood.net.ApiMethod";
+    private static final String TEMPLATE = "com.ampro.robinhood.net.RequestTemplate";
+    private static final String CONFIGURATION = "com.ampro.robinhood.Configuration";
+    private static final String API_EXCEPTION =
+            "com.ampro.robinhood.throwables.RobinhoodApiException";
+    private static final String NOT_LOGGED_IN =
+            "com.ampro.robinhood.throwables.RobinhoodNotLoggedInException";
+    private static final String JSON_READERS = "com.ampro.robinhood.net.json.JsonReaders";
+    /** The constants of {@code RequestMethod} */
+    private static final List<String> REQUEST_METHODS = Arrays.asList(
+            "DELETE", "GET", "HEAD", "OPTIONS", "PUT", "POST", "TRACE"
+    );
+    private static final String SERVICES =
+            "META-INF/services/com.google.gson.TypeAdapterFactory";
+
+    /** The factories of the elements generated in every round */
+    private final Set<String> factories = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations,
+                           RoundEnvironment round) {
+        for (Element element : round.getElementsAnnotatedWith(ApiEndpoints.class)) {
+            if (isTopLevelInterface(element)) {
+                generateEndpoints((TypeElement) element);
+            }
+        }
+        for (Element element : round.getElementsAnnotatedWith(JsonElement.class)) {
+            if (isTopLevelInterface(element)) {
+                generateElement((TypeElement) element);
+            }
+        }
+        if (round.processingOver() && !factories.isEmpty()) {
+            writeServices();
+        }
+        return true;
+    }
+
+    private boolean isTopLevelInterface(Element element) {
+        if (element.getKind() != ElementKind.INTERFACE
+                || element.getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+            error(element, "Only top-level interfaces can be annotated");
+            return false;
+        }
+        return true;
+    }
+
+    /* ---------------------------- Endpoints ---------------------------- */
+
+    private void generateEndpoints(TypeElement type) {
+        String name = PREFIX + type.getSimpleName();
+        Source out = new Source(packageOf(type));
+        out.line("/**")
+           .line(" * The {@link " + type.getSimpleName() + "} requests.")
+           .line(" * Generated from the interface, do not edit.")
+           .line(" */")
+           .open("public final class " + name + " implements " + type.getSimpleName())
+           .line()
+           .line("/** The shared instance, the generated methods have no state */")
+           .line("public static final " + name + " INSTANCE = new " + name + "();")
+           .line();
+
+        List<String> classes = new ArrayList<>();
+        for (ExecutableElement method : abstractMethods(type)) {
+            Endpoint endpoint = method.getAnnotation(Endpoint.class);
+            if (endpoint == null) {
+                error(method, "Missing @Endpoint");
+                continue;
+            }
+            if (!API_METHOD.equals(method.getReturnType().toString())) {
+                error(method, "An @Endpoint must return " + API_METHOD);
+                continue;
+            }
+            if (!REQUEST_METHODS.contains(endpoint.method())) {
+                error(method, "Unknown request method " + endpoint.method()
+                        + ", expected one of " + REQUEST_METHODS);
+                continue;
+            }
+            if (endpoint.requiresToken() && !declares(method, NOT_LOGGED_IN)) {
+                error(method, "An @Endpoint requiring a token must throw "
+                        + NOT_LOGGED_IN);
+                continue;
+            }
+            String className = capitalize(method.getSimpleName().toString());
+            String parameters = parameters(method);
+            String arguments = arguments(method);
+            String throwsClause = endpoint.requiresToken()
+                    ? " throws " + NOT_LOGGED_IN : "";
+
+            out.line("@Override")
+               .open("public " + API_METHOD + " " + method.getSimpleName()
+                             + "(" + parameters + ")" + throwsClause)
+               .line("return new " + className + "(" + arguments + ");")
+               .close()
+               .line();
+
+            classes.add(endpointClass(method, endpoint, className,
+                                      parameters, throwsClause));
+        }
+        for (String endpointClass : classes) {
+            out.raw(endpointClass);
+        }
+        out.close();
+        write(type, packageOf(type), name, out);
+    }
+
+    private String endpointClass(ExecutableElement method, Endpoint endpoint,
+                                 String className, String parameters,
+                                 String throwsClause) {
+        Source out = new Source(null);
+        out.indent();
+        out.line("/** {@code " + endpoint.method() + " " + endpoint.url() + "} */")
+           .open("public static final class " + className + " extends " + API_METHOD)
+           .line("private static final " + TEMPLATE + " TEMPLATE = new " + TEMPLATE + "(")
+           .line("        com.ampro.robinhood.net.request.RequestMethod."
+                         + endpoint.method() + ", \"" + escape(endpoint.url()) + "\",")
+           .line("        " + returnType(method, endpoint) + ".class, "
+                         + endpoint.requiresToken() + ");")
+           .line()
+           .open("public " + className + "(" + parameters + ")" + throwsClause);
+
+        String config = CONFIGURATION + ".getDefault()";
+        for (VariableElement parameter : method.getParameters()) {
+            if (!isBound(parameter)
+                    && CONFIGURATION.equals(parameter.asType().toString())) {
+                config = parameter.getSimpleName().toString();
+            }
+        }
+        out.line("super(" + config + ", TEMPLATE);");
+
+        for (VariableElement parameter : method.getParameters()) {
+            String value = parameter.getSimpleName().toString();
+            Route route = parameter.getAnnotation(Route.class);
+            Query query = parameter.getAnnotation(Query.class);
+            Field field = parameter.getAnnotation(Field.class);
+            Header header = parameter.getAnnotation(Header.class);
+            if (route != null) {
+                if (!endpoint.url().contains("{" + route.value() + "}")) {
+                    error(parameter, "The url has no {" + route.value() + "}");
+                }
+                out.line("addRouteParameter(\"" + escape(route.value()) + "\", "
+                                 + asString(parameter) + ");");
+            } else if (query != null) {
+                String argument = isCollection(parameter)
+                        ? asString(parameter) : value;
+                out.line("addQueryParameter(\"" + escape(query.value()) + "\", "
+                                 + argument + ");");
+            } else if (field != null) {
+                out.line("addFieldParameter(\"" + escape(field.value()) + "\", "
+                                 + value + ");");
+            } else if (header != null) {
+                out.line("addHeaderParameter(\"" + escape(header.value()) + "\", "
+                                 + asString(parameter) + ");");
+            } else if (!CONFIGURATION.equals(parameter.asType().toString())) {
+                error(parameter, "Parameters must be bound with"
+                        + " @Route, @Query, @Field or @Header");
+            }
+        }
+        if (endpoint.requiresToken()) {
+            out.line("addAuthTokenParameter();");
+        }
+        out.close()
+           .close()
+           .line();
+        return out.toString();
+    }
+
+    private String returnType(ExecutableElement method, Endpoint endpoint) {
+        try {
+            return endpoint.returns().getCanonicalName();
+        } catch (MirroredTypeException e) {
+            //The class is being compiled, read it from the source
+            return processingEnv.getTypeUtils().erasure(e.getTypeMirror()).toString();
+        }
+    }
+
+    private boolean isBound(VariableElement parameter) {
+        return parameter.getAnnotation(Route.class) != null
+                || parameter.getAnnotation(Query.class) != null
+                || parameter.getAnnotation(Field.class) != null
+                || parameter.getAnnotation(Header.class) != null;
+    }
+
+    /** The value of a parameter as a string, collections joined with commas */
+    private String asString(VariableElement parameter) {
+        String name = parameter.getSimpleName().toString();
+        if (isCollection(parameter)) {
+            return "String.join(\",\", " + name + ")";
+        }
+        return parameter.asType().toString().equals("java.lang.String")
+                ? name : "String.valueOf(" + name + ")";
+    }
+
+    private boolean isCollection(VariableElement parameter) {
+        TypeMirror collection = processingEnv.getTypeUtils().erasure(
+                processingEnv.getElementUtils()
+                             .getTypeElement("java.util.Collection").asType());
+        return processingEnv.getTypeUtils().isAssignable(
+                processingEnv.getTypeUtils().erasure(parameter.asType()), collection);
+    }
+
+    private boolean declares(ExecutableElement method, String exception) {
+        for (TypeMirror thrown : method.getThrownTypes()) {
+            String name = thrown.toString();
+            if (name.equals(exception) || name.equals(API_EXCEPTION)
+                    || name.equals("java.lang.Exception")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String parameters(ExecutableElement method) {
+        StringBuilder parameters = new StringBuilder();
+        for (VariableElement parameter : method.getParameters()) {
+            if (parameters.length() > 0) {
+                parameters.append(", ");
+            }
+            parameters.append(parameter.asType()).append(' ')
+                      .append(parameter.getSimpleName());
+        }
+        return parameters.toString();
+    }
+
+    private static String arguments(ExecutableElement method) {
+        StringBuilder arguments = new StringBuilder();
+        for (VariableElement parameter : method.getParameters()) {
+            if (arguments.length() > 0) {
+                arguments.append(", ");
+            }
+            arguments.append(parameter.getSimpleName());
+        }
+        return arguments.toString();
+    }
+
+    /* ----------------------------- Elements ----------------------------- */
+
+    /** A getter of a {@link JsonElement} interface */
+    private static final class Property {
+        final String getter;
+        final String field;
+        final String json;
+        final TypeMirror type;
+
+        Property(String getter, String field, String json, TypeMirror type) {
+            this.getter = getter;
+            this.field = field;
+            this.json = json;
+            this.type = type;
+        }
+
+        String typeName() {
+            return type.toString();
+        }
+    }
+
+    private void generateElement(TypeElement type) {
+        String name = PREFIX + type.getSimpleName();
+        String iface = type.getSimpleName().toString();
+        boolean requiresAuth = type.getAnnotation(JsonElement.class).requiresAuth();
+
+        List<Property> properties = new ArrayList<>();
+        boolean hasRequiresAuth = false;
+        for (ExecutableElement method : abstractMethods(type)) {
+            String getter = method.getSimpleName().toString();
+            TypeMirror returnType = method.getReturnType();
+            if (getter.equals("requiresAuth") && method.getParameters().isEmpty()
+                    && returnType.getKind() == TypeKind.BOOLEAN) {
+                hasRequiresAuth = true;
+                continue;
+            }
+            String field = propertyName(getter, returnType);
+            if (field == null || !method.getParameters().isEmpty()) {
+                error(method, "A @JsonElement may only have getX() and isX() methods");
+                continue;
+            }
+            JsonName jsonName = method.getAnnotation(JsonName.class);
+            properties.add(new Property(getter, field,
+                    jsonName != null ? jsonName.value() : snakeCase(field), returnType));
+        }
+
+        Source out = new Source(packageOf(type));
+        out.line("/**")
+           .line(" * The {@link " + iface + "} element and its Gson codec.")
+           .line(" * Generated from the interface, do not edit.")
+           .line(" */")
+           .open("public final class " + name + " implements " + iface)
+           .line();
+        for (Property property : properties) {
+            out.line("private " + property.typeName() + " " + property.field + ";");
+        }
+        out.line()
+           .open("public " + name + "()")
+           .close()
+           .line();
+
+        //All-args constructor
+        StringBuilder parameters = new StringBuilder();
+        for (Property property : properties) {
+            if (parameters.length() > 0) {
+                parameters.append(", ");
+            }
+            parameters.append(property.typeName()).append(' ').append(property.field);
+        }
+        if (!properties.isEmpty()) {
+            out.open("public " + name + "(" + parameters + ")");
+            for (Property property : properties) {
+                out.line("this." + property.field + " = " + property.field + ";");
+            }
+            out.close().line();
+        }
+
+        for (Property property : properties) {
+            out.line("@Override")
+               .open("public " + property.typeName() + " " + property.getter + "()")
+               .line("return " + property.field + ";")
+               .close()
+               .line();
+        }
+        if (hasRequiresAuth) {
+            out.line("@Override")
+               .open("public boolean requiresAuth()")
+               .line("return " + requiresAuth + ";")
+               .close()
+               .line();
+        }
+        equalsAndHashCode(out, name, properties);
+        toString(out, iface, properties);
+        adapter(out, iface, name, properties);
+        factory(out, iface, name);
+        out.close();
+
+        write(type, packageOf(type), name, out);
+        String pkg = packageOf(type);
+        factories.add((pkg.isEmpty() ? "" : pkg + ".") + name + "$Factory");
+    }
+
+    private void equalsAndHashCode(Source out, String name, List<Property> properties) {
+        out.line("@Override")
+           .open("public boolean equals(Object o)")
+           .open("if (this == o)")
+           .line("return true;")
+           .close()
+           .open("if (!(o instanceof " + name + "))")
+           .line("return false;")
+           .close();
+        if (properties.isEmpty()) {
+            out.line("return true;");
+        } else {
+            out.line(name + " other = (" + name + ") o;");
+            StringBuilder equals = new StringBuilder("return ");
+            for (int i = 0; i < properties.size(); i++) {
+                Property property = properties.get(i);
+                if (i > 0) {
+                    equals.append("\n            && ");
+                }
+                String field = property.field;
+                switch (property.type.getKind()) {
+                    case FLOAT:
+                        equals.append("Float.compare(").append(field).append(", other.")
+                              .append(field).append(") == 0");
+                        break;
+                    case DOUBLE:
+                        equals.append("Double.compare(").append(field).append(", other.")
+                              .append(field).append(") == 0");
+                        break;
+                    case BOOLEAN: case BYTE: case SHORT: case INT: case LONG: case CHAR:
+                        equals.append(field).append(" == other.").append(field);
+                        break;
+                    default:
+                        equals.append("java.util.Objects.equals(").append(field)
+                              .append(", other.").append(field).append(")");
+                }
+            }
+            out.line(equals.append(';').toString());
+        }
+        out.close().line();
+
+        StringBuilder fields = new StringBuilder();
+        for (Property property : properties) {
+            if (fields.length() > 0) {
+                fields.append(", ");
+            }
+            fields.append(property.field);
+        }
+        out.line("@Override")
+           .open("public int hashCode()")
+           .line("return java.util.Objects.hash(" + fields + ");")
+           .close()
+           .line();
+    }
+
+    private void toString(Source out, String iface, List<Property> properties) {
+        StringBuilder string = new StringBuilder("return \"" + iface + "[");
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            string.append(i > 0 ? "; " : "").append(property.json).append(": \" + ")
+                  .append(property.field).append(" + \"");
+        }
+        out.line("@Override")
+           .open("public String toString()")
+           .line(string.append("]\";").toString())
+           .close()
+           .line();
+    }
+
+    private void adapter(Source out, String iface, String name,
+                         List<Property> properties) {
+        out.line("/** Reads and writes the element field by field */")
+           .open("public static final class Adapter extends com.google.gson.TypeAdapter<"
+                         + iface + ">")
+           .line();
+        List<Property> delegated = new ArrayList<>();
+        for (Property property : properties) {
+            if (reader(property, "e") == null) {
+                delegated.add(property);
+                out.line("private final com.google.gson.TypeAdapter<" + boxed(property)
+                                 + "> " + property.field + "Adapter;");
+            }
+        }
+        if (!delegated.isEmpty()) {
+            out.line();
+        }
+        out.open("public Adapter(com.google.gson.Gson gson)");
+        for (Property property : delegated) {
+            out.line(property.field + "Adapter = gson.getAdapter("
+                             + "new com.google.gson.reflect.TypeToken<"
+                             + boxed(property) + ">() {});");
+        }
+        out.close()
+           .line()
+           .line("@Override")
+           .open("public " + iface + " read(com.google.gson.stream.JsonReader in)"
+                         + " throws java.io.IOException")
+           .open("if (!" + JSON_READERS + ".beginObject(in))")
+           .line("return null;")
+           .close()
+           .line(name + " e = new " + name + "();")
+           .open("while (in.hasNext())")
+           .open("switch (in.nextName())");
+        for (Property property : properties) {
+            String reader = reader(property, "e");
+            if (reader == null) {
+                reader = property.field + "Adapter.read(in)";
+            }
+            out.line("case \"" + escape(property.json) + "\": e." + property.field
+                             + " = " + reader + "; break;");
+        }
+        out.line("default: in.skipValue();")
+           .close()
+           .close()
+           .line("in.endObject();")
+           .line("return e;")
+           .close()
+           .line()
+           .line("@Override")
+           .open("public void write(com.google.gson.stream.JsonWriter out, " + iface
+                         + " value) throws java.io.IOException")
+           .open("if (value == null)")
+           .line("out.nullValue();")
+           .line("return;")
+           .close()
+           .line("out.beginObject();");
+        for (Property property : properties) {
+            String get = "value." + property.getter + "()";
+            out.line("out.name(\"" + escape(property.json) + "\");");
+            switch (property.type.getKind()) {
+                case FLOAT:
+                    //Float.toString keeps the float's digits (107.93, not
+                    //107.93000030517578)
+                    out.line("out.value(Float.valueOf(" + get + "));");
+                    break;
+                case BOOLEAN: case INT: case LONG: case DOUBLE:
+                    out.line("out.value(" + get + ");");
+                    break;
+                default:
+                    switch (property.typeName()) {
+                        case "java.lang.String":
+                        case "java.lang.Boolean":
+                        case "java.lang.Integer":
+                        case "java.lang.Long":
+                        case "java.lang.Float":
+                        case "java.lang.Double":
+                            out.line("out.value(" + get + ");");
+                            break;
+                        case "java.net.URL":
+                            out.line("out.value(" + get + " == null ? null : "
+                                             + get + ".toExternalForm());");
+                            break;
+                        default:
+                            out.line(property.field + "Adapter.write(out, " + get + ");");
+                    }
+            }
+        }
+        out.line("out.endObject();")
+           .close()
+           .close()
+           .line();
+    }
+
+    /**
+     * @return The expression reading the property without boxing, or
+     *          {@code null} if it is read with a Gson adapter
+     */
+    private static String reader(Property property, String element) {
+        String current = element + "." + property.field;
+        switch (property.type.getKind()) {
+            case FLOAT: return JSON_READERS + ".nextFloat(in, " + current + ")";
+            case DOUBLE: return JSON_READERS + ".nextDouble(in, " + current + ")";
+            case INT: return JSON_READERS + ".nextInt(in, " + current + ")";
+            case LONG: return JSON_READERS + ".nextLong(in, " + current + ")";
+            case BOOLEAN: return JSON_READERS + ".nextBoolean(in, " + current + ")";
+            default:
+        }
+        switch (property.typeName()) {
+            case "java.lang.String": return JSON_READERS + ".nextString(in)";
+            case "java.lang.Integer": return JSON_READERS + ".nextInteger(in)";
+            case "java.lang.Boolean": return JSON_READERS + ".nextBooleanObject(in)";
+            case "java.net.URL": return JSON_READERS + ".nextUrl(in)";
+            default: return null;
+        }
+    }
+
+    private String boxed(Property property) {
+        TypeMirror type = property.type;
+        if (type.getKind().isPrimitive()) {
+            type = processingEnv.getTypeUtils()
+                                .boxedClass((PrimitiveType) type).asType();
+        }
+        return type.toString();
+    }
+
+    private void factory(Source out, String iface, String name) {
+        out.line("/** Provides the {@link Adapter} of the element, a service */")
+           .open("public static final class Factory"
+                         + " implements com.google.gson.TypeAdapterFactory")
+           .line("@Override")
+           .line("@SuppressWarnings(\"unchecked\")")
+           .open("public <T> com.google.gson.TypeAdapter<T> create("
+                         + "com.google.gson.Gson gson,"
+                         + " com.google.gson.reflect.TypeToken<T> type)")
+           .line("Class<? super T> raw = type.getRawType();")
+           .line("return raw == " + iface + ".class || raw == " + name + ".class")
+           .line("        ? (com.google.gson.TypeAdapter<T>) new Adapter(gson) : null;")
+           .close()
+           .close();
+    }
+
+    private static String propertyName(String getter, TypeMirror type) {
+        String name;
+        if (getter.startsWith("get") && getter.length() > 3) {
+            name = getter.substring(3);
+        } else if (getter.startsWith("is") && getter.length() > 2
+                && (type.getKind() == TypeKind.BOOLEAN
+                        || type.toString().equals("java.lang.Boolean"))) {
+            name = getter.substring(2);
+        } else {
+            return null;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /** lastTradePrice to last_trade_price */
+    static String snakeCase(String name) {
+        StringBuilder snake = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c)) {
+                if (i > 0) {
+                    snake.append('_');
+                }
+                snake.append(Character.toLowerCase(c));
+            } else {
+                snake.append(c);
+            }
+        }
+        return snake.toString();
+    }
+
+    /* ------------------------------ Output ------------------------------ */
+
+    private List<ExecutableElement> abstractMethods(TypeElement type) {
+        List<ExecutableElement> methods = new ArrayList<>();
+        for (Element member : processingEnv.getElementUtils().getAllMembers(type)) {
+            if (member.getKind() == ElementKind.METHOD
+                    && member.getModifiers().contains(Modifier.ABSTRACT)) {
+                methods.add((ExecutableElement) member);
+            }
+        }
+        return methods;
+    }
+
+    private String packageOf(TypeElement type) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        return pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+    }
+
+    private void write(TypeElement origin, String pkg, String name, Source source) {
+        String qualified = pkg.isEmpty() ? name : pkg + "." + name;
+        try {
+            JavaFileObject file = processingEnv.getFiler()
+                                               .createSourceFile(qualified, origin);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            error(origin, "Could not write " + qualified + ": " + e.getMessage());
+        }
+    }
+
+    private void writeServices() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(
+                    StandardLocation.CLASS_OUTPUT, "", SERVICES);
+            try (Writer writer = file.openWriter()) {
+                for (String factory : factories) {
+                    writer.write(factory);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR,
+                    "Could not write " + SERVICES + ": " + e.getMessage());
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /** Java source built line by line with four space indents */
+    private static final class Source {
+
+        private final StringBuilder text = new StringBuilder();
+        private int depth;
+
+        Source(String pkg) {
+            if (pkg != null) {
+                if (!pkg.isEmpty()) {
+                    line("package " + pkg + ";");
+                }
+                line();
+            }
+        }
+
+        Source indent() {
+            depth++;
+            return this;
+        }
+
+        Source line() {
+            text.append('\n');
+            return this;
+        }
+
+        Source line(String line) {
+            for (int i = 0; i < depth; i++) {
+                text.append("    ");
+            }
+            text.append(line).append('\n');
+            return this;
+        }
+
+        /** Append lines already indented */
+        Source raw(String lines) {
+            text.append(lines);
+            return this;
+        }
+
+        Source open(String line) {
+            line(line + " {");
+            depth++;
+            return this;
+        }
+
+        Source close() {
+            depth--;
+            return line("}");
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.ampro.robinhood.binding.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapterFactory;
+
+public class BindingProcessorTest {
+
+	private static final String SPLIT = "package test;\n"
+			+ "import com.ampro.robinhood.binding.JsonElement;\n"
+			+ "import com.ampro.robinhood.binding.JsonName;\n"
+			+ "@JsonElement(requiresAuth = true)\n"
+			+ "public interface SplitElement extends com.ampro.robinhood.endpoint.ApiElement {\n"
+			+ "    String getInstrument();\n"
+			+ "    float getMultiplier();\n"
+			+ "    long getDivisor();\n"
+			+ "    boolean isReverse();\n"
+			+ "    Integer getShares();\n"
+			+ "    @JsonName(\"execution_date\") String getDate();\n"
+			+ "    java.util.List<String> getTags();\n"
+			+ "}\n";
+
+	private Path output;
+
+	@Before
+	public void setUp() throws IOException {
+		output = Files.createTempDirectory("binding");
+	}
+
+	private boolean compile(String name, String source, StringWriter errors) {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		JavaFileObject file = new SimpleJavaFileObject(
+				URI.create("string:///test/" + name + ".java"), JavaFileObject.Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+				return source;
+			}
+		};
+		return compiler.getTask(errors, null, null, Arrays.asList(
+				"-classpath", System.getProperty("java.class.path"),
+				"-processor", BindingProcessor.class.getName(),
+				"-d", output.toString()), null, Collections.singletonList(file)).call();
+	}
+
+	@Test
+	public void elementIsReadAndWrittenWithoutReflection() throws Exception {
+		StringWriter errors = new StringWriter();
+		assertTrue(errors.toString(), compile("SplitElement", SPLIT, errors));
+		assertEquals("test.GeneratedSplitElement$Factory", new String(Files.readAllBytes(
+				output.resolve("META-INF/services/com.google.gson.TypeAdapterFactory")),
+				StandardCharsets.UTF_8).trim());
+
+		try (URLClassLoader loader = new URLClassLoader(
+				new URL[] {output.toUri().toURL()}, getClass().getClassLoader())) {
+			Class<?> split = loader.loadClass("test.SplitElement");
+			Gson gson = new GsonBuilder().registerTypeAdapterFactory((TypeAdapterFactory)
+					loader.loadClass("test.GeneratedSplitElement$Factory").newInstance()).create();
+
+			String json = "{\"instrument\":\"https://api.robinhood.com/instruments/1/\","
+					+ "\"multiplier\":\"2.5\",\"divisor\":\"1\",\"reverse\":\"true\","
+					+ "\"shares\":null,\"execution_date\":\"2018-08-01\","
+					+ "\"tags\":[\"a\",\"b\"],\"unknown\":{\"nested\":[1]}}";
+			Object element = gson.fromJson(json, split);
+			assertEquals(2.5f, split.getMethod("getMultiplier").invoke(element));
+			assertEquals(1L, split.getMethod("getDivisor").invoke(element));
+			assertEquals(true, split.getMethod("isReverse").invoke(element));
+			assertEquals("2018-08-01", split.getMethod("getDate").invoke(element));
+			assertEquals(Arrays.asList("a", "b"), split.getMethod("getTags").invoke(element));
+			assertEquals(true, split.getMethod("requiresAuth").invoke(element));
+
+			String written = gson.toJson(element, split);
+			assertFalse(written.contains("shares"));
+			assertEquals(element, gson.fromJson(written, split));
+		}
+	}
+
+	@Test
+	public void unboundEndpointParameterIsAnError() {
+		String source = "package test;\n"
+				+ "import com.ampro.robinhood.binding.*;\n"
+				+ "@ApiEndpoints public interface Broken {\n"
+				+ "    @Endpoint(url = \"https://api.robinhood.com/quotes/\",\n"
+				+ "              returns = String.class)\n"
+				+ "    com.ampro.robinhood.net.ApiMethod quote(String ticker);\n"
+				+ "}\n";
+		StringWriter errors = new StringWriter();
+		assertFalse(compile("Broken", source, errors));
+		assertTrue(errors.toString(), errors.toString().contains("must be bound"));
+	}
+
+	@Test
+	public void snakeCase() {
+		assertEquals("last_trade_price", BindingProcessor.snakeCase("lastTradePrice"));
+		assertEquals("symbol", BindingProcessor.snakeCase("symbol"));
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.ampro.robinhood.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.ampro.robinhood.endpoint.instrument.data.InstrumentElementList;
+import com.ampro.robinhood.endpoint.option.data.Options;
+import com.ampro.robinhood.endpoint.orders.data.SecurityOrderElementList;
+import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElementList;
+import com.ampro.robinhood.net.json.ElementTypeAdapterFactory;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+
+/**
+ * Decoding of response bodies the way the
+ * {@link com.ampro.robinhood.net.request.RequestManager} does it, streamed
+ * from the body bytes with a {@link JsonReader}. Sizes cover a single quote
+ * up to a full page of instruments and a large batched quote list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DeserializationBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int size;
+
+    private final Gson gson = ElementTypeAdapterFactory.createGson();
+
+    private byte[] quotes;
+    private byte[] instruments;
+    private byte[] orders;
+    private byte[] options;
+
+    @Setup
+    public void setUp() {
+        quotes = bytes(Payloads.page("quote", size, null));
+        instruments = bytes(Payloads.page("instrument", size, null));
+        orders = bytes(Payloads.page("order", size, null));
+        options = bytes(Payloads.page("option", size, null));
+    }
+
+    private static byte[] bytes(String payload) {
+        return payload.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private <T> T decode(byte[] body, Type type) {
+        return gson.fromJson(new JsonReader(new InputStreamReader(
+                new ByteArrayInputStream(body), StandardCharsets.UTF_8)), type);
+    }
+
+    @Benchmark
+    public TickerQuoteElementList quoteList() {
+        return decode(quotes, TickerQuoteElementList.class);
+    }
+
+    @Benchmark
+    public InstrumentElementList instrumentList() {
+        return decode(instruments, InstrumentElementList.class);
+    }
+
+    @Benchmark
+    public SecurityOrderElementList orderList() {
+        return decode(orders, SecurityOrderElementList.class);
+    }
+
+    @Benchmark
+    public Options options() {
+        return decode(options, Options.class);
+    }
+
+}
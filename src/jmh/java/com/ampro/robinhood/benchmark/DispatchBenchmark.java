@@ -0,0 +1,82 @@
+package com.ampro.robinhood.benchmark;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElementList;
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.net.request.RequestManager;
+import com.ampro.robinhood.net.transport.HttpTransport;
+import com.ampro.robinhood.net.transport.HttpTransports;
+import com.ampro.robinhood.net.transport.TransportConfig;
+import com.ampro.robinhood.throwables.RobinhoodApiException;
+import com.ampro.robinhood.util.Futures;
+
+/**
+ * A full round trip through the {@link RequestManager}: rate limiter,
+ * transport, local WireMock stand-in and decoding of a ten quote list.
+ * The {@code http2} transport needs the benchmarks to run on Java 11+.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DispatchBenchmark {
+
+    /** How many requests the burst benchmark keeps in flight */
+    private static final int BURST = 32;
+
+    @Param({"unirest", "http2"})
+    public String transport;
+
+    private StandIn standIn;
+
+    private RequestManager requestManager;
+
+    private HttpTransport original;
+
+    private ApiMethod quotes;
+
+    @Setup
+    public void setUp() throws Exception {
+        standIn = new StandIn();
+        standIn.serve("/quotes/", Payloads.page("quote", 10, null));
+        quotes = standIn.method("/quotes/", TickerQuoteElementList.class);
+        requestManager = RequestManager.getInstance();
+        original = requestManager.getTransport();
+        requestManager.setTransport("http2".equals(transport)
+                ? HttpTransports.http2(new TransportConfig())
+                : HttpTransports.unirest(new TransportConfig()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        requestManager.setTransport(original);
+        standIn.stop();
+    }
+
+    @Benchmark
+    public TickerQuoteElementList blocking() throws RobinhoodApiException {
+        return requestManager.makeApiRequest(quotes);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Object burst() throws RobinhoodApiException {
+        CompletableFuture<TickerQuoteElementList>[] futures = new CompletableFuture[BURST];
+        for (int i = 0; i < BURST; i++) {
+            futures[i] = requestManager.makeApiRequestAsync(quotes);
+        }
+        return Futures.join(CompletableFuture.allOf(futures));
+    }
+
+}
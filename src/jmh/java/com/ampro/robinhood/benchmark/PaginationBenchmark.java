@@ -0,0 +1,83 @@
+package com.ampro.robinhood.benchmark;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.ampro.robinhood.endpoint.instrument.data.InstrumentElement;
+import com.ampro.robinhood.endpoint.instrument.data.InstrumentElementList;
+import com.ampro.robinhood.net.pagination.PaginatedIterator;
+import com.ampro.robinhood.net.pagination.PrefetchingPaginatedIterator;
+import com.ampro.robinhood.net.request.RequestManager;
+import com.ampro.robinhood.throwables.RobinhoodApiException;
+
+/**
+ * Walking every page of a paginated instrument list served by a local
+ * WireMock stand-in, one page at a time and with prefetching.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PaginationBenchmark {
+
+    /** Instruments per page, as Robinhood sends them */
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"10"})
+    public int pages;
+
+    private StandIn standIn;
+
+    private InstrumentElementList first;
+
+    @Setup
+    public void setUp() throws RobinhoodApiException {
+        standIn = new StandIn();
+        for (int page = 0; page < pages; page++) {
+            String next = page + 1 < pages
+                    ? standIn.url("/instruments/?cursor=" + (page + 1)) : null;
+            standIn.serve("/instruments/?cursor=" + page,
+                          Payloads.page("instrument", PAGE_SIZE, next));
+        }
+        first = RequestManager.getInstance().makeApiRequest(standIn.method(
+                "/instruments/?cursor=0", InstrumentElementList.class
+        ));
+    }
+
+    @TearDown
+    public void tearDown() {
+        standIn.stop();
+    }
+
+    @Benchmark
+    public int sequential() {
+        return count(new PaginatedIterator<>(first));
+    }
+
+    @Benchmark
+    public int prefetching() {
+        return count(new PrefetchingPaginatedIterator<>(
+                first, PrefetchingPaginatedIterator.DEFAULT_DEPTH
+        ));
+    }
+
+    private static int count(Iterator<InstrumentElement> iterator) {
+        int count = 0;
+        while (iterator.hasNext()) {
+            if (iterator.next() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.ampro.robinhood.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds realistic response bodies from the sample elements in
+ * {@code src/jmh/resources/payloads}
+ */
+final class Payloads {
+
+    private Payloads() {}
+
+    /**
+     * @param name The sample element (e.g. {@code quote})
+     * @return The sample element JSON
+     */
+    static String element(String name) {
+        try (InputStream in = Payloads.class
+                .getResourceAsStream("/payloads/" + name + ".json")) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            for (int read; (read = in.read(buffer)) > 0; ) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param name The sample element (e.g. {@code quote})
+     * @param size How many elements the page holds
+     * @param next The url of the next page, or {@code null}
+     * @return A paginated list response of the sample element
+     */
+    static String page(String name, int size, String next) {
+        String element = element(name);
+        StringBuilder page = new StringBuilder(element.length() * size + 64);
+        page.append("{\"previous\":null,\"next\":")
+            .append(next == null ? "null" : '"' + next + '"')
+            .append(",\"results\":[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                page.append(',');
+            }
+            page.append(element);
+        }
+        return page.append("]}").toString();
+    }
+
+}
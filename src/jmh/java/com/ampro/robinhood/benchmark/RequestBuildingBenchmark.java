@@ -0,0 +1,69 @@
+package com.ampro.robinhood.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.ampro.robinhood.Configuration;
+import com.ampro.robinhood.endpoint.orders.methods.GetOrderMethod;
+import com.ampro.robinhood.endpoint.quote.methods.GetTickerQuoteList;
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.net.transport.TransportRequests;
+import com.ampro.robinhood.throwables.RobinhoodApiException;
+
+/**
+ * Building the header, query and route maps of an {@link ApiMethod} and
+ * encoding them into a request url, which happens for every request sent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestBuildingBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int tickers;
+
+    private List<String> symbols;
+
+    private Configuration config;
+
+    private ApiMethod quoteList;
+
+    @Setup
+    public void setUp() throws RobinhoodApiException {
+        symbols = new ArrayList<>();
+        for (int i = 0; i < tickers; i++) {
+            symbols.add("T" + i);
+        }
+        config = new Configuration();
+        config.setAuthToken("0123456789abcdef0123456789abcdef01234567");
+        quoteList = new GetTickerQuoteList(symbols);
+    }
+
+    @Benchmark
+    public ApiMethod buildQuoteList() throws RobinhoodApiException {
+        return new GetTickerQuoteList(symbols);
+    }
+
+    @Benchmark
+    public ApiMethod buildAuthorizedOrders() throws RobinhoodApiException {
+        ApiMethod method = new GetOrderMethod(config);
+        method.addAuthTokenParameter();
+        return method;
+    }
+
+    @Benchmark
+    public String encodeQuoteListUrl() {
+        return TransportRequests.url(quoteList);
+    }
+
+}
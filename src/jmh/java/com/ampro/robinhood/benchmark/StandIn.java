@@ -0,0 +1,74 @@
+package com.ampro.robinhood.benchmark;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+import java.lang.reflect.Type;
+
+import com.ampro.robinhood.Configuration;
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.net.request.RequestManager;
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+/**
+ * An in-process WireMock stand-in for api.robinhood.com. Every path is
+ * under {@code /bench/}, an endpoint family whose rate limit is lifted so
+ * the client's own throttling is not measured.
+ */
+final class StandIn {
+
+    static final String FAMILY = "bench";
+
+    private final WireMockServer server = new WireMockServer(options().dynamicPort());
+
+    StandIn() {
+        server.start();
+        RequestManager.getInstance().getRateLimiter()
+                      .setBucket(FAMILY, 1_000_000, 1_000_000);
+    }
+
+    /**
+     * @param path The path under {@code /bench}, e.g. {@code /quotes/}
+     * @return The full url of the path
+     */
+    String url(String path) {
+        return "http://localhost:" + server.port() + "/" + FAMILY + path;
+    }
+
+    /**
+     * Answer GET requests to the path with the body
+     * @param path The path under {@code /bench}
+     * @param body The response body
+     */
+    void serve(String path, String body) {
+        server.stubFor(get(urlEqualTo("/" + FAMILY + path))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(body)));
+    }
+
+    /**
+     * @param path The path under {@code /bench}
+     * @param returnType What the response decodes to
+     * @return A GET method for the path
+     */
+    ApiMethod method(String path, Type returnType) {
+        return new Get(url(path), returnType);
+    }
+
+    void stop() {
+        server.stop();
+    }
+
+    private static final class Get extends ApiMethod {
+        Get(String url, Type returnType) {
+            super(Configuration.getDefault());
+            setUrlBase(url);
+            setReturnType(returnType);
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.ampro.robinhood.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.ampro.robinhood.endpoint.instrument.data.InstrumentElementList;
+import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElement;
+import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElementList;
+import com.ampro.robinhood.net.json.ElementTypeAdapterFactory;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+
+/**
+ * Decoding of large instrument and quote pages with Gson's reflective
+ * binding against the hand-written and generated adapters of
+ * {@link ElementTypeAdapterFactory}. Run with
+ * {@code gradle jmh -PjmhInclude=TypeAdapterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TypeAdapterBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int size;
+
+    private final Gson reflective = new Gson();
+
+    private final Gson adapted = ElementTypeAdapterFactory.createGson();
+
+    private byte[] instruments;
+    private byte[] quotes;
+
+    @Setup
+    public void setUp() {
+        instruments = Payloads.page("instrument", size, null)
+                              .getBytes(StandardCharsets.UTF_8);
+        quotes = Payloads.page("quote", size, null)
+                         .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static <T> T decode(Gson gson, byte[] body, Class<T> type) {
+        return gson.fromJson(new JsonReader(new InputStreamReader(
+                new ByteArrayInputStream(body), StandardCharsets.UTF_8)), type);
+    }
+
+    @Benchmark
+    public InstrumentElementList instrumentsReflective() {
+        return decode(reflective, instruments, InstrumentElementList.class);
+    }
+
+    @Benchmark
+    public InstrumentElementList instrumentsAdapted() {
+        return decode(adapted, instruments, InstrumentElementList.class);
+    }
+
+    /**
+     * The quote page as a class, since Gson cannot bind the
+     * {@link TickerQuoteElementList} interface reflectively
+     */
+    static class ReflectiveQuotePage {
+        List<TickerQuoteElement> results;
+    }
+
+    @Benchmark
+    public ReflectiveQuotePage quotesReflective() {
+        return decode(reflective, quotes, ReflectiveQuotePage.class);
+    }
+
+    @Benchmark
+    public TickerQuoteElementList quotesAdapted() {
+        return decode(adapted, quotes, TickerQuoteElementList.class);
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.ampro.robinhood.benchmark;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.ampro.robinhood.endpoint.instrument.methods.GetInstrumentByTicker;
+import com.ampro.robinhood.endpoint.quote.methods.GetTickerQuote;
+import com.ampro.robinhood.endpoint.quote.methods.GetTickerQuoteList;
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.net.transport.TransportRequests;
+import com.ampro.robinhood.throwables.RobinhoodApiException;
+
+/**
+ * Rendering the url of the quote and instrument requests from their
+ * compiled {@link com.ampro.robinhood.net.UrlTemplate} against replacing
+ * every route key in the base url, as was done before. Run with
+ * {@code gradle jmh -PjmhInclude=UrlTemplateBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UrlTemplateBenchmark {
+
+    @Param({"1", "100"})
+    public int tickers;
+
+    private ApiMethod quote;
+    private ApiMethod quoteList;
+    private ApiMethod instrument;
+
+    @Setup
+    public void setUp() throws RobinhoodApiException {
+        List<String> symbols = new ArrayList<>();
+        for (int i = 0; i < tickers; i++) {
+            symbols.add("T" + i);
+        }
+        quote = new GetTickerQuote("BRK.B");
+        quoteList = new GetTickerQuoteList(symbols);
+        instrument = new GetInstrumentByTicker("BRK.B");
+    }
+
+    @Benchmark
+    public String quoteCompiled() {
+        return TransportRequests.url(quote);
+    }
+
+    @Benchmark
+    public String quoteReplaced() {
+        return replaced(quote);
+    }
+
+    @Benchmark
+    public String quoteListCompiled() {
+        return TransportRequests.url(quoteList);
+    }
+
+    @Benchmark
+    public String quoteListReplaced() {
+        return replaced(quoteList);
+    }
+
+    @Benchmark
+    public String instrumentCompiled() {
+        return TransportRequests.url(instrument);
+    }
+
+    @Benchmark
+    public String instrumentReplaced() {
+        return replaced(instrument);
+    }
+
+    /** The url as it was built before base urls were compiled */
+    private static String replaced(ApiMethod method) {
+        String url = method.getBaseUrl();
+        for (Map.Entry<String, String> route : method.getRouteParameters().entrySet()) {
+            url = url.replace("{" + route.getKey() + "}", encode(route.getValue()));
+        }
+        StringBuilder query = new StringBuilder();
+        for (Map.Entry<String, Object> parameter
+                : method.getQueryParameters().entrySet()) {
+            if (query.length() > 0) {
+                query.append('&');
+            }
+            query.append(encode(parameter.getKey())).append('=')
+                 .append(encode(parameter.getValue().toString()));
+        }
+        if (query.length() == 0) {
+            return url;
+        }
+        return url + (url.indexOf('?') < 0 ? '?' : '&') + query;
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8").replace("+", "%20");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
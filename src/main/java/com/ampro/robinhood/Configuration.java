@@ -7,26 +7,39 @@ import com.ampro.robinhood.throwables.RobinhoodNotLoggedInException;
  * {@link RobinhoodApi}.
  * <p>
  * Many things (mostly {@link com.ampro.robinhood.net.ApiMethod ApiMethods})
- * require a Configuration to function
+ * require a Configuration to function. The account data may be read and
+ * replaced from any thread.
  *
  * @author Jonathan Augustine
  */
 public class Configuration {
 
-	/** How long should the system wait between requests? (milisec)*/
-	private static long rateLimit = 2000;
+	/**
+	 * How long should the system wait before retrying a rate-limited request
+	 * when Robinhood does not send a Retry-After? (milisec)
+	 */
+	private static volatile long rateLimit = 2000;
 
-	/** The default Config (to reduce repeated allocations for non-auth methods) */
-	private static Configuration defaultConfig;
+	/**
+	 * Holds the default Config (to reduce repeated allocations for non-auth
+	 * methods), built once on first use
+	 */
+	private static final class DefaultHolder {
+		static final Configuration INSTANCE = new Configuration();
+	}
 
-	/** The authentication token for the logged in user, if one exists */
-	private String authToken;
+	/**
+	 * The token of the logged in user and its header, if one exists. Both
+	 * are replaced in one write, so a concurrent login never pairs the
+	 * header of one token with another token.
+	 */
+	private volatile Auth auth;
 
 	/**
 	 * The Account Number for the account logged in. This variable is used for
      * various other functions.
 	 */
-	private String accountNumber;
+	private volatile String accountNumber;
 
 	/**
 	 * Method which gets the saved authorization token if the user is logged in.
@@ -38,9 +51,11 @@ public class Configuration {
 	 * @throws RobinhoodNotLoggedInException if there is no stored Token. This must be populated by the setToken() method first
 	 */
 	public String getToken() throws RobinhoodNotLoggedInException {
-		if(authToken == null)
+		//Read once, another thread may log out in between
+		Auth auth = this.auth;
+		if(auth == null)
 			throw new RobinhoodNotLoggedInException();
-		return this.authToken;
+		return auth.token;
 	}
 
 	/**
@@ -49,7 +64,19 @@ public class Configuration {
 	 * @param token verified Authorization Token for the user
 	 */
 	public void setAuthToken(String token) {
-		this.authToken = token;
+		this.auth = token == null ? null : new Auth(token);
+	}
+
+	/**
+	 * @return The {@code Authorization} header value of the logged in user
+	 * @throws RobinhoodNotLoggedInException if there is no stored Token
+	 */
+	public String getAuthorization() throws RobinhoodNotLoggedInException {
+		Auth auth = this.auth;
+		if (auth == null) {
+			throw new RobinhoodNotLoggedInException();
+		}
+		return auth.authorization;
 	}
 
 	/**
@@ -58,7 +85,8 @@ public class Configuration {
      * not logged in
 	 */
 	public String getAccountNumber() throws RobinhoodNotLoggedInException {
-		if (this.accountNumber == null)
+		String accountNumber = this.accountNumber;
+		if (accountNumber == null)
 			throw new RobinhoodNotLoggedInException();
 		return accountNumber;
 	}
@@ -76,22 +104,18 @@ public class Configuration {
      *                                          not logged in
 	 */
 	public String getAccountUrl() throws RobinhoodNotLoggedInException {
-		if (this.accountNumber == null)
-			throw new RobinhoodNotLoggedInException();
-		return "https://api.robinhood.com/accounts/" + this.accountNumber + "/";
+		return "https://api.robinhood.com/accounts/" + getAccountNumber() + "/";
 	}
 
 	/** @return The default Configuration (i.e. with no account data) */
 	public static Configuration getDefault() {
-	    if (defaultConfig == null) {
-	        defaultConfig = new Configuration();
-        }
-		return defaultConfig;
+		return DefaultHolder.INSTANCE;
 	}
 
 	/**
-	 * @return the current ratelimit. By default, this is 500 milliseconds
-     * (.5 seconds)
+	 * @return the current ratelimit, the back-off used after an HTTP 429
+	 * without a Retry-After header. By default, this is 2000 milliseconds
+     * (2 seconds)
 	 */
 	public static long getRatelimit() {
 		return Configuration.rateLimit;
@@ -105,4 +129,15 @@ public class Configuration {
 		Configuration.rateLimit = newRateLimitValue;
 	}
 
+	/** A token and its {@code Authorization} header value, built once */
+	private static final class Auth {
+		final String token;
+		final String authorization;
+
+		Auth(String token) {
+			this.token = token;
+			this.authorization = "Token " + token;
+		}
+	}
+
 }
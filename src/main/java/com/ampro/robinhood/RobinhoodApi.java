@@ -1,10 +1,20 @@
 package com.ampro.robinhood;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.ampro.robinhood.endpoint.ApiElement;
 import com.ampro.robinhood.endpoint.ApiElementList;
@@ -36,8 +46,10 @@ import com.ampro.robinhood.endpoint.fundamentals.methods
 import com.ampro.robinhood.endpoint.instrument.data.InstrumentElement;
 import com.ampro.robinhood.endpoint.instrument.data.InstrumentElementList;
 import com.ampro.robinhood.endpoint.instrument.methods.GetAllInstruments;
-import com.ampro.robinhood.endpoint.instrument.methods.GetInstrumentByTicker;
+import com.ampro.robinhood.endpoint.instrument.methods.GeneratedInstrumentEndpoints;
 import com.ampro.robinhood.endpoint.instrument.methods.SearchInstrumentsByKeyword;
+import com.ampro.robinhood.endpoint.instrument.store.InstrumentCache;
+import com.ampro.robinhood.endpoint.instrument.store.InstrumentCatalog;
 import com.ampro.robinhood.endpoint.option.data.Option;
 import com.ampro.robinhood.endpoint.option.data.Options;
 import com.ampro.robinhood.endpoint.option.methods.GetOptionsMethod;
@@ -51,18 +63,25 @@ import com.ampro.robinhood.endpoint.orders.methods.MakeLimitOrder;
 import com.ampro.robinhood.endpoint.orders.methods.MakeLimitStopOrder;
 import com.ampro.robinhood.endpoint.orders.methods.MakeMarketOrder;
 import com.ampro.robinhood.endpoint.orders.methods.MakeMarketStopOrder;
+import com.ampro.robinhood.endpoint.quote.batch.QuoteBatcher;
+import com.ampro.robinhood.endpoint.quote.book.QuoteBook;
 import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElement;
 import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElementList;
-import com.ampro.robinhood.endpoint.quote.methods.GetTickerQuote;
-import com.ampro.robinhood.endpoint.quote.methods.GetTickerQuoteList;
+import com.ampro.robinhood.endpoint.quote.methods.GeneratedQuoteEndpoints;
 import com.ampro.robinhood.net.ApiMethod;
 import com.ampro.robinhood.net.pagination.PaginatedIterator;
+import com.ampro.robinhood.net.pagination.PaginatedSpliterator;
+import com.ampro.robinhood.net.pagination.PrefetchingPaginatedIterator;
+import com.ampro.robinhood.net.request.ChunkedRequest;
+import com.ampro.robinhood.net.request.ExecutionMode;
 import com.ampro.robinhood.net.request.RequestManager;
 import com.ampro.robinhood.net.request.RequestStatus;
+import com.ampro.robinhood.throwables.PartialResultException;
 import com.ampro.robinhood.throwables.RequestTooLargeException;
 import com.ampro.robinhood.throwables.RobinhoodApiException;
 import com.ampro.robinhood.throwables.RobinhoodNotLoggedInException;
 import com.ampro.robinhood.throwables.TickerNotFoundException;
+import com.ampro.robinhood.util.Futures;
 
 import io.github.openunirest.http.exceptions.UnirestException;
 
@@ -89,7 +108,7 @@ public class RobinhoodApi {
 	/**
 	 * The instance used to make the requests
 	 */
-	private static RequestManager requestManager = null;
+	private final RequestManager requestManager;
 
 	/**
 	 * The active instance of the Configuration Manager.
@@ -97,6 +116,18 @@ public class RobinhoodApi {
 	 */
 	private final Configuration config;
 
+	/**
+	 * The instrument cache and quote batcher of an instance with a
+	 * {@link RequestManager} of its own, built on first use so their
+	 * requests go through that manager too. Instances on the shared manager
+	 * use the defaults.
+	 */
+	private volatile InstrumentCache instrumentCache;
+	private volatile QuoteBatcher quoteBatcher;
+
+	/** The catalog set by {@link #useInstrumentCatalog}, if any */
+	private volatile InstrumentCatalog instrumentCatalog;
+
 	/**
 	 * Constructor which creates all of the access points to use the API.
 	 * This constructor does not require the Username and Password, thus giving limited
@@ -104,8 +135,19 @@ public class RobinhoodApi {
 	 * to see what can and cannot be used if you do not authorize a user
 	 */
 	public RobinhoodApi() {
+		this(RequestManager.getInstance());
+	}
+
+	/**
+	 * Constructor which creates an unauthorized instance sending its requests
+	 * with the given manager. Give every tenant a manager of its own (see
+	 * {@link RequestManager#create}) to isolate their connection pools and
+	 * rate limits.
+	 * @param requestManager The manager sending the requests of this instance
+	 */
+	public RobinhoodApi(RequestManager requestManager) {
 		//Do nothing. Allow users to access the unauthorized sections of the API
-		RobinhoodApi.requestManager = RequestManager.getInstance();
+		this.requestManager = requestManager;
 		this.config = new Configuration();
 	}
 
@@ -121,9 +163,22 @@ public class RobinhoodApi {
 	 */
 	public RobinhoodApi(String username, String password)
     throws RobinhoodNotLoggedInException {
+		this(username, password, RequestManager.getInstance());
+	}
+
+	/**
+	 * Constructor which logs the user in, sending every request of the
+	 * instance with the given manager
+	 * @param username The user's email (that they use with robinhood)
+	 * @param password The user's password
+	 * @param requestManager The manager sending the requests of this instance
+	 * @throws RobinhoodNotLoggedInException If the login failed
+	 */
+	public RobinhoodApi(String username, String password,
+	                    RequestManager requestManager)
+    throws RobinhoodNotLoggedInException {
 
-		//Construct the manager
-		RobinhoodApi.requestManager = RequestManager.getInstance();
+		this.requestManager = requestManager;
         this.config = new Configuration();
 
 		//Log the user in and store the auth token
@@ -140,6 +195,14 @@ public class RobinhoodApi {
 		return this.config.getToken();
 	}
 
+	/**
+	 * @return The number of the logged in account
+	 * @throws RobinhoodNotLoggedInException If the user is not logged in
+	 */
+	public String getAccountNumber() throws RobinhoodNotLoggedInException {
+		return this.config.getAccountNumber();
+	}
+
 	/**
 	 * Method allowing a user to input a token without logging in.
 	 * It is not suggested you use this unless you have a specific reason where you need to inject a auth token
@@ -345,6 +408,22 @@ public class RobinhoodApi {
 
     }
 
+    /**
+     * Non-blocking version of {@link #getAccountWatchlist()}.
+     * @return A {@link CompletableFuture} of the account's watchlist
+     */
+    public CompletableFuture<List<PositionElement>> getAccountWatchlistAsync() {
+        ApiMethod method;
+        try {
+            method = new GetAccountPositions(this.config);
+            method.addAuthTokenParameter();
+        } catch (RobinhoodNotLoggedInException e) {
+            return Futures.failed(e);
+        }
+        return requestManager.<PositionElementList>makeApiRequestAsync(method)
+                             .thenApply(PositionElementList::getResults);
+    }
+
     /**
      * Method which gets all of the account positions a user actually has shares in.
      * @return {@link PositionElement} containing all of the stocks an account has shares in
@@ -388,6 +467,21 @@ public class RobinhoodApi {
         return orders.getResults();
     }
 
+    /**
+     * Non-blocking version of {@link #getOrders()}.
+     * @return A {@link CompletableFuture} of closed and open orders.
+     */
+    public CompletableFuture<List<SecurityOrderElement>> getOrdersAsync() {
+        ApiMethod method = new GetOrderMethod(this.config);
+        try {
+            method.addAuthTokenParameter();
+        } catch (RobinhoodNotLoggedInException e) {
+            return Futures.failed(e);
+        }
+        return requestManager.<SecurityOrderElementList>makeApiRequestAsync(method)
+                             .thenApply(SecurityOrderElementList::getResults);
+    }
+
     /**
      * Method which returns a {@link SecurityOrderElement} after running a LIMIT order
      * given the supplied parameters.
@@ -410,7 +504,8 @@ public class RobinhoodApi {
 
         //Create the API method
         ApiMethod method = new MakeLimitOrder(ticker, timeInForce, limitPrice,
-                quantity, orderType, this.config);
+                quantity, orderType, this.config, requestManager,
+                getInstrumentCatalog(), getInstrumentCache());
         method.addAuthTokenParameter();
         return requestManager.makeApiRequest(method);
 
@@ -439,7 +534,8 @@ public class RobinhoodApi {
 
         //Create the API method
         ApiMethod method = new MakeLimitStopOrder(ticker, timeInForce, limitPrice,
-                quantity, orderType, stopPrice, this.config);
+                quantity, orderType, stopPrice, this.config, requestManager,
+                getInstrumentCatalog(), getInstrumentCache());
         method.addAuthTokenParameter();
         return requestManager.makeApiRequest(method);
 
@@ -464,7 +560,8 @@ public class RobinhoodApi {
 
         //Create the API method
         ApiMethod method = new MakeMarketOrder(ticker, quantity, orderType, time,
-                this.config);
+                this.config, requestManager, getInstrumentCatalog(),
+                getInstrumentCache());
         method.addAuthTokenParameter();
         return requestManager.makeApiRequest(method);
 
@@ -488,7 +585,10 @@ public class RobinhoodApi {
     throws RobinhoodApiException, TickerNotFoundException, RobinhoodNotLoggedInException {
         //Create the API method
         ApiMethod method = new MakeMarketStopOrder(ticker, quantity, orderType, time,
-                                                   stopPrice, this.config);
+                                                   stopPrice, this.config,
+                                                   requestManager,
+                                                   getInstrumentCatalog(),
+                                                   getInstrumentCache());
         method.addAuthTokenParameter();
         return requestManager.makeApiRequest(method);
     }
@@ -521,6 +621,15 @@ public class RobinhoodApi {
 		return requestManager.makeApiRequest(method);
 	}
 
+	/**
+	 * Non-blocking version of {@link #getFundamental(String)}.
+	 * @param ticker The Stock's ticker
+	 * @return A {@link CompletableFuture} of the {@link TickerFundamentalElement}
+	 */
+	public CompletableFuture<TickerFundamentalElement> getFundamentalAsync(String ticker) {
+		return requestManager.makeApiRequestAsync(new GetTickerFundamental(ticker));
+	}
+
 	/**
 	 * Get a {@link List} of {@link TickerFundamentalElement}.
 	 * @param tickers A collection of stock tickers
@@ -536,7 +645,8 @@ public class RobinhoodApi {
 				new GetTickerFundimentalList(tickers)
 		);
 		PaginatedIterator<TickerFundamentalElement> it
-				= new PaginatedIterator<>(list);
+				= new PaginatedIterator<>(list, Configuration.getDefault(),
+				                          requestManager);
 		List<TickerFundamentalElement> out = new ArrayList<>();
 		while (it.hasNext()) {
 			out.add(it.next());
@@ -544,6 +654,87 @@ public class RobinhoodApi {
 		return out;
 	}
 
+	/**
+	 * Get the {@link TickerFundamentalElement} of any number of tickers.
+	 * The tickers are split into requests of
+	 * {@link GetTickerFundimentalList#MAX_TICKERS} which are run
+	 * concurrently, within the rate limit.
+	 * @param tickers A collection of stock tickers
+	 * @return The fundamentals of each ticker found, keyed by ticker in the
+	 *          order of the collection
+	 * @throws PartialResultException if some of the requests failed. The
+	 *          fundamentals of the other requests are kept in the exception.
+	 * @throws RobinhoodApiException If an error occurs when making the request
+	 */
+	public Map<String, TickerFundamentalElement>
+	getFundamentals(Collection<String> tickers) throws RobinhoodApiException {
+		return Futures.join(getFundamentalsAsync(tickers, null));
+	}
+
+	/**
+	 * Non-blocking version of {@link #getFundamentals(Collection)} which can
+	 * also stream the fundamentals of each request as soon as it arrives.
+	 * @param tickers A collection of stock tickers
+	 * @param onResult Called with each ticker and its fundamentals as they
+	 *                 arrive, may be {@code null}. It is called from the
+	 *                 thread that completed the request, so it should be quick.
+	 * @return A {@link CompletableFuture} of the fundamentals of each ticker
+	 *          found, keyed by ticker in the order of the collection
+	 */
+	public CompletableFuture<Map<String, TickerFundamentalElement>>
+	getFundamentalsAsync(Collection<String> tickers,
+	                     BiConsumer<String, TickerFundamentalElement> onResult) {
+		List<String> keys = new ArrayList<>(tickers);
+		CompletableFuture<Map<String, TickerFundamentalElement>> result
+				= new CompletableFuture<>();
+		new ChunkedRequest<TickerFundamentalElement>(
+				keys, GetTickerFundimentalList.MAX_TICKERS, chunk -> {
+					ApiMethod method;
+					try {
+						method = new GetTickerFundimentalList(chunk);
+					} catch (RequestTooLargeException e) {
+						return Futures.failed(e);
+					}
+					return requestManager.<TickerFundimentalElementList>makeApiRequestAsync(method)
+					                     .thenApply(TickerFundimentalElementList::getResults);
+				}
+		).onChunk((chunk, values) -> {
+			if (onResult != null) {
+				toTickerMap(chunk, values).forEach(onResult);
+			}
+		}).execute(ChunkedRequest.DEFAULT_MAX_IN_FLIGHT).whenComplete((values, ex) -> {
+			if (ex == null) {
+				result.complete(toTickerMap(keys, values));
+				return;
+			}
+			Throwable cause = Futures.unwrap(ex);
+			if (cause instanceof PartialResultException) {
+				PartialResultException partial = (PartialResultException) cause;
+				cause = new PartialResultException(
+						toTickerMap(keys, partial.getPartialResult()),
+						partial.getChunks(), partial.getFailures()
+				);
+			}
+			result.completeExceptionally(cause);
+		});
+		return result;
+	}
+
+	/**
+	 * Pair each ticker with the value at the same position, skipping tickers
+	 * Robinhood did not find
+	 */
+	private static <V> Map<String, V> toTickerMap(List<String> tickers,
+	                                              List<V> values) {
+		Map<String, V> map = new LinkedHashMap<>();
+		for (int i = 0; i < tickers.size() && i < values.size(); i++) {
+			if (values.get(i) != null) {
+				map.put(tickers.get(i), values.get(i));
+			}
+		}
+		return map;
+	}
+
 	/**
 	 * Method returning a {@link TickerQuoteElement} for the supplied ticker.
      * Contains general information, such as the current asking price and the
@@ -556,30 +747,94 @@ public class RobinhoodApi {
 	public TickerQuoteElement getQuoteByTicker(String ticker)
     throws RobinhoodApiException {
 		//Create the API method
-		ApiMethod method = new GetTickerQuote(ticker);
+		ApiMethod method = GeneratedQuoteEndpoints.INSTANCE.tickerQuote(ticker);
         TickerQuoteElement quote = requestManager.makeApiRequest(method);
         if (quote.getSymbol() == null)
             throw new TickerNotFoundException();
+        QuoteBook.getDefault().update(quote);
 		return quote;
 	}
 
+	/**
+	 * Non-blocking version of {@link #getQuoteByTicker(String)}.
+	 * @param ticker Which symbol you are retrieving a quote for
+	 * @return A {@link CompletableFuture} of the {@link TickerQuoteElement},
+	 *          completed exceptionally with a {@link TickerNotFoundException}
+	 *          if the quote is not found
+	 */
+	public CompletableFuture<TickerQuoteElement> getQuoteByTickerAsync(String ticker) {
+		ApiMethod method = GeneratedQuoteEndpoints.INSTANCE.tickerQuote(ticker);
+		return requestManager.<TickerQuoteElement>makeApiRequestAsync(method)
+		                     .thenCompose(quote -> quote.getSymbol() == null
+				                     ? Futures.failed(new TickerNotFoundException().with(ticker))
+				                     : CompletableFuture.completedFuture(quote))
+		                     .thenApply(RobinhoodApi::record);
+	}
+
+	/**
+	 * Store a quote in the default {@link QuoteBook}
+	 * @param quote The quote
+	 * @return The quote
+	 */
+	private static TickerQuoteElement record(TickerQuoteElement quote) {
+		QuoteBook.getDefault().update(quote);
+		return quote;
+	}
+
+	/**
+	 * Version of {@link #getQuoteByTickerAsync(String)} whose request is
+	 * merged with the other tickers requested within a few milliseconds
+	 * into a single request by the {@link #getQuoteBatcher() QuoteBatcher}.
+	 * Use this when polling many symbols one by one.
+	 * @param ticker Which symbol you are retrieving a quote for
+	 * @return A {@link CompletableFuture} of the {@link TickerQuoteElement},
+	 *          completed exceptionally with a {@link TickerNotFoundException}
+	 *          if the quote is not found
+	 */
+	public CompletableFuture<TickerQuoteElement> getBatchedQuoteByTickerAsync(String ticker) {
+		return getQuoteBatcher().getQuoteAsync(ticker);
+	}
+
     /**
      * Get a list of security quotes by their tickers. The result is
-     * SemiPaginated, which is why this can return a normal List
+     * SemiPaginated, which is why this can return a normal List. <br>
+     * Any number of tickers may be requested: they are split into requests
+     * of {@link ApiMethod#MAX_TICKERS} tickers which are run concurrently.
      * @param tickers The tickers to get quotes of (e.g. MSFT, FIT)
-     * @return A list of {@link TickerQuoteElement TickerQuoteElements}.
-     *          A value in the list may be null if the ticker was not found
-     *          on Robinhood.
+     * @return A list of {@link TickerQuoteElement TickerQuoteElements}, in
+     *          the order of the tickers. A value in the list may be null if
+     *          the ticker was not found on Robinhood.
+     * @throws PartialResultException if some of the requests failed. The
+     *          quotes of the other requests are kept in the exception.
      * @throws RobinhoodApiException
-     * @throws RequestTooLargeException if the collection is longer than 1,630
      */
 	public List<TickerQuoteElement> getQuoteListByTickers(Collection<String> tickers)
     throws RobinhoodApiException {
-        ApiMethod method = new GetTickerQuoteList(tickers);
-        TickerQuoteElementList list = requestManager.makeApiRequest(method);
-        return list.getQuotes();
+        return Futures.join(getQuoteListByTickersAsync(tickers));
    }
 
+    /**
+     * Non-blocking version of {@link #getQuoteListByTickers(Collection)}.
+     * @param tickers The tickers to get quotes of (e.g. MSFT, FIT)
+     * @return A {@link CompletableFuture} of the list of
+     *          {@link TickerQuoteElement TickerQuoteElements}
+     */
+    public CompletableFuture<List<TickerQuoteElement>>
+    getQuoteListByTickersAsync(Collection<String> tickers) {
+        return new ChunkedRequest<TickerQuoteElement>(
+                tickers, ApiMethod.MAX_TICKERS, chunk -> {
+                    ApiMethod method =
+                            GeneratedQuoteEndpoints.INSTANCE.tickerQuoteList(chunk);
+                    return requestManager.<TickerQuoteElementList>makeApiRequestAsync(method)
+                                         .thenApply(TickerQuoteElementList::getQuotes)
+                                         .thenApply(quotes -> {
+                                             QuoteBook.getDefault().updateAll(quotes);
+                                             return quotes;
+                                         });
+                }
+        ).execute(ChunkedRequest.DEFAULT_MAX_IN_FLIGHT);
+    }
+
     /**
      * @param ticker The stock ticker
      * @return The {@link InstrumentElement} requested
@@ -591,10 +846,119 @@ public class RobinhoodApi {
      */
     public InstrumentElement getInstrumentByTicker(String ticker)
     throws RobinhoodApiException, TickerNotFoundException {
-        ApiMethod method = new GetInstrumentByTicker(ticker);
+        InstrumentCatalog catalog = getInstrumentCatalog();
+        InstrumentElement cached = catalog == null ? null : catalog.findBySymbol(ticker);
+        if (cached != null) return cached;
+        cached = getInstrumentCache().getBySymbol(ticker);
+        if (cached != null) return cached;
+        ApiMethod method =
+                GeneratedInstrumentEndpoints.INSTANCE.instrumentByTicker(ticker);
         InstrumentElementList list = requestManager.makeApiRequest(method);
-        if (!list.isEmpty()) return list.getResults().get(0);
-        throw new TickerNotFoundException().with(ticker);
+        if (list.isEmpty()) throw new TickerNotFoundException().with(ticker);
+        InstrumentElement instrument = list.getResults().get(0);
+        getInstrumentCache().put(instrument);
+        return instrument;
+    }
+
+    /**
+     * Non-blocking version of {@link #getInstrumentByTicker(String)}.
+     * @param ticker The stock ticker
+     * @return A {@link CompletableFuture} of the {@link InstrumentElement},
+     *          completed exceptionally with a {@link TickerNotFoundException}
+     *          if the ticker is not tracked by Robinhood
+     */
+    public CompletableFuture<InstrumentElement> getInstrumentByTickerAsync(String ticker) {
+        InstrumentCatalog catalog = getInstrumentCatalog();
+        InstrumentElement cached = catalog == null ? null : catalog.findBySymbol(ticker);
+        if (cached == null) cached = getInstrumentCache().getBySymbol(ticker);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+        ApiMethod method =
+                GeneratedInstrumentEndpoints.INSTANCE.instrumentByTicker(ticker);
+        return requestManager.<InstrumentElementList>makeApiRequestAsync(method)
+                             .thenCompose(list -> {
+                                 if (list.isEmpty()) {
+                                     return Futures.failed(new TickerNotFoundException().with(ticker));
+                                 }
+                                 InstrumentElement instrument = list.getResults().get(0);
+                                 getInstrumentCache().put(instrument);
+                                 return CompletableFuture.completedFuture(instrument);
+                             });
+    }
+
+    /**
+     * Gets the {@link InstrumentElement} at the given url, such as the
+     * instrument url of a position or an order. Instruments are cached by
+     * url in the {@link InstrumentCache}.
+     * @param url The instrument url
+     * @return The {@link InstrumentElement}
+     * @throws RobinhoodApiException Generic exception from the
+     *                                  {@link RequestManager}
+     */
+    public InstrumentElement getInstrumentByUrl(String url)
+    throws RobinhoodApiException {
+        InstrumentCatalog catalog = getInstrumentCatalog();
+        InstrumentElement cached = catalog == null ? null : catalog.findByUrl(url);
+        if (cached != null) return cached;
+        return getInstrumentCache().get(url);
+    }
+
+    /**
+     * Non-blocking version of {@link #getInstrumentByUrl(String)}.
+     * @param url The instrument url
+     * @return A {@link CompletableFuture} of the {@link InstrumentElement}
+     */
+    public CompletableFuture<InstrumentElement> getInstrumentByUrlAsync(String url) {
+        InstrumentCatalog catalog = getInstrumentCatalog();
+        InstrumentElement cached = catalog == null ? null : catalog.findByUrl(url);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+        return getInstrumentCache().getAsync(url);
+    }
+
+    /**
+     * Resolve the instrument urls of the given tickers ahead of time, so
+     * that placing an order for any of them does not have to look its
+     * instrument up first. The instrument urls are found ten tickers per
+     * fundamentals request, then each instrument is loaded through the
+     * {@link InstrumentCache}, which records it under its own symbol.
+     * A ticker whose instrument is not found is left to be resolved when
+     * an order is placed.
+     * @param tickers The stock tickers orders may be placed for
+     * @throws RobinhoodApiException If some tickers could not be resolved.
+     *              The ones that were resolved are still kept.
+     */
+    public void prewarmInstruments(Collection<String> tickers)
+    throws RobinhoodApiException {
+        Futures.join(prewarmInstrumentsAsync(tickers));
+    }
+
+    /**
+     * Non-blocking version of {@link #prewarmInstruments(Collection)}.
+     * @param tickers The stock tickers orders may be placed for
+     * @return A {@link CompletableFuture} completed once every ticker was
+     *          resolved
+     */
+    public CompletableFuture<Void> prewarmInstrumentsAsync(Collection<String> tickers) {
+        InstrumentCache cache = getInstrumentCache();
+        List<String> unknown = new ArrayList<>();
+        for (String ticker : tickers) {
+            if (cache.getUrlBySymbol(ticker) == null) unknown.add(ticker);
+        }
+        if (unknown.isEmpty()) return CompletableFuture.completedFuture(null);
+        //Fundamentals carry no symbol and are only paired with the tickers by
+        //position, so orders must not trust that pairing. The instrument
+        //each one points to names its own symbol.
+        List<CompletableFuture<InstrumentElement>> loads =
+                Collections.synchronizedList(new ArrayList<>());
+        return getFundamentalsAsync(unknown, (ticker, fundamental) -> {
+            if (fundamental.getInstrument() != null) {
+                loads.add(cache.getAsync(fundamental.getInstrument().toString()));
+            }
+        }).thenCompose(fundamentals -> {
+            synchronized (loads) {
+                return CompletableFuture.allOf(
+                        loads.toArray(new CompletableFuture<?>[0]));
+            }
+        });
     }
 
     /**
@@ -627,11 +991,49 @@ public class RobinhoodApi {
         ApiMethod method = GetAllInstruments.getDefault();
         InstrumentElementList list = requestManager.makeApiRequest(method);
         ArrayList<InstrumentElement> normalList = new ArrayList<>();
-        PaginatedIterator<InstrumentElement> iterator = new PaginatedIterator<>(list, config);
-        iterator.forEachRemaining(instrument -> normalList.add(instrument));
+        PrefetchingPaginatedIterator<InstrumentElement> iterator
+                = new PrefetchingPaginatedIterator<>(
+                        list, config, requestManager,
+                        PrefetchingPaginatedIterator.DEFAULT_DEPTH
+                );
+        try {
+            iterator.forEachRemaining(instrument -> normalList.add(instrument));
+        } catch (IllegalStateException e) {
+            //A page failed to load
+            if (e.getCause() instanceof RobinhoodApiException) {
+                throw (RobinhoodApiException) e.getCause();
+            }
+            throw e;
+        }
         return normalList;
     }
 
+    /**
+     * Serve instrument lookups from a local {@link InstrumentCatalog} saved
+     * at the given file, instead of fetching every instrument again on each
+     * start. The catalog is loaded from the file if it exists and is
+     * refreshed in the background whenever it is older than the max age.
+     * The catalog belongs to this instance and is refreshed through its
+     * {@link RequestManager}: {@link #getInstrumentByTicker(String)}, the
+     * orders of this instance and
+     * {@link PositionElement#getInstrumentElement(RobinhoodApi)} use it while
+     * it is fresh.
+     * @param file The file to keep the catalog in
+     * @param maxAgeMillis How long the catalog is trusted after a refresh
+     * @return The catalog
+     * @throws IOException If the file exists but could not be read
+     */
+    public InstrumentCatalog useInstrumentCatalog(Path file, long maxAgeMillis)
+    throws IOException {
+        InstrumentCatalog catalog =
+                InstrumentCatalog.open(file, maxAgeMillis, requestManager);
+        this.instrumentCatalog = catalog;
+        if (!catalog.isFresh()) {
+            catalog.refreshAsync();
+        }
+        return catalog;
+    }
+
     /**
      * Build an {@link Iterable} based off a {@link PaginatedIterator}.
      * @param elementList The {@link ApiElementList} build from
@@ -639,7 +1041,119 @@ public class RobinhoodApi {
      * @return a "Paginated" Iterable
      */
     public <E extends ApiElement> Iterable<E> buildIterable(ApiElementList<E> elementList) {
-    	return () -> new PaginatedIterator<E>(elementList, RobinhoodApi.this.config);
+    	return () -> new PaginatedIterator<E>(elementList, this.config,
+    	                                      this.requestManager);
+	}
+
+    /**
+     * Build an {@link Iterable} based off a
+     * {@link PrefetchingPaginatedIterator}, which loads the following pages
+     * in the background while the current one is being consumed.
+     * @param elementList The {@link ApiElementList} build from
+     * @param prefetchDepth How many pages to load ahead of the current one
+     * @param <E> The ApiElement of the List
+     * @return a "Paginated" Iterable
+     */
+    public <E extends ApiElement> Iterable<E> buildIterable(ApiElementList<E> elementList,
+                                                            int prefetchDepth) {
+        return () -> new PrefetchingPaginatedIterator<E>(
+                elementList, this.config, this.requestManager, prefetchDepth
+        );
+    }
+
+    /**
+     * Build a lazy {@link Stream} over every element of a paginated
+     * {@link ApiElementList}. Pages are fetched only as the stream needs
+     * them, so short-circuiting operations stop fetching early. Each page
+     * can be processed in parallel with {@link Stream#parallel()}.
+     * @param elementList The {@link ApiElementList} to stream from
+     * @param <E> The ApiElement of the List
+     * @return A {@link Stream} of every element of every page
+     * @throws IllegalStateException (from the stream's terminal operation)
+     *              if a page could not be loaded
+     */
+    public <E extends ApiElement> Stream<E> stream(ApiElementList<E> elementList) {
+        return StreamSupport.stream(
+                new PaginatedSpliterator<>(elementList, this.config,
+                                           this.requestManager), false
+        );
+    }
+
+	/**
+	 * An executor for fanning out blocking calls of this api, one task per
+	 * call. Call {@link RequestManager#setExecutionMode} with
+	 * {@link ExecutionMode#VIRTUAL} on Java 21+ to run every task on its own
+	 * virtual thread, so thousands of calls cost no more than their sockets.
+	 * @return The executor of the {@link RequestManager}
+	 */
+	public Executor executor() {
+		return requestManager.getExecutor();
+	}
+
+	/** @return The {@link RequestManager} sending this instance's requests */
+	public RequestManager getRequestManager() {
+		return this.requestManager;
+	}
+
+	/**
+	 * @return The {@link InstrumentCatalog} set by
+	 *          {@link #useInstrumentCatalog}. Without one, the default
+	 *          catalog on the shared {@link RequestManager}, otherwise
+	 *          {@code null}
+	 */
+	public InstrumentCatalog getInstrumentCatalog() {
+		InstrumentCatalog catalog = this.instrumentCatalog;
+		if (catalog == null && requestManager.isShared()) {
+			return InstrumentCatalog.getDefault();
+		}
+		return catalog;
+	}
+
+	/**
+	 * @return The {@link InstrumentCache} of this instance: the default one
+	 *          on the shared {@link RequestManager}, otherwise one loading
+	 *          through this instance's manager
+	 */
+	public InstrumentCache getInstrumentCache() {
+		if (requestManager.isShared()) {
+			return InstrumentCache.getDefault();
+		}
+		InstrumentCache cache = this.instrumentCache;
+		if (cache == null) {
+			synchronized (this) {
+				cache = this.instrumentCache;
+				if (cache == null) {
+					cache = new InstrumentCache(InstrumentCache.DEFAULT_TTL_MILLIS,
+					                            InstrumentCache.DEFAULT_MAX_SIZE,
+					                            requestManager);
+					this.instrumentCache = cache;
+				}
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * @return The {@link QuoteBatcher} of this instance: the default one on
+	 *          the shared {@link RequestManager}, otherwise one sending
+	 *          through this instance's manager
+	 */
+	public QuoteBatcher getQuoteBatcher() {
+		if (requestManager.isShared()) {
+			return QuoteBatcher.getDefault();
+		}
+		QuoteBatcher batcher = this.quoteBatcher;
+		if (batcher == null) {
+			synchronized (this) {
+				batcher = this.quoteBatcher;
+				if (batcher == null) {
+					batcher = new QuoteBatcher(QuoteBatcher.DEFAULT_WINDOW_MILLIS,
+					                           ApiMethod.MAX_TICKERS, requestManager);
+					this.quoteBatcher = batcher;
+				}
+			}
+		}
+		return batcher;
 	}
 
 	/**
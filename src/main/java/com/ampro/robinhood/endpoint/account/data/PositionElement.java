@@ -1,13 +1,19 @@
 package com.ampro.robinhood.endpoint.account.data;
 
+import java.io.IOException;
 
+import com.ampro.robinhood.RobinhoodApi;
 import com.ampro.robinhood.endpoint.ApiElement;
 import com.ampro.robinhood.endpoint.instrument.data.InstrumentElement;
-import com.ampro.robinhood.endpoint.instrument.methods.GetInstrumentByUrl;
-import com.ampro.robinhood.net.request.RequestManager;
+import com.ampro.robinhood.endpoint.instrument.store.InstrumentCache;
+import com.ampro.robinhood.endpoint.instrument.store.InstrumentCatalog;
+import com.ampro.robinhood.net.json.JsonReaders;
 import com.ampro.robinhood.throwables.RobinhoodApiException;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.Expose;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * Element containing information of a given position which exists on a users
@@ -68,10 +74,38 @@ public class PositionElement implements ApiElement {
     @Override
     public boolean requiresAuth() { return true; }
 
+    /**
+     * Get the instrument of this position through the default
+     * {@link InstrumentCatalog} and {@link InstrumentCache}, which load
+     * through the shared {@link com.ampro.robinhood.net.request.RequestManager}.
+     * Use {@link #getInstrumentElement(RobinhoodApi)} for a position fetched
+     * by an instance with a manager of its own.
+     * @return The {@link InstrumentElement} of this position
+     * @throws RobinhoodApiException If the instrument could not be loaded
+     */
     public InstrumentElement getInstrumentElement() throws RobinhoodApiException {
-        return RequestManager.getInstance().makeApiRequest(
-                new GetInstrumentByUrl(this.instrumentUrl)
-        );
+        InstrumentCatalog catalog = InstrumentCatalog.getDefault();
+        InstrumentElement cached = catalog == null
+                ? null : catalog.findByUrl(this.instrumentUrl);
+        if (cached != null) {
+            return cached;
+        }
+        return InstrumentCache.getDefault().get(this.instrumentUrl);
+    }
+
+    /**
+     * Get the instrument of this position. It is served from the catalog or
+     * the cache of the api when possible, so resolving every position of a
+     * portfolio does not cost one request per position, and is otherwise
+     * loaded through the api's own
+     * {@link com.ampro.robinhood.net.request.RequestManager}.
+     * @param api The api which fetched this position
+     * @return The {@link InstrumentElement} of this position
+     * @throws RobinhoodApiException If the instrument could not be loaded
+     */
+    public InstrumentElement getInstrumentElement(RobinhoodApi api)
+    throws RobinhoodApiException {
+        return api.getInstrumentByUrl(this.instrumentUrl);
     }
 
     public float getSharesHeldForStockGrants() {
@@ -120,4 +154,81 @@ public class PositionElement implements ApiElement {
 
     public String getInstrumentUrl() { return this.instrumentUrl; }
 
+    /**
+     * Reads the fields of a {@link PositionElement} by name instead of by
+     * reflection. Registered by
+     * {@link com.ampro.robinhood.net.json.ElementTypeAdapterFactory}.
+     */
+    public static final class GsonAdapter extends TypeAdapter<PositionElement> {
+
+        /** Gson's reflective adapter, used for writing */
+        private final TypeAdapter<PositionElement> delegate;
+
+        public GsonAdapter(TypeAdapter<PositionElement> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public PositionElement read(JsonReader in) throws IOException {
+            if (!JsonReaders.beginObject(in)) {
+                return null;
+            }
+            PositionElement position = new PositionElement();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "account":
+                        position.accountUrl = JsonReaders.nextString(in);
+                        break;
+                    case "instrument":
+                        position.instrumentUrl = JsonReaders.nextString(in);
+                        break;
+                    case "url":
+                        position.url = JsonReaders.nextString(in);
+                        break;
+                    case "created_at":
+                        position.createdAt = JsonReaders.nextString(in);
+                        break;
+                    case "updated_at":
+                        position.updatedAt = JsonReaders.nextString(in);
+                        break;
+                    case "shares_held_for_stock_grants":
+                        position.sharesHeldForStockGrants = JsonReaders.nextFloat(
+                                in, position.sharesHeldForStockGrants);
+                        break;
+                    case "intraday_quantity":
+                        position.intradayQuantity = JsonReaders.nextFloat(
+                                in, position.intradayQuantity);
+                        break;
+                    case "intraday_average_buy_price":
+                        position.intradayAverageBuyPrice = JsonReaders.nextFloat(
+                                in, position.intradayAverageBuyPrice);
+                        break;
+                    case "shares_held_for_buys":
+                        position.sharesHeldForBuys = JsonReaders.nextFloat(
+                                in, position.sharesHeldForBuys);
+                        break;
+                    case "average_buy_price":
+                        position.averageBuyPrice = JsonReaders.nextFloat(
+                                in, position.averageBuyPrice);
+                        break;
+                    case "shares_held_for_sells":
+                        position.sharesHeldForSells = JsonReaders.nextFloat(
+                                in, position.sharesHeldForSells);
+                        break;
+                    case "quantity":
+                        position.quantity = JsonReaders.nextFloat(in, position.quantity);
+                        break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return position;
+        }
+
+        @Override
+        public void write(JsonWriter out, PositionElement value) throws IOException {
+            delegate.write(out, value);
+        }
+    }
+
 }
@@ -9,7 +9,7 @@ import java.util.Collection;
 public class GetTickerFundimentalList extends GetFundamental {
 
     /** API supports up to ten per request */
-    private static int MAX_TICKERS = 10;
+    public static final int MAX_TICKERS = 10;
 
     public GetTickerFundimentalList(Collection<String> tickers)
     throws RequestTooLargeException {
@@ -19,7 +19,7 @@ public class GetTickerFundimentalList extends GetFundamental {
                     "Ticker request must be under " + MAX_TICKERS
             );
         }
-        this.setUrlBase("https://api.robinhood.com/quotes/");
+        this.setUrlBase("https://api.robinhood.com/fundamentals/");
         //Reform the collection as a url param
         //replaceAll("[\\[\\]\\s+]", "") replaces "[]" and empty spaces
         // in collection.toString
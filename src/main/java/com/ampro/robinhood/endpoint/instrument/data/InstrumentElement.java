@@ -1,8 +1,16 @@
 package com.ampro.robinhood.endpoint.instrument.data;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 import com.ampro.robinhood.endpoint.ApiElement;
+import com.ampro.robinhood.net.json.JsonReaders;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.Expose;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * An Instrument contains data on any of the 10,000+ instruments tracked by
@@ -183,4 +191,197 @@ public class InstrumentElement implements ApiElement {
         return simpleName;
     }
 
+    /**
+     * Write this instrument as a compact binary record, as read back by
+     * {@link #readRecord(DataInput)}
+     * @param out Where to write the record
+     * @throws IOException If the record could not be written
+     */
+    public void writeRecord(DataOutput out) throws IOException {
+        writeNullable(out, tradableChainId);
+        if (minTickSize instanceof Number) {
+            out.writeByte(MIN_TICK_NUMBER);
+            out.writeDouble(((Number) minTickSize).doubleValue());
+        } else if (minTickSize != null) {
+            out.writeByte(MIN_TICK_STRING);
+            out.writeUTF(minTickSize.toString());
+        } else {
+            out.writeByte(MIN_TICK_NULL);
+        }
+        writeNullable(out, type);
+        writeNullable(out, splits);
+        writeNullable(out, marginInitialRatio);
+        writeNullable(out, url);
+        writeNullable(out, quote);
+        writeNullable(out, tradability);
+        writeNullable(out, bloombergUnique);
+        writeNullable(out, listDate);
+        writeNullable(out, name);
+        writeNullable(out, symbol);
+        writeNullable(out, fundamentals);
+        writeNullable(out, state);
+        writeNullable(out, country);
+        writeNullable(out, dayTradeRatio);
+        out.writeByte(tradeable == null ? -1 : tradeable ? 1 : 0);
+        writeNullable(out, maintenanceRatio);
+        writeNullable(out, id);
+        writeNullable(out, market);
+        writeNullable(out, simpleName);
+    }
+
+    /**
+     * Read an instrument written by {@link #writeRecord(DataOutput)}
+     * @param in Where to read the record from
+     * @return The instrument
+     * @throws IOException If the record could not be read
+     */
+    public static InstrumentElement readRecord(DataInput in) throws IOException {
+        InstrumentElement element = new InstrumentElement();
+        element.tradableChainId = readNullable(in);
+        switch (in.readByte()) {
+            case MIN_TICK_NUMBER: element.minTickSize = in.readDouble(); break;
+            case MIN_TICK_STRING: element.minTickSize = in.readUTF(); break;
+            default: element.minTickSize = null;
+        }
+        element.type = readNullable(in);
+        element.splits = readNullable(in);
+        element.marginInitialRatio = readNullable(in);
+        element.url = readNullable(in);
+        element.quote = readNullable(in);
+        element.tradability = readNullable(in);
+        element.bloombergUnique = readNullable(in);
+        element.listDate = readNullable(in);
+        element.name = readNullable(in);
+        element.symbol = readNullable(in);
+        element.fundamentals = readNullable(in);
+        element.state = readNullable(in);
+        element.country = readNullable(in);
+        element.dayTradeRatio = readNullable(in);
+        byte tradeable = in.readByte();
+        element.tradeable = tradeable < 0 ? null : tradeable == 1;
+        element.maintenanceRatio = readNullable(in);
+        element.id = readNullable(in);
+        element.market = readNullable(in);
+        element.simpleName = readNullable(in);
+        return element;
+    }
+
+    private static final byte MIN_TICK_NULL = 0;
+    private static final byte MIN_TICK_STRING = 1;
+    private static final byte MIN_TICK_NUMBER = 2;
+
+    private static void writeNullable(DataOutput out, String value)
+    throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * Reads the fields of a {@link InstrumentElement} by name instead of by
+     * reflection. Registered by
+     * {@link com.ampro.robinhood.net.json.ElementTypeAdapterFactory}.
+     */
+    public static final class GsonAdapter extends TypeAdapter<InstrumentElement> {
+
+        /** Gson's reflective adapter, used for writing */
+        private final TypeAdapter<InstrumentElement> delegate;
+        /** Reads the min tick size, a number, string or null */
+        private final TypeAdapter<Object> objects;
+
+        public GsonAdapter(TypeAdapter<InstrumentElement> delegate,
+                           TypeAdapter<Object> objects) {
+            this.delegate = delegate;
+            this.objects = objects;
+        }
+
+        @Override
+        public InstrumentElement read(JsonReader in) throws IOException {
+            if (!JsonReaders.beginObject(in)) {
+                return null;
+            }
+            InstrumentElement element = new InstrumentElement();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "tradable_chain_id":
+                        element.tradableChainId = JsonReaders.nextString(in);
+                        break;
+                    case "min_tick_size":
+                        element.minTickSize = objects.read(in);
+                        break;
+                    case "type":
+                        element.type = JsonReaders.nextString(in);
+                        break;
+                    case "splits":
+                        element.splits = JsonReaders.nextString(in);
+                        break;
+                    case "margin_initial_ratio":
+                        element.marginInitialRatio = JsonReaders.nextString(in);
+                        break;
+                    case "url":
+                        element.url = JsonReaders.nextString(in);
+                        break;
+                    case "quote":
+                        element.quote = JsonReaders.nextString(in);
+                        break;
+                    case "tradability":
+                        element.tradability = JsonReaders.nextString(in);
+                        break;
+                    case "bloomberg_unique":
+                        element.bloombergUnique = JsonReaders.nextString(in);
+                        break;
+                    case "list_date":
+                        element.listDate = JsonReaders.nextString(in);
+                        break;
+                    case "name":
+                        element.name = JsonReaders.nextString(in);
+                        break;
+                    case "symbol":
+                        element.symbol = JsonReaders.nextString(in);
+                        break;
+                    case "fundamentals":
+                        element.fundamentals = JsonReaders.nextString(in);
+                        break;
+                    case "state":
+                        element.state = JsonReaders.nextString(in);
+                        break;
+                    case "country":
+                        element.country = JsonReaders.nextString(in);
+                        break;
+                    case "day_trade_ratio":
+                        element.dayTradeRatio = JsonReaders.nextString(in);
+                        break;
+                    case "tradeable":
+                        element.tradeable = JsonReaders.nextBooleanObject(in);
+                        break;
+                    case "maintenance_ratio":
+                        element.maintenanceRatio = JsonReaders.nextString(in);
+                        break;
+                    case "id":
+                        element.id = JsonReaders.nextString(in);
+                        break;
+                    case "market":
+                        element.market = JsonReaders.nextString(in);
+                        break;
+                    case "simple_name":
+                        element.simpleName = JsonReaders.nextString(in);
+                        break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return element;
+        }
+
+        @Override
+        public void write(JsonWriter out, InstrumentElement value) throws IOException {
+            delegate.write(out, value);
+        }
+    }
+
 }
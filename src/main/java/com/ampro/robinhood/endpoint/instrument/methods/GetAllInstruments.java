@@ -1,6 +1,8 @@
 package com.ampro.robinhood.endpoint.instrument.methods;
 
 import com.ampro.robinhood.endpoint.instrument.data.InstrumentElementList;
+import com.ampro.robinhood.net.RequestTemplate;
+import com.ampro.robinhood.net.request.RequestMethod;
 
 /**
  * Get all instruments listed by the Robinhood API
@@ -9,14 +11,18 @@ import com.ampro.robinhood.endpoint.instrument.data.InstrumentElementList;
  */
 public class GetAllInstruments extends GetInstrument {
 
-    private static final GetAllInstruments defaultMethod = new GetAllInstruments();
+    private static final RequestTemplate TEMPLATE = new RequestTemplate(
+            RequestMethod.GET, "https://api.robinhood.com/instruments/",
+            InstrumentElementList.class, false
+    );
 
     /**
-     * Since this API method cannot be modified, just return a static one
-     * @return the default {@link GetAllInstruments} object
+     * Methods are not shared between threads, so each call gets its own.
+     * All of them are built from the same immutable {@link RequestTemplate}.
+     * @return a new {@link GetAllInstruments} object
      */
-    public static synchronized GetAllInstruments getDefault() {
-        return defaultMethod;
+    public static GetAllInstruments getDefault() {
+        return new GetAllInstruments();
     }
 
     /**
@@ -25,9 +31,7 @@ public class GetAllInstruments extends GetInstrument {
      * @author Jonathan Augustine
      */
     private GetAllInstruments() {
-        super();
-        this.setUrlBase("https://api.robinhood.com/instruments/");
-        this.setReturnType(InstrumentElementList.class);
+        super(TEMPLATE);
     }
 
 }
@@ -1,6 +1,7 @@
 package com.ampro.robinhood.endpoint.instrument.methods;
 
 import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.net.RequestTemplate;
 import com.ampro.robinhood.Configuration;
 import com.ampro.robinhood.net.request.RequestMethod;
 
@@ -14,4 +15,9 @@ public abstract class GetInstrument extends ApiMethod {
         super(Configuration.getDefault());
         this.setMethodType(RequestMethod.GET);
     }
+
+    /** @param template The shared parts of the request */
+    protected GetInstrument(RequestTemplate template) {
+        super(Configuration.getDefault(), template);
+    }
 }
@@ -1,6 +1,8 @@
 package com.ampro.robinhood.endpoint.instrument.methods;
 
 import com.ampro.robinhood.endpoint.instrument.data.InstrumentElementList;
+import com.ampro.robinhood.net.RequestTemplate;
+import com.ampro.robinhood.net.request.RequestMethod;
 
 /**
  * This returns a
@@ -9,11 +11,14 @@ import com.ampro.robinhood.endpoint.instrument.data.InstrumentElementList;
  * @author Jonathan Augustine
  */
 public class GetInstrumentByTicker extends GetInstrument {
+
+    private static final RequestTemplate TEMPLATE = new RequestTemplate(
+            RequestMethod.GET, "https://api.robinhood.com/instruments/",
+            InstrumentElementList.class, false
+    );
+
     public GetInstrumentByTicker(String ticker) {
-        super();
-        setUrlBase("https://api.robinhood.com/instruments/");
+        super(TEMPLATE);
         addQueryParameter("symbol", ticker);
-        //Declare what the response should look like
-        this.setReturnType(InstrumentElementList.class);
     }
 }
@@ -3,7 +3,9 @@ package com.ampro.robinhood.endpoint.instrument.methods;
 import com.ampro.robinhood.endpoint.instrument.data.InstrumentElement;
 
 /**
- * Get an {@link InstrumentElement} by a predefined URL
+ * Get an {@link InstrumentElement} by a predefined URL.
+ * Prefer {@link com.ampro.robinhood.endpoint.instrument.store.InstrumentCache},
+ * which sends this request only for instruments it has not cached.
  * @author Jonathan Augustine
  */
 public class GetInstrumentByUrl extends GetInstrument {
@@ -0,0 +1,38 @@
+package com.ampro.robinhood.endpoint.instrument.methods;
+
+import com.ampro.robinhood.binding.ApiEndpoints;
+import com.ampro.robinhood.binding.Endpoint;
+import com.ampro.robinhood.binding.Query;
+import com.ampro.robinhood.binding.Route;
+import com.ampro.robinhood.endpoint.instrument.data.InstrumentElement;
+import com.ampro.robinhood.endpoint.instrument.data.InstrumentElementList;
+import com.ampro.robinhood.net.ApiMethod;
+
+/**
+ * The instrument requests, implemented at compile time by
+ * {@code GeneratedInstrumentEndpoints}. The API looks instruments up by
+ * ticker with {@link #instrumentByTicker(String)}.
+ *
+ * @author Jonathan Augustine
+ */
+@ApiEndpoints
+public interface InstrumentEndpoints {
+
+    /**
+     * Same request as {@link GetInstrumentByTicker}
+     * @param ticker The ticker (e.g. MSFT)
+     * @return A method returning an {@link InstrumentElementList}
+     */
+    @Endpoint(url = "https://api.robinhood.com/instruments/",
+              returns = InstrumentElementList.class)
+    ApiMethod instrumentByTicker(@Query("symbol") String ticker);
+
+    /**
+     * @param id The id of the instrument
+     * @return A method returning an {@link InstrumentElement}
+     */
+    @Endpoint(url = "https://api.robinhood.com/instruments/{id}/",
+              returns = InstrumentElement.class)
+    ApiMethod instrumentById(@Route("id") String id);
+
+}
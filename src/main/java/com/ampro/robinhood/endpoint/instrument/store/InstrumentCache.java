@@ -0,0 +1,326 @@
+package com.ampro.robinhood.endpoint.instrument.store;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import com.ampro.robinhood.endpoint.instrument.data.InstrumentElement;
+import com.ampro.robinhood.endpoint.instrument.methods.GetInstrumentByUrl;
+import com.ampro.robinhood.net.request.RequestManager;
+import com.ampro.robinhood.throwables.RobinhoodApiException;
+import com.ampro.robinhood.util.Futures;
+
+/**
+ * A bounded in-memory cache of {@link InstrumentElement InstrumentElements}
+ * keyed by instrument url, so resolving the instrument of every position of
+ * a portfolio does not cost one request per position.
+ * <p>
+ * Entries expire a fixed time after they were loaded, and the oldest
+ * entries are evicted once the cache holds more than its maximum size.
+ * Concurrent misses for the same url share a single request. A failed
+ * request is not cached.
+ *
+ * @author Jonathan Augustine
+ */
+public class InstrumentCache {
+
+    /** How long an instrument is cached by default */
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    /** How many instruments are cached by default */
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+
+    private static volatile InstrumentCache defaultCache = new InstrumentCache(
+            DEFAULT_TTL_MILLIS, DEFAULT_MAX_SIZE
+    );
+
+    private final long ttlNanos;
+
+    private final int maxSize;
+
+    /** Sends the request for an instrument url */
+    private final Function<String, CompletableFuture<InstrumentElement>> loader;
+
+    private final LongSupplier clock;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Symbol to url of the instruments seen so far. Instrument urls do not
+     * change, so this small index is kept when the instruments expire.
+     */
+    private final ConcurrentMap<String, String> urlsBySymbol = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Create a cache loading instruments through the shared
+     * {@link RequestManager}
+     * @param ttlMillis How long an instrument is cached after it was loaded
+     * @param maxSize The maximum number of instruments cached
+     */
+    public InstrumentCache(long ttlMillis, int maxSize) {
+        this(ttlMillis, maxSize, url -> RequestManager.getInstance()
+                .makeApiRequestAsync(new GetInstrumentByUrl(url)), System::nanoTime);
+    }
+
+    /**
+     * Create a cache loading instruments through the given manager
+     * @param ttlMillis How long an instrument is cached after it was loaded
+     * @param maxSize The maximum number of instruments cached
+     * @param requestManager The manager sending the requests
+     */
+    public InstrumentCache(long ttlMillis, int maxSize,
+                           RequestManager requestManager) {
+        this(ttlMillis, maxSize, url -> requestManager
+                .makeApiRequestAsync(new GetInstrumentByUrl(url)), System::nanoTime);
+    }
+
+    InstrumentCache(long ttlMillis, int maxSize,
+                    Function<String, CompletableFuture<InstrumentElement>> loader,
+                    LongSupplier clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxSize = maxSize;
+        this.loader = loader;
+        this.clock = clock;
+    }
+
+    /** @return The cache used by the API for instrument lookups */
+    public static InstrumentCache getDefault() {
+        return defaultCache;
+    }
+
+    /** @param cache The cache for the API to use */
+    public static void setDefault(InstrumentCache cache) {
+        defaultCache = cache;
+    }
+
+    /**
+     * Get an instrument, loading it if it is not cached
+     * @param url The instrument url
+     * @return The instrument
+     * @throws RobinhoodApiException If the instrument could not be loaded
+     */
+    public InstrumentElement get(String url) throws RobinhoodApiException {
+        return Futures.join(getAsync(url));
+    }
+
+    /**
+     * Non-blocking version of {@link #get(String)}
+     * @param url The instrument url
+     * @return A {@link CompletableFuture} of the instrument. Each caller gets
+     *          its own, so cancelling it does not affect the cached entry
+     */
+    public CompletableFuture<InstrumentElement> getAsync(String url) {
+        long now = clock.getAsLong();
+        while (true) {
+            Entry entry = entries.get(url);
+            if (entry != null && !entry.isExpired(now)) {
+                //Cached, or another thread is already loading it
+                hits.increment();
+                return entry.future.thenApply(Function.identity());
+            }
+            Entry loading = new Entry(new CompletableFuture<>(), now);
+            boolean installed = entry == null
+                    ? entries.putIfAbsent(url, loading) == null
+                    : entries.replace(url, entry, loading);
+            if (installed) {
+                misses.increment();
+                load(url, loading);
+                evictIfFull();
+                return loading.future.thenApply(Function.identity());
+            }
+        }
+    }
+
+    private void load(String url, Entry entry) {
+        CompletableFuture<InstrumentElement> request;
+        try {
+            request = loader.apply(url);
+        } catch (RuntimeException e) {
+            request = Futures.failed(e);
+        }
+        request.whenComplete((instrument, error) -> {
+            if (error != null || instrument == null) {
+                entries.remove(url, entry);
+            } else {
+                entry.loadedAt = clock.getAsLong();
+                indexSymbol(instrument);
+            }
+            if (error != null) {
+                entry.future.completeExceptionally(Futures.unwrap(error));
+            } else {
+                entry.future.complete(instrument);
+            }
+        });
+    }
+
+    /**
+     * Get a cached instrument by its symbol without loading anything
+     * @param symbol The ticker symbol (e.g. MSFT)
+     * @return The instrument, or {@code null} if it is not cached
+     */
+    public InstrumentElement getBySymbol(String symbol) {
+        String url = symbol == null ? null : urlsBySymbol.get(symbol);
+        if (url == null) {
+            misses.increment();
+            return null;
+        }
+        Entry entry = entries.get(url);
+        InstrumentElement instrument = entry == null ? null : entry.getNow(clock.getAsLong());
+        if (instrument == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return instrument;
+    }
+
+    /**
+     * Add or replace an instrument loaded some other way
+     * @param instrument The instrument
+     */
+    public void put(InstrumentElement instrument) {
+        if (instrument == null || instrument.getUrl() == null) {
+            return;
+        }
+        Entry entry = new Entry(
+                CompletableFuture.completedFuture(instrument), clock.getAsLong()
+        );
+        entries.put(instrument.getUrl(), entry);
+        indexSymbol(instrument);
+        evictIfFull();
+    }
+
+    /**
+     * @param symbol The ticker symbol (e.g. MSFT)
+     * @return The url of the instrument with this symbol, or {@code null}
+     *          if it has not been seen
+     */
+    public String getUrlBySymbol(String symbol) {
+        return symbol == null ? null : urlsBySymbol.get(symbol);
+    }
+
+    /**
+     * Record the url of the instrument with a symbol
+     * @param symbol The ticker symbol (e.g. MSFT)
+     * @param url The instrument url
+     */
+    public void putUrl(String symbol, String url) {
+        if (symbol != null && url != null) {
+            urlsBySymbol.put(symbol, url);
+        }
+    }
+
+    private void indexSymbol(InstrumentElement instrument) {
+        if (instrument.getSymbol() != null) {
+            urlsBySymbol.put(instrument.getSymbol(), instrument.getUrl());
+        }
+    }
+
+    /**
+     * Remove an instrument from the cache
+     * @param url The instrument url
+     */
+    public void invalidate(String url) {
+        entries.remove(url);
+    }
+
+    /** Remove every instrument from the cache */
+    public void clear() {
+        entries.clear();
+        urlsBySymbol.clear();
+    }
+
+    /**
+     * Drop the expired entries, then the oldest ones until the cache is a
+     * tenth below its maximum size, so the scan does not run on every miss.
+     */
+    private void evictIfFull() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+        synchronized (this) {
+            if (entries.size() <= maxSize) {
+                return;
+            }
+            long now = clock.getAsLong();
+            entries.forEach((url, entry) -> {
+                if (entry.isExpired(now) && entries.remove(url, entry)) {
+                    evictions.increment();
+                }
+            });
+            int target = maxSize - maxSize / 10;
+            int excess = entries.size() - target;
+            if (excess <= 0) {
+                return;
+            }
+            entries.entrySet().stream()
+                   .filter(e -> e.getValue().future.isDone())
+                   .sorted(Comparator.comparingLong(e -> e.getValue().loadedAt))
+                   .limit(excess)
+                   .forEach(this::evict);
+        }
+    }
+
+    private void evict(Map.Entry<String, Entry> entry) {
+        if (entries.remove(entry.getKey(), entry.getValue())) {
+            evictions.increment();
+        }
+    }
+
+    /** @return The number of instruments cached or being loaded */
+    public int size() {
+        return entries.size();
+    }
+
+    /** @return How many lookups were answered from the cache */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /** @return How many lookups were not answered from the cache */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /** @return How many entries were dropped for space or age */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /** A cached instrument, or the request loading it */
+    private final class Entry {
+
+        final CompletableFuture<InstrumentElement> future;
+
+        /** When the instrument was loaded (nanos), used for expiry and age */
+        volatile long loadedAt;
+
+        Entry(CompletableFuture<InstrumentElement> future, long loadedAt) {
+            this.future = future;
+            this.loadedAt = loadedAt;
+        }
+
+        boolean isExpired(long now) {
+            return future.isDone() && now - loadedAt >= ttlNanos;
+        }
+
+        InstrumentElement getNow(long now) {
+            return future.isDone() && !future.isCompletedExceptionally()
+                    && !isExpired(now) ? future.join() : null;
+        }
+    }
+
+}
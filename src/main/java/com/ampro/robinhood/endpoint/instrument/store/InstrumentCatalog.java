@@ -0,0 +1,447 @@
+package com.ampro.robinhood.endpoint.instrument.store;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import com.ampro.robinhood.Configuration;
+import com.ampro.robinhood.endpoint.instrument.data.InstrumentElement;
+import com.ampro.robinhood.endpoint.instrument.data.InstrumentElementList;
+import com.ampro.robinhood.endpoint.instrument.methods.GetAllInstruments;
+import com.ampro.robinhood.net.pagination.PrefetchingPaginatedIterator;
+import com.ampro.robinhood.net.request.RequestManager;
+import com.ampro.robinhood.throwables.RobinhoodApiException;
+
+/**
+ * A local copy of every {@link InstrumentElement} tracked by Robinhood,
+ * indexed by symbol, id and url, and persisted to a compact binary file so
+ * it does not have to be fetched page by page on every start.
+ * <p>
+ * The catalog is considered fresh for a maximum age after its last full
+ * refresh. Lookups through the {@code find} methods return {@code null} on a
+ * stale catalog (so the caller falls back to the API) and start a refresh in
+ * the background.
+ * <p>
+ * Robinhood's instrument listing has no "changed since" marker, so a
+ * refresh is a full resync: it reads every page again. Only the records
+ * which differ from the stored ones are applied as the pages arrive,
+ * instruments no longer listed are dropped, and the file is only rewritten
+ * when something changed.
+ *
+ * @author Jonathan Augustine
+ */
+public class InstrumentCatalog {
+
+    /** "RHIC" */
+    private static final int MAGIC = 0x52484943;
+    private static final int VERSION = 1;
+
+    /** Where the refresh time is saved, after the magic and version */
+    private static final long REFRESHED_AT_OFFSET = 2 * Integer.BYTES;
+
+    /** Runs background refreshes of every catalog */
+    private static final ExecutorService refresher =
+            Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "robinhood-api-instrument-catalog");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /** The catalog consulted by the API for instrument lookups, if any */
+    private static volatile InstrumentCatalog defaultCatalog;
+
+    private final Path file;
+
+    private final long maxAge;
+
+    /** Sends the refresh requests */
+    private final RequestManager requestManager;
+
+    /** Replaced as a whole by {@link #load()} */
+    private volatile Index index = new Index();
+
+    /** When the last full refresh finished (epoch millis), 0 if never */
+    private volatile long refreshedAt;
+
+    /** The refresh in progress, if any */
+    private final AtomicReference<CompletableFuture<InstrumentCatalog>> refresh
+            = new AtomicReference<>();
+
+    /**
+     * Create an empty catalog refreshed through the shared
+     * {@link RequestManager}
+     * @param file The file the catalog is saved to
+     * @param maxAgeMillis How long after a refresh the catalog is fresh
+     */
+    public InstrumentCatalog(Path file, long maxAgeMillis) {
+        this(file, maxAgeMillis, null);
+    }
+
+    /**
+     * Create an empty catalog refreshed through the given manager
+     * @param file The file the catalog is saved to
+     * @param maxAgeMillis How long after a refresh the catalog is fresh
+     * @param requestManager The manager sending the refresh requests, or
+     *          {@code null} for the shared one
+     */
+    public InstrumentCatalog(Path file, long maxAgeMillis,
+                             RequestManager requestManager) {
+        this.file = file;
+        this.maxAge = maxAgeMillis;
+        this.requestManager = requestManager;
+    }
+
+    /**
+     * Open a catalog, loading its file if it exists
+     * @param file The file the catalog is saved to
+     * @param maxAgeMillis How long after a refresh the catalog is fresh
+     * @return The catalog
+     * @throws IOException If the file exists but could not be read
+     */
+    public static InstrumentCatalog open(Path file, long maxAgeMillis)
+    throws IOException {
+        return open(file, maxAgeMillis, null);
+    }
+
+    /**
+     * Open a catalog refreshed through the given manager, loading its file
+     * if it exists
+     * @param file The file the catalog is saved to
+     * @param maxAgeMillis How long after a refresh the catalog is fresh
+     * @param requestManager The manager sending the refresh requests, or
+     *          {@code null} for the shared one
+     * @return The catalog
+     * @throws IOException If the file exists but could not be read
+     */
+    public static InstrumentCatalog open(Path file, long maxAgeMillis,
+                                         RequestManager requestManager)
+    throws IOException {
+        InstrumentCatalog catalog =
+                new InstrumentCatalog(file, maxAgeMillis, requestManager);
+        if (Files.exists(file)) {
+            catalog.load();
+        }
+        return catalog;
+    }
+
+    /** @return The catalog consulted by the API, or {@code null} */
+    public static InstrumentCatalog getDefault() {
+        return defaultCatalog;
+    }
+
+    /** @param catalog The catalog for the API to consult, or {@code null} */
+    public static void setDefault(InstrumentCatalog catalog) {
+        defaultCatalog = catalog;
+    }
+
+    /** @return {@code true} if the catalog was refreshed within its max age */
+    public boolean isFresh() {
+        return refreshedAt > 0
+                && System.currentTimeMillis() - refreshedAt < maxAge;
+    }
+
+    /** @return When the last full refresh finished (epoch millis) */
+    public long getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    /** @return The number of instruments in the catalog */
+    public int size() {
+        return index.byUrl.size();
+    }
+
+    /**
+     * @param symbol The ticker symbol (e.g. MSFT)
+     * @return The instrument, or {@code null} if it is not in the catalog
+     */
+    public InstrumentElement getBySymbol(String symbol) {
+        return symbol == null ? null : index.bySymbol.get(symbol);
+    }
+
+    /**
+     * @param id The instrument id
+     * @return The instrument, or {@code null} if it is not in the catalog
+     */
+    public InstrumentElement getById(String id) {
+        return id == null ? null : index.byId.get(id);
+    }
+
+    /**
+     * @param url The instrument url
+     * @return The instrument, or {@code null} if it is not in the catalog
+     */
+    public InstrumentElement getByUrl(String url) {
+        return url == null ? null : index.byUrl.get(url);
+    }
+
+    /**
+     * Look up an instrument only if the catalog is fresh. A stale catalog
+     * starts refreshing in the background.
+     * @param symbol The ticker symbol (e.g. MSFT)
+     * @return The instrument, or {@code null} if the catalog is stale or
+     *          does not contain it
+     */
+    public InstrumentElement findBySymbol(String symbol) {
+        return checkFresh() ? getBySymbol(symbol) : null;
+    }
+
+    /**
+     * Look up an instrument only if the catalog is fresh. A stale catalog
+     * starts refreshing in the background.
+     * @param url The instrument url
+     * @return The instrument, or {@code null} if the catalog is stale or
+     *          does not contain it
+     */
+    public InstrumentElement findByUrl(String url) {
+        return checkFresh() ? getByUrl(url) : null;
+    }
+
+    private boolean checkFresh() {
+        if (isFresh()) {
+            return true;
+        }
+        refreshAsync();
+        return false;
+    }
+
+    /**
+     * Add or replace an instrument
+     * @param instrument The instrument
+     */
+    public void put(InstrumentElement instrument) {
+        index.put(instrument);
+    }
+
+    /**
+     * Resync the catalog with every instrument listed by Robinhood. Every
+     * page is fetched again, as the listing cannot be asked for only the
+     * instruments changed since the last refresh; the records equal to the
+     * stored ones are skipped, the others are applied as each page arrives.
+     * The file is rewritten if anything changed, otherwise only its refresh
+     * time is updated.
+     * @return The number of instruments added, changed or dropped
+     * @throws RobinhoodApiException If a page could not be fetched
+     * @throws IOException If the catalog could not be saved
+     */
+    public int refresh() throws RobinhoodApiException, IOException {
+        RequestManager requestManager = this.requestManager != null
+                ? this.requestManager
+                : RequestManager.getInstance();
+        InstrumentElementList first =
+                requestManager.makeApiRequest(GetAllInstruments.getDefault());
+        Iterator<InstrumentElement> iterator = new PrefetchingPaginatedIterator<>(
+                first, Configuration.getDefault(), requestManager,
+                PrefetchingPaginatedIterator.DEFAULT_DEPTH
+        );
+        Index current = this.index;
+        Set<String> listed = new HashSet<>();
+        int changed = 0;
+        while (iterator.hasNext()) {
+            InstrumentElement instrument;
+            try {
+                instrument = iterator.next();
+            } catch (IllegalStateException e) {
+                throw new RobinhoodApiException(
+                        "Failed to load a page of instruments", e.getCause()
+                );
+            }
+            if (instrument == null || instrument.getUrl() == null) {
+                continue;
+            }
+            listed.add(instrument.getUrl());
+            if (!sameRecord(current.byUrl.get(instrument.getUrl()), instrument)) {
+                current.put(instrument);
+                changed++;
+            }
+        }
+        //Drop the instruments Robinhood no longer lists
+        List<InstrumentElement> delisted = current.byUrl.values().stream()
+                .filter(instrument -> !listed.contains(instrument.getUrl()))
+                .collect(Collectors.toList());
+        delisted.forEach(current::remove);
+        changed += delisted.size();
+        this.refreshedAt = System.currentTimeMillis();
+        if (changed > 0 || !Files.exists(file)) {
+            save();
+        } else {
+            saveRefreshedAt();
+        }
+        return changed;
+    }
+
+    /** @return {@code true} if both instruments have the same record */
+    private static boolean sameRecord(InstrumentElement stored,
+                                      InstrumentElement fetched)
+    throws IOException {
+        return stored != null && Arrays.equals(record(stored), record(fetched));
+    }
+
+    private static byte[] record(InstrumentElement instrument) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        instrument.writeRecord(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    /** Update the refresh time of the saved file, leaving its records alone */
+    private void saveRefreshedAt() throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer time = ByteBuffer.allocate(Long.BYTES);
+            time.putLong(0, refreshedAt);
+            channel.write(time, REFRESHED_AT_OFFSET);
+        }
+    }
+
+    /**
+     * Refresh the catalog on a background thread. Only one refresh runs at a
+     * time; calling this during a refresh returns the refresh in progress.
+     * @return A {@link CompletableFuture} of this catalog once refreshed
+     */
+    public CompletableFuture<InstrumentCatalog> refreshAsync() {
+        CompletableFuture<InstrumentCatalog> future = new CompletableFuture<>();
+        if (!refresh.compareAndSet(null, future)) {
+            CompletableFuture<InstrumentCatalog> running = refresh.get();
+            if (running != null) {
+                return running;
+            }
+            return refreshAsync();
+        }
+        refresher.execute(() -> {
+            try {
+                refresh();
+                future.complete(this);
+            } catch (RobinhoodApiException | IOException | RuntimeException e) {
+                future.completeExceptionally(e);
+            } finally {
+                refresh.set(null);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Load the catalog file, replacing the instruments in memory once the
+     * whole file was read. Lookups meanwhile see the previous instruments,
+     * which are kept if the file cannot be read.
+     * @throws IOException If the file could not be read
+     */
+    public void load() throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(file + " is not an instrument catalog");
+            }
+            long savedRefreshedAt = in.readLong();
+            int count = in.readInt();
+            Index loaded = new Index();
+            for (int i = 0; i < count; i++) {
+                loaded.put(InstrumentElement.readRecord(in));
+            }
+            this.index = loaded;
+            this.refreshedAt = savedRefreshedAt;
+        }
+    }
+
+    /**
+     * Save the catalog to its file. The file is replaced atomically, so a
+     * crash while saving never leaves a truncated catalog behind.
+     * @throws IOException If the file could not be written
+     */
+    public void save() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                InstrumentElement[] instruments =
+                        index.byUrl.values().toArray(new InstrumentElement[0]);
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(refreshedAt);
+                out.writeInt(instruments.length);
+                for (InstrumentElement instrument : instruments) {
+                    instrument.writeRecord(out);
+                }
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /** The instruments by symbol, id and url */
+    private static final class Index {
+
+        final ConcurrentMap<String, InstrumentElement> bySymbol
+                = new ConcurrentHashMap<>();
+        final ConcurrentMap<String, InstrumentElement> byId
+                = new ConcurrentHashMap<>();
+        final ConcurrentMap<String, InstrumentElement> byUrl
+                = new ConcurrentHashMap<>();
+
+        void put(InstrumentElement instrument) {
+            if (instrument == null || instrument.getUrl() == null) {
+                return;
+            }
+            InstrumentElement old = byUrl.put(instrument.getUrl(), instrument);
+            if (old != null && old.getSymbol() != null) {
+                bySymbol.remove(old.getSymbol(), old);
+            }
+            if (instrument.getId() != null) {
+                byId.put(instrument.getId(), instrument);
+            }
+            if (instrument.getSymbol() != null) {
+                //Delisted instruments can share a symbol with a listed one
+                bySymbol.merge(instrument.getSymbol(), instrument,
+                        (current, added) -> isActive(current) && !isActive(added)
+                                ? current : added);
+            }
+        }
+
+        /** Remove an instrument from every index */
+        void remove(InstrumentElement instrument) {
+            byUrl.remove(instrument.getUrl(), instrument);
+            if (instrument.getId() != null) {
+                byId.remove(instrument.getId(), instrument);
+            }
+            if (instrument.getSymbol() != null) {
+                bySymbol.remove(instrument.getSymbol(), instrument);
+            }
+        }
+
+        private static boolean isActive(InstrumentElement instrument) {
+            return "active".equals(instrument.getState());
+        }
+
+    }
+
+}
@@ -1,8 +1,14 @@
 package com.ampro.robinhood.endpoint.orders.data;
 
+import java.io.IOException;
 import java.io.Serializable;
+
+import com.ampro.robinhood.net.json.JsonReaders;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.Expose;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * @author Jonathan Augustine
@@ -66,4 +72,54 @@ public class Execution implements Serializable {
         this.timestamp = timestamp;
     }
 
+    /**
+     * Reads the fields of a {@link Execution} by name instead of by
+     * reflection. Registered by
+     * {@link com.ampro.robinhood.net.json.ElementTypeAdapterFactory}.
+     */
+    public static final class GsonAdapter extends TypeAdapter<Execution> {
+
+        /** Gson's reflective adapter, used for writing */
+        private final TypeAdapter<Execution> delegate;
+
+        public GsonAdapter(TypeAdapter<Execution> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Execution read(JsonReader in) throws IOException {
+            if (!JsonReaders.beginObject(in)) {
+                return null;
+            }
+            Execution execution = new Execution();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":
+                        execution.id = JsonReaders.nextString(in);
+                        break;
+                    case "price":
+                        execution.price = JsonReaders.nextFloat(in, execution.price);
+                        break;
+                    case "quantity":
+                        execution.quantity = JsonReaders.nextInteger(in);
+                        break;
+                    case "settlement_date":
+                        execution.settlementDate = JsonReaders.nextString(in);
+                        break;
+                    case "timestamp":
+                        execution.timestamp = JsonReaders.nextString(in);
+                        break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return execution;
+        }
+
+        @Override
+        public void write(JsonWriter out, Execution value) throws IOException {
+            delegate.write(out, value);
+        }
+    }
+
 }
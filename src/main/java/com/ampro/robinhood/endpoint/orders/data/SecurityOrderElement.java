@@ -2,8 +2,16 @@ package com.ampro.robinhood.endpoint.orders.data;
 
 import com.ampro.robinhood.endpoint.ApiElement;
 import com.ampro.robinhood.endpoint.orders.enums.OrderState;
+import com.ampro.robinhood.net.json.JsonReaders;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 
 public class SecurityOrderElement implements ApiElement {
 
@@ -198,5 +206,103 @@ public class SecurityOrderElement implements ApiElement {
 		return override_dtbp_checks;
 	}
 
+	/**
+	 * Reads the fields of a {@link SecurityOrderElement} by name instead of by
+	 * reflection. Registered by
+	 * {@link com.ampro.robinhood.net.json.ElementTypeAdapterFactory}.
+	 */
+	public static final class GsonAdapter extends TypeAdapter<SecurityOrderElement> {
+
+		/** Gson's reflective adapter, used for writing */
+		private final TypeAdapter<SecurityOrderElement> delegate;
+		private final TypeAdapter<Execution> executions;
+
+		public GsonAdapter(TypeAdapter<SecurityOrderElement> delegate,
+		                   TypeAdapter<Execution> executions) {
+			this.delegate = delegate;
+			this.executions = executions;
+		}
+
+		@Override
+		public SecurityOrderElement read(JsonReader in) throws IOException {
+			if (!JsonReaders.beginObject(in)) {
+				return null;
+			}
+			SecurityOrderElement order = new SecurityOrderElement();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+					case "executions":
+						order.executions = readExecutions(in);
+						break;
+					case "fees":
+						order.fees = JsonReaders.nextFloat(in, order.fees);
+						break;
+					case "cancel":
+						order.cancel = JsonReaders.nextUrl(in);
+						break;
+					case "id":
+						order.id = JsonReaders.nextString(in);
+						break;
+					case "cumulative_quantity":
+						order.cumulative_quantity = JsonReaders.nextFloat(
+								in, order.cumulative_quantity);
+						break;
+					case "reject_reason":
+						order.reject_reason = JsonReaders.nextString(in);
+						break;
+					case "state":
+						order.state = JsonReaders.nextString(in);
+						break;
+					case "client_id":
+						order.client_id = JsonReaders.nextString(in);
+						break;
+					case "url":
+						order.url = JsonReaders.nextUrl(in);
+						break;
+					case "position":
+						order.position = JsonReaders.nextUrl(in);
+						break;
+					case "average_price":
+						order.average_price = JsonReaders.nextFloat(
+								in, order.average_price);
+						break;
+					case "extended_hours":
+						order.extended_hours = JsonReaders.nextBoolean(
+								in, order.extended_hours);
+						break;
+					case "override_day_trade_checks":
+						order.override_day_trade_checks = JsonReaders.nextBoolean(
+								in, order.override_day_trade_checks);
+						break;
+					case "override_dtbp_checks":
+						order.override_dtbp_checks = JsonReaders.nextBoolean(
+								in, order.override_dtbp_checks);
+						break;
+					default: in.skipValue();
+				}
+			}
+			in.endObject();
+			return order;
+		}
+
+		@Override
+		public void write(JsonWriter out, SecurityOrderElement value) throws IOException {
+			delegate.write(out, value);
+		}
+
+		private Execution[] readExecutions(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			List<Execution> list = new ArrayList<>();
+			in.beginArray();
+			while (in.hasNext()) {
+				list.add(executions.read(in));
+			}
+			in.endArray();
+			return list.toArray(new Execution[0]);
+		}
+	}
 
 }
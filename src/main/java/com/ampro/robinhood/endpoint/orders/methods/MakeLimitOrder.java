@@ -1,8 +1,11 @@
 package com.ampro.robinhood.endpoint.orders.methods;
 
 import com.ampro.robinhood.Configuration;
+import com.ampro.robinhood.endpoint.instrument.store.InstrumentCache;
+import com.ampro.robinhood.endpoint.instrument.store.InstrumentCatalog;
 import com.ampro.robinhood.endpoint.orders.enums.OrderTransactionType;
 import com.ampro.robinhood.endpoint.orders.enums.TimeInForce;
+import com.ampro.robinhood.net.request.RequestManager;
 import com.ampro.robinhood.throwables.RobinhoodApiException;
 import com.ampro.robinhood.throwables.RobinhoodNotLoggedInException;
 import com.ampro.robinhood.throwables.TickerNotFoundException;
@@ -21,22 +24,34 @@ public class MakeLimitOrder extends OrderMethod {
 	                      int quantity, OrderTransactionType orderType,
 	                      Configuration config)
     throws RobinhoodApiException, TickerNotFoundException {
-        super(config);
+        this(ticker, time, limitPrice, quantity, orderType, config,
+             RequestManager.getInstance(), InstrumentCatalog.getDefault(),
+             InstrumentCache.getDefault());
+    }
+
+	public MakeLimitOrder(String ticker, TimeInForce time, float limitPrice,
+	                      int quantity, OrderTransactionType orderType,
+	                      Configuration config,
+	                      RequestManager requestManager,
+	                      InstrumentCatalog instrumentCatalog,
+	                      InstrumentCache instrumentCache)
+    throws RobinhoodApiException, TickerNotFoundException {
+        super(config, requestManager, instrumentCatalog, instrumentCache);
         this.ticker = ticker;
         this.time = time;
         this.limitPrice = limitPrice;
         this.quantity = quantity;
         this.orderType = orderType;
 
+        //Verify the ticker, and add the instrument URL to be used for later
+        this.tickerInstrumentUrl = verifyTickerData(this.ticker);
+
         //Set the normal parameters for this endpoint
         setEndpointParameters();
 
-        //Set the order parameters
+        //Set the order parameters, which include the instrument URL
         setOrderParameters();
 
-        //Verify the ticker, and add the instrument URL to be used for later
-        this.tickerInstrumentUrl = verifyTickerData(this.ticker);
-
     }
 
 	/**
@@ -1,8 +1,11 @@
 package com.ampro.robinhood.endpoint.orders.methods;
 
 import com.ampro.robinhood.Configuration;
+import com.ampro.robinhood.endpoint.instrument.store.InstrumentCache;
+import com.ampro.robinhood.endpoint.instrument.store.InstrumentCatalog;
 import com.ampro.robinhood.endpoint.orders.enums.OrderTransactionType;
 import com.ampro.robinhood.endpoint.orders.enums.TimeInForce;
+import com.ampro.robinhood.net.request.RequestManager;
 import com.ampro.robinhood.throwables.RobinhoodApiException;
 import com.ampro.robinhood.throwables.TickerNotFoundException;
 
@@ -22,7 +25,19 @@ public class MakeLimitStopOrder extends OrderMethod {
                               int quantity, OrderTransactionType orderType,
                               float stopPrice, Configuration config)
     throws RobinhoodApiException, TickerNotFoundException {
-        super(config);
+        this(ticker, time, limitPrice, quantity, orderType, stopPrice, config,
+             RequestManager.getInstance(), InstrumentCatalog.getDefault(),
+             InstrumentCache.getDefault());
+    }
+
+    public MakeLimitStopOrder(String ticker, TimeInForce time, float limitPrice,
+                              int quantity, OrderTransactionType orderType,
+                              float stopPrice, Configuration config,
+                              RequestManager requestManager,
+                              InstrumentCatalog instrumentCatalog,
+                              InstrumentCache instrumentCache)
+    throws RobinhoodApiException, TickerNotFoundException {
+        super(config, requestManager, instrumentCatalog, instrumentCache);
         this.tickerInstrumentUrl = verifyTickerData(ticker);
         this.ticker = ticker;
         this.time = time;
@@ -1,8 +1,11 @@
 package com.ampro.robinhood.endpoint.orders.methods;
 
 import com.ampro.robinhood.Configuration;
+import com.ampro.robinhood.endpoint.instrument.store.InstrumentCache;
+import com.ampro.robinhood.endpoint.instrument.store.InstrumentCatalog;
 import com.ampro.robinhood.endpoint.orders.enums.OrderTransactionType;
 import com.ampro.robinhood.endpoint.orders.enums.TimeInForce;
+import com.ampro.robinhood.net.request.RequestManager;
 import com.ampro.robinhood.throwables.RobinhoodApiException;
 import com.ampro.robinhood.throwables.TickerNotFoundException;
 
@@ -22,22 +25,34 @@ public class MakeMarketStopOrder extends OrderMethod {
                                OrderTransactionType orderType, TimeInForce time,
                                float stopPrice, Configuration config)
     throws RobinhoodApiException, TickerNotFoundException {
-        super(config);
+        this(ticker, quantity, orderType, time, stopPrice, config,
+             RequestManager.getInstance(), InstrumentCatalog.getDefault(),
+             InstrumentCache.getDefault());
+    }
+
+    public MakeMarketStopOrder(String ticker, int quantity,
+                               OrderTransactionType orderType, TimeInForce time,
+                               float stopPrice, Configuration config,
+                               RequestManager requestManager,
+                               InstrumentCatalog instrumentCatalog,
+                               InstrumentCache instrumentCache)
+    throws RobinhoodApiException, TickerNotFoundException {
+        super(config, requestManager, instrumentCatalog, instrumentCache);
         this.ticker = ticker;
         this.quantity = quantity;
         this.orderType = orderType;
         this.time = time;
         this.stopPrice = stopPrice;
 
+        //Verify the ticker and add it to the instrument URL to be used for later
+        this.tickerInstrumentUrl = verifyTickerData(this.ticker);
+
         //Set the normal parameters for this endpoint
         setEndpointParameters();
 
-        //Set the order parameters
+        //Set the order parameters, which include the instrument URL
         setOrderParameters();
 
-        //Verify the ticker and add it to the instrument URL to be used for later
-        this.tickerInstrumentUrl = verifyTickerData(this.ticker);
-
     }
 
     /**
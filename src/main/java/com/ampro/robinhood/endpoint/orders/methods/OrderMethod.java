@@ -3,6 +3,9 @@ package com.ampro.robinhood.endpoint.orders.methods;
 import com.ampro.robinhood.Configuration;
 import com.ampro.robinhood.endpoint.fundamentals.data.TickerFundamentalElement;
 import com.ampro.robinhood.endpoint.fundamentals.methods.GetTickerFundamental;
+import com.ampro.robinhood.endpoint.instrument.data.InstrumentElement;
+import com.ampro.robinhood.endpoint.instrument.store.InstrumentCache;
+import com.ampro.robinhood.endpoint.instrument.store.InstrumentCatalog;
 import com.ampro.robinhood.endpoint.orders.data.SecurityOrderElement;
 import com.ampro.robinhood.endpoint.orders.enums.OrderTransactionType;
 import com.ampro.robinhood.endpoint.orders.enums.TimeInForce;
@@ -14,8 +17,34 @@ import com.ampro.robinhood.throwables.TickerNotFoundException;
 
 public class OrderMethod extends ApiMethod {
 
+	/** Sends the fundamentals request verifying the ticker */
+	private final RequestManager requestManager;
+
+	/** Resolves known tickers without any request, may be {@code null} */
+	private final InstrumentCatalog instrumentCatalog;
+
+	/** Resolves tickers seen before without any request */
+	private final InstrumentCache instrumentCache;
+
 	protected OrderMethod(Configuration config) {
+		this(config, RequestManager.getInstance(), InstrumentCatalog.getDefault(),
+		     InstrumentCache.getDefault());
+	}
+
+	/**
+	 * @param config The configuration of the logged in user
+	 * @param requestManager The manager verifying the ticker
+	 * @param instrumentCatalog The catalog the instrument url is looked up
+	 *                          in first, or {@code null}
+	 * @param instrumentCache The cache the instrument url is looked up in
+	 */
+	protected OrderMethod(Configuration config, RequestManager requestManager,
+	                      InstrumentCatalog instrumentCatalog,
+	                      InstrumentCache instrumentCache) {
 		super(config);
+		this.requestManager = requestManager;
+		this.instrumentCatalog = instrumentCatalog;
+		this.instrumentCache = instrumentCache;
 	}
 
 	/**
@@ -82,6 +111,11 @@ public class OrderMethod extends ApiMethod {
 	 * Verifies that the ticker is a valid one. If not, throw an error. This
 	 * method also supplies additional information of the Ticker symbol that
 	 * the order class is required to use.
+	 * <p>
+	 * Symbols already known to the {@link InstrumentCatalog} or the
+	 * {@link InstrumentCache} (see
+	 * {@link com.ampro.robinhood.RobinhoodApi#prewarmInstruments}) are
+	 * resolved without any request.
 	 * @return InstrumentURL to the class to be used in the request
 	 * @throws RobinhoodApiException
 	 * @throws TickerNotFoundException
@@ -89,9 +123,16 @@ public class OrderMethod extends ApiMethod {
 	protected String verifyTickerData(String ticker)
 	throws RobinhoodApiException, TickerNotFoundException {
 
-		//Make a Ticker Fundamental API request for the supplied ticker
-		RequestManager requestManager = RequestManager.getInstance();
+		InstrumentElement known = instrumentCatalog == null
+				? null : instrumentCatalog.findBySymbol(ticker);
+		if (known != null)
+			return known.getUrl();
 
+		String cachedUrl = instrumentCache.getUrlBySymbol(ticker);
+		if (cachedUrl != null)
+			return cachedUrl;
+
+		//Make a Ticker Fundamental API request for the supplied ticker
 		ApiMethod method = new GetTickerFundamental(ticker);
 
 		TickerFundamentalElement response = requestManager.makeApiRequest(method);
@@ -99,10 +140,12 @@ public class OrderMethod extends ApiMethod {
 		//Does the ticker have a valid Instrument URL?
         //If not, this ticker is invalid. Throw an error.
 		if (response.getInstrument() == null)
-			throw new TickerNotFoundException();
+			throw new TickerNotFoundException().with(ticker);
 
 		//Otherwise, supply the InstrumentURL to the class to be used in the request
-		return response.getInstrument().toString();
+		String instrumentUrl = response.getInstrument().toString();
+		instrumentCache.putUrl(ticker, instrumentUrl);
+		return instrumentUrl;
 
 	}
 
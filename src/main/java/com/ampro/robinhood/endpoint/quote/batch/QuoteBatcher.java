@@ -0,0 +1,246 @@
+package com.ampro.robinhood.endpoint.quote.batch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.ampro.robinhood.endpoint.quote.book.QuoteBook;
+import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElement;
+import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElementList;
+import com.ampro.robinhood.endpoint.quote.methods.GeneratedQuoteEndpoints;
+import com.ampro.robinhood.endpoint.quote.methods.QuoteEndpoints;
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.net.request.RequestManager;
+import com.ampro.robinhood.throwables.RobinhoodApiException;
+import com.ampro.robinhood.throwables.TickerNotFoundException;
+import com.ampro.robinhood.util.Futures;
+
+/**
+ * Merges single-ticker quote requests into
+ * {@link QuoteEndpoints#tickerQuoteList quote list} requests, so polling
+ * many symbols from many places costs a handful of requests instead of one
+ * per symbol.
+ * <p>
+ * The first ticker requested opens a batch which is sent once its window
+ * has passed, or as soon as it holds the maximum number of tickers. A
+ * ticker requested twice in the same batch is only sent once. Each caller
+ * gets the quote whose symbol matches its ticker (ignoring case), or a
+ * {@link TickerNotFoundException} if the response has no quote for it.
+ *
+ * @author Jonathan Augustine
+ */
+public class QuoteBatcher {
+
+    /** How long a batch collects tickers by default (millis) */
+    public static final long DEFAULT_WINDOW_MILLIS = 5;
+
+    /** Sends the batches of every batcher once their window has passed */
+    private static final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "robinhood-api-quote-batcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private static volatile QuoteBatcher defaultBatcher = new QuoteBatcher(
+            DEFAULT_WINDOW_MILLIS, ApiMethod.MAX_TICKERS
+    );
+
+    private final long windowNanos;
+
+    private final int maxBatchSize;
+
+    /** Sends the request for a batch, the quotes may come in any order */
+    private final Function<List<String>,
+            CompletableFuture<List<TickerQuoteElement>>> loader;
+
+    /** The tickers of the open batch and their callers, guarded by this */
+    private Map<String, CompletableFuture<TickerQuoteElement>> batch =
+            new LinkedHashMap<>();
+
+    /** Sends the open batch once its window has passed, guarded by this */
+    private ScheduledFuture<?> timer;
+
+    private final LongAdder requested = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    /**
+     * Create a batcher sending its requests through the shared
+     * {@link RequestManager}
+     * @param windowMillis How long a batch collects tickers before it is sent
+     * @param maxBatchSize The number of tickers which sends a batch at once,
+     *          at most {@link ApiMethod#MAX_TICKERS}
+     */
+    public QuoteBatcher(long windowMillis, int maxBatchSize) {
+        this(windowMillis, maxBatchSize,
+             tickers -> request(RequestManager.getInstance(), tickers));
+    }
+
+    /**
+     * Create a batcher sending its requests through the given manager
+     * @param windowMillis How long a batch collects tickers before it is sent
+     * @param maxBatchSize The number of tickers which sends a batch at once,
+     *          at most {@link ApiMethod#MAX_TICKERS}
+     * @param requestManager The manager sending the requests
+     */
+    public QuoteBatcher(long windowMillis, int maxBatchSize,
+                        RequestManager requestManager) {
+        this(windowMillis, maxBatchSize,
+             tickers -> request(requestManager, tickers));
+    }
+
+    QuoteBatcher(long windowMillis, int maxBatchSize,
+                 Function<List<String>,
+                         CompletableFuture<List<TickerQuoteElement>>> loader) {
+        if (maxBatchSize < 1 || maxBatchSize > ApiMethod.MAX_TICKERS) {
+            throw new IllegalArgumentException(
+                    "maxBatchSize must be between 1 and " + ApiMethod.MAX_TICKERS
+                            + ": " + maxBatchSize);
+        }
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.loader = loader;
+    }
+
+    private static CompletableFuture<List<TickerQuoteElement>> request(
+            RequestManager requestManager, List<String> tickers) {
+        ApiMethod method = GeneratedQuoteEndpoints.INSTANCE.tickerQuoteList(tickers);
+        return requestManager.<TickerQuoteElementList>makeApiRequestAsync(method)
+                             .thenApply(TickerQuoteElementList::getQuotes)
+                             .thenApply(quotes -> {
+                                 QuoteBook.getDefault().updateAll(quotes);
+                                 return quotes;
+                             });
+    }
+
+    /** @return The batcher used by the API for batched quotes */
+    public static QuoteBatcher getDefault() {
+        return defaultBatcher;
+    }
+
+    /** @param batcher The batcher for the API to use */
+    public static void setDefault(QuoteBatcher batcher) {
+        defaultBatcher = batcher;
+    }
+
+    /**
+     * Get the quote of a ticker with the next batch
+     * @param ticker The ticker (e.g. MSFT)
+     * @return The quote
+     * @throws TickerNotFoundException If the quote is not found
+     * @throws RobinhoodApiException If the batch request failed
+     */
+    public TickerQuoteElement getQuote(String ticker) throws RobinhoodApiException {
+        return Futures.join(getQuoteAsync(ticker));
+    }
+
+    /**
+     * Non-blocking version of {@link #getQuote(String)}
+     * @param ticker The ticker (e.g. MSFT)
+     * @return A {@link CompletableFuture} of the quote, completed
+     *          exceptionally with a {@link TickerNotFoundException} if the
+     *          quote is not found. Each caller gets its own, so cancelling it
+     *          does not affect other callers of the same ticker.
+     */
+    public CompletableFuture<TickerQuoteElement> getQuoteAsync(String ticker) {
+        requested.increment();
+        CompletableFuture<TickerQuoteElement> quote;
+        Map<String, CompletableFuture<TickerQuoteElement>> full = null;
+        synchronized (this) {
+            quote = batch.get(ticker);
+            if (quote == null) {
+                quote = new CompletableFuture<>();
+                batch.put(ticker, quote);
+                if (batch.size() >= maxBatchSize) {
+                    full = takeBatch();
+                } else if (timer == null) {
+                    timer = scheduler.schedule(this::flush, windowNanos,
+                                               TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+        //Send outside of the lock so other callers can open the next batch
+        if (full != null) {
+            send(full);
+        }
+        return quote.thenApply(Function.identity());
+    }
+
+    /** Send the open batch now instead of waiting for its window */
+    public void flush() {
+        Map<String, CompletableFuture<TickerQuoteElement>> open;
+        synchronized (this) {
+            open = takeBatch();
+        }
+        if (!open.isEmpty()) {
+            send(open);
+        }
+    }
+
+    /** Must hold the lock */
+    private Map<String, CompletableFuture<TickerQuoteElement>> takeBatch() {
+        Map<String, CompletableFuture<TickerQuoteElement>> open = batch;
+        batch = new LinkedHashMap<>();
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+        return open;
+    }
+
+    private void send(Map<String, CompletableFuture<TickerQuoteElement>> open) {
+        batches.increment();
+        List<String> tickers = new ArrayList<>(open.keySet());
+        CompletableFuture<List<TickerQuoteElement>> request;
+        try {
+            request = loader.apply(tickers);
+        } catch (RuntimeException e) {
+            request = Futures.failed(e);
+        }
+        request.whenComplete((quotes, error) -> {
+            if (error != null) {
+                Throwable cause = Futures.unwrap(error);
+                open.values().forEach(caller -> caller.completeExceptionally(cause));
+                return;
+            }
+            //Each quote names its own symbol, the order is not trusted
+            Map<String, TickerQuoteElement> bySymbol = new HashMap<>();
+            for (TickerQuoteElement quote : quotes) {
+                if (quote != null && quote.getSymbol() != null) {
+                    bySymbol.put(quote.getSymbol().toUpperCase(Locale.ROOT), quote);
+                }
+            }
+            open.forEach((ticker, caller) -> {
+                TickerQuoteElement quote =
+                        bySymbol.get(ticker.toUpperCase(Locale.ROOT));
+                if (quote == null) {
+                    caller.completeExceptionally(
+                            new TickerNotFoundException().with(ticker));
+                } else {
+                    caller.complete(quote);
+                }
+            });
+        });
+    }
+
+    /** @return How many quotes were requested from this batcher */
+    public long getRequestedCount() {
+        return requested.sum();
+    }
+
+    /** @return How many batch requests were sent */
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+}
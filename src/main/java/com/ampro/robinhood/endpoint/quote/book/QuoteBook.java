@@ -0,0 +1,285 @@
+package com.ampro.robinhood.endpoint.quote.book;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElement;
+
+/**
+ * The latest quote of every symbol, kept in a single {@code long} array so
+ * many threads can read prices without allocating or locking.
+ * <p>
+ * Each symbol is given a dense id the first time it is seen (see
+ * {@link #id(String)}); readers should look the id up once and keep it.
+ * The quote of an id is a slot of {@value #STRIDE} longs: a version, the
+ * bid, ask and last trade prices (as double bits), the bid and ask sizes,
+ * and the update time. A slot is written under a seqlock: its version is
+ * odd while it is being written, so
+ * {@link #read(int, QuoteSnapshot)} retries until it copies a slot whose
+ * version did not change. Single values are read directly, a 64-bit array
+ * element is never torn.
+ * <p>
+ * The book is filled by the quote requests of the API (see
+ * {@link #getDefault()}), or with {@link #update(TickerQuoteElement)}.
+ *
+ * @author Jonathan Augustine
+ */
+public class QuoteBook {
+
+    /** How many symbols the default book holds */
+    public static final int DEFAULT_CAPACITY = 16_384;
+
+    /** Longs per slot, padded to a whole 64 byte cache line */
+    static final int STRIDE = 8;
+
+    private static final int VERSION = 0;
+    private static final int BID_PRICE = 1;
+    private static final int ASK_PRICE = 2;
+    private static final int LAST_TRADE_PRICE = 3;
+    private static final int BID_SIZE = 4;
+    private static final int ASK_SIZE = 5;
+    private static final int UPDATED_AT = 6;
+
+    private static volatile QuoteBook defaultBook = new QuoteBook(DEFAULT_CAPACITY);
+
+    private final int capacity;
+
+    private final AtomicLongArray slots;
+
+    private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+    private final AtomicReferenceArray<String> symbols;
+
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    /**
+     * Create an empty book
+     * @param capacity The maximum number of symbols
+     */
+    public QuoteBook(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.slots = new AtomicLongArray(capacity * STRIDE);
+        this.symbols = new AtomicReferenceArray<>(capacity);
+    }
+
+    /** @return The book filled by the quote requests of the API */
+    public static QuoteBook getDefault() {
+        return defaultBook;
+    }
+
+    /** @param book The book for the API to fill */
+    public static void setDefault(QuoteBook book) {
+        defaultBook = book;
+    }
+
+    /**
+     * Get the id of a symbol, giving it the next free id if it has none
+     * @param symbol The ticker symbol (e.g. MSFT)
+     * @return The id of the symbol
+     * @throws IllegalStateException If the book holds as many symbols as
+     *          its capacity
+     */
+    public int id(String symbol) {
+        Integer id = ids.get(symbol);
+        if (id != null) {
+            return id;
+        }
+        return ids.computeIfAbsent(symbol, s -> {
+            int next = nextId.getAndIncrement();
+            if (next >= capacity) {
+                nextId.decrementAndGet();
+                throw new IllegalStateException(
+                        "The quote book is full (" + capacity + " symbols)");
+            }
+            symbols.set(next, s);
+            return next;
+        });
+    }
+
+    /**
+     * @param symbol The ticker symbol (e.g. MSFT)
+     * @return The id of the symbol, or -1 if it has none
+     */
+    public int find(String symbol) {
+        Integer id = ids.get(symbol);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @param id The id of a symbol
+     * @return The symbol, or {@code null} if the id is not used
+     */
+    public String symbol(int id) {
+        return id < 0 || id >= capacity ? null : symbols.get(id);
+    }
+
+    /**
+     * Store the quote of its symbol, replacing the previous one
+     * @param quote The quote
+     * @return The id of the symbol, -1 if the quote has no symbol or the
+     *          book is full
+     */
+    public int update(TickerQuoteElement quote) {
+        if (quote == null || quote.getSymbol() == null) {
+            return -1;
+        }
+        int id;
+        try {
+            id = id(quote.getSymbol());
+        } catch (IllegalStateException e) {
+            return -1;
+        }
+        update(id, quote.getBidPrice(), quote.getAskPrice(), quote.getLastTradePrice(),
+               quote.getBigSize(), quote.getAskSize(), parseTime(quote.getUpdatedAt()));
+        return id;
+    }
+
+    /**
+     * Store every quote of a list, see {@link #update(TickerQuoteElement)}
+     * @param quotes The quotes, which may contain {@code null}
+     */
+    public void updateAll(Iterable<TickerQuoteElement> quotes) {
+        for (TickerQuoteElement quote : quotes) {
+            update(quote);
+        }
+    }
+
+    /**
+     * Store the quote of a symbol id
+     * @param id The id of the symbol
+     * @param bidPrice The bid price
+     * @param askPrice The ask price
+     * @param lastTradePrice The last trade price
+     * @param bidSize The bid size
+     * @param askSize The ask size
+     * @param updatedAt When the quote was updated (epoch millis)
+     */
+    public void update(int id, double bidPrice, double askPrice, double lastTradePrice,
+                       long bidSize, long askSize, long updatedAt) {
+        int base = offset(id);
+        //Take the slot by making its version odd
+        long version;
+        do {
+            version = slots.get(base + VERSION);
+        } while ((version & 1) != 0
+                || !slots.compareAndSet(base + VERSION, version, version + 1));
+        slots.lazySet(base + BID_PRICE, Double.doubleToRawLongBits(bidPrice));
+        slots.lazySet(base + ASK_PRICE, Double.doubleToRawLongBits(askPrice));
+        slots.lazySet(base + LAST_TRADE_PRICE,
+                      Double.doubleToRawLongBits(lastTradePrice));
+        slots.lazySet(base + BID_SIZE, bidSize);
+        slots.lazySet(base + ASK_SIZE, askSize);
+        slots.lazySet(base + UPDATED_AT, updatedAt);
+        slots.set(base + VERSION, version + 2);
+    }
+
+    /**
+     * Copy the quote of a symbol id
+     * @param id The id of the symbol
+     * @param into The snapshot to fill
+     * @return {@code false} if the symbol has no quote yet
+     */
+    public boolean read(int id, QuoteSnapshot into) {
+        int base = offset(id);
+        while (true) {
+            long version = slots.get(base + VERSION);
+            if (version == 0) {
+                return false;
+            }
+            if ((version & 1) != 0) {
+                //Being written
+                continue;
+            }
+            long bid = slots.get(base + BID_PRICE);
+            long ask = slots.get(base + ASK_PRICE);
+            long last = slots.get(base + LAST_TRADE_PRICE);
+            long bidSize = slots.get(base + BID_SIZE);
+            long askSize = slots.get(base + ASK_SIZE);
+            long updatedAt = slots.get(base + UPDATED_AT);
+            if (slots.get(base + VERSION) == version) {
+                into.id = id;
+                into.bidPrice = Double.longBitsToDouble(bid);
+                into.askPrice = Double.longBitsToDouble(ask);
+                into.lastTradePrice = Double.longBitsToDouble(last);
+                into.bidSize = bidSize;
+                into.askSize = askSize;
+                into.updatedAt = updatedAt;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param id The id of a symbol
+     * @return Whether the symbol has a quote
+     */
+    public boolean hasQuote(int id) {
+        return slots.get(offset(id) + VERSION) != 0;
+    }
+
+    public double getBidPrice(int id) {
+        return Double.longBitsToDouble(slots.get(offset(id) + BID_PRICE));
+    }
+
+    public double getAskPrice(int id) {
+        return Double.longBitsToDouble(slots.get(offset(id) + ASK_PRICE));
+    }
+
+    public double getLastTradePrice(int id) {
+        return Double.longBitsToDouble(slots.get(offset(id) + LAST_TRADE_PRICE));
+    }
+
+    public long getBidSize(int id) {
+        return slots.get(offset(id) + BID_SIZE);
+    }
+
+    public long getAskSize(int id) {
+        return slots.get(offset(id) + ASK_SIZE);
+    }
+
+    /**
+     * @param id The id of a symbol
+     * @return When the quote of the symbol was updated (epoch millis), 0 if
+     *          it has none
+     */
+    public long getUpdatedAt(int id) {
+        return slots.get(offset(id) + UPDATED_AT);
+    }
+
+    /** @return How many symbols have an id */
+    public int size() {
+        return Math.min(nextId.get(), capacity);
+    }
+
+    /** @return The maximum number of symbols */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private int offset(int id) {
+        if (id < 0 || id >= capacity) {
+            throw new IndexOutOfBoundsException("No symbol id " + id);
+        }
+        return id * STRIDE;
+    }
+
+    private static long parseTime(String time) {
+        if (time == null) {
+            return 0;
+        }
+        try {
+            return Instant.parse(time).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+
+}
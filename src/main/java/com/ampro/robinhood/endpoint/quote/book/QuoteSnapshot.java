@@ -0,0 +1,58 @@
+package com.ampro.robinhood.endpoint.quote.book;
+
+/**
+ * A consistent copy of one quote of a {@link QuoteBook}. The same instance
+ * can be filled again and again by
+ * {@link QuoteBook#read(int, QuoteSnapshot)}, so reading quotes does not
+ * allocate.
+ *
+ * @author Jonathan Augustine
+ */
+public class QuoteSnapshot {
+
+    int id = -1;
+    double bidPrice;
+    double askPrice;
+    double lastTradePrice;
+    long bidSize;
+    long askSize;
+    long updatedAt;
+
+    /** @return The symbol id of the quote, -1 if nothing was read */
+    public int getId() {
+        return id;
+    }
+
+    public double getBidPrice() {
+        return bidPrice;
+    }
+
+    public double getAskPrice() {
+        return askPrice;
+    }
+
+    public double getLastTradePrice() {
+        return lastTradePrice;
+    }
+
+    public long getBidSize() {
+        return bidSize;
+    }
+
+    public long getAskSize() {
+        return askSize;
+    }
+
+    /** @return When Robinhood last updated the quote (epoch millis) */
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "[id: " + id + "; bid: " + bidSize + " @ " + bidPrice
+                + "; ask: " + askSize + " @ " + askPrice
+                + "; last: " + lastTradePrice + "; updated: " + updatedAt + "]";
+    }
+
+}
@@ -1,6 +1,13 @@
 package com.ampro.robinhood.endpoint.quote.data;
 
+import java.io.IOException;
+
 import com.ampro.robinhood.endpoint.ApiElement;
+import com.ampro.robinhood.net.json.JsonReaders;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * Created by SirensBell on 6/19/2017.
@@ -10,6 +17,7 @@ public class TickerQuoteElement implements ApiElement {
     private float ask_price;
     private int ask_size;
     private float bid_price;
+    @SerializedName("bid_size")
     private int big_size;
 
     private float last_trade_price;
@@ -73,4 +81,80 @@ public class TickerQuoteElement implements ApiElement {
         return updated_at;
     }
 
+    /**
+     * Reads the fields of a {@link TickerQuoteElement} by name instead of by
+     * reflection. Registered by
+     * {@link com.ampro.robinhood.net.json.ElementTypeAdapterFactory}.
+     */
+    public static final class GsonAdapter extends TypeAdapter<TickerQuoteElement> {
+
+        /** Gson's reflective adapter, used for writing */
+        private final TypeAdapter<TickerQuoteElement> delegate;
+
+        public GsonAdapter(TypeAdapter<TickerQuoteElement> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public TickerQuoteElement read(JsonReader in) throws IOException {
+            if (!JsonReaders.beginObject(in)) {
+                return null;
+            }
+            TickerQuoteElement quote = new TickerQuoteElement();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "ask_price":
+                        quote.ask_price = JsonReaders.nextFloat(in, quote.ask_price);
+                        break;
+                    case "ask_size":
+                        quote.ask_size = JsonReaders.nextInt(in, quote.ask_size);
+                        break;
+                    case "bid_price":
+                        quote.bid_price = JsonReaders.nextFloat(in, quote.bid_price);
+                        break;
+                    case "bid_size":
+                        quote.big_size = JsonReaders.nextInt(in, quote.big_size);
+                        break;
+                    case "last_trade_price":
+                        quote.last_trade_price = JsonReaders.nextFloat(
+                                in, quote.last_trade_price);
+                        break;
+                    case "last_extended_hours_trade_price":
+                        quote.last_extended_hours_trade_price = JsonReaders.nextFloat(
+                                in, quote.last_extended_hours_trade_price);
+                        break;
+                    case "previous_close":
+                        quote.previous_close = JsonReaders.nextFloat(
+                                in, quote.previous_close);
+                        break;
+                    case "adjusted_previous_close":
+                        quote.adjusted_previous_close = JsonReaders.nextFloat(
+                                in, quote.adjusted_previous_close);
+                        break;
+                    case "previous_close_date":
+                        quote.previous_close_date = JsonReaders.nextString(in);
+                        break;
+                    case "symbol":
+                        quote.symbol = JsonReaders.nextString(in);
+                        break;
+                    case "trading_halted":
+                        quote.trading_halted = JsonReaders.nextBoolean(
+                                in, quote.trading_halted);
+                        break;
+                    case "updated_at":
+                        quote.updated_at = JsonReaders.nextString(in);
+                        break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return quote;
+        }
+
+        @Override
+        public void write(JsonWriter out, TickerQuoteElement value) throws IOException {
+            delegate.write(out, value);
+        }
+    }
+
 }
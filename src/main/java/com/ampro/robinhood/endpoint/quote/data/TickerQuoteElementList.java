@@ -1,16 +1,14 @@
 package com.ampro.robinhood.endpoint.quote.data;
 
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
+import com.ampro.robinhood.binding.JsonElement;
 import com.ampro.robinhood.endpoint.ApiElement;
 import com.ampro.robinhood.endpoint.ApiElementList;
 import com.ampro.robinhood.endpoint.quote.methods.GetTickerQuoteList;
-import com.google.gson.annotations.Expose;
-import com.google.gson.annotations.SerializedName;
 
 /**
  * A list of {@link TickerQuoteElement TickerQuoteElements} that Robinhood
@@ -18,27 +16,28 @@ import com.google.gson.annotations.SerializedName;
  * This ElementList can contain a a maximum of 1,630 quotes and is
  * Semi-Paginated (meaning there is no next/previous like other ElemenetLists)
  * which is why it an {@link ApiElement} and not an {@link ApiElementList}
+ * <p>
+ * Implemented and decoded without reflection by the generated
+ * {@code GeneratedTickerQuoteElementList}.
  * @author Jonathan Augustine
  */
-public class TickerQuoteElementList
-implements ApiElement, Iterable<TickerQuoteElement> {
+@JsonElement
+public interface TickerQuoteElementList
+extends ApiElement, Iterable<TickerQuoteElement> {
 
-    @SerializedName("results")
-    @Expose
-    private List<TickerQuoteElement> results;
+    /** @return The quotes as sent by Robinhood, {@code null} if none were */
+    List<TickerQuoteElement> getResults();
 
     /** @return An unmodifieable list of {@link TickerQuoteElement quotes} */
-    public List<TickerQuoteElement> getQuotes() {
-        results = results == null ? new ArrayList<>() : results;
-        return Collections.unmodifiableList(results);
+    default List<TickerQuoteElement> getQuotes() {
+        List<TickerQuoteElement> results = getResults();
+        return results == null ? Collections.emptyList()
+                               : Collections.unmodifiableList(results);
     }
 
     @Override
-    public boolean requiresAuth() { return false; }
-
-    @Override
-    public Iterator<TickerQuoteElement> iterator() {
-        return this.results.iterator();
+    default Iterator<TickerQuoteElement> iterator() {
+        return getQuotes().iterator();
     }
 
 }
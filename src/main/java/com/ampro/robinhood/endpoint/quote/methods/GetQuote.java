@@ -2,6 +2,7 @@ package com.ampro.robinhood.endpoint.quote.methods;
 
 
 import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.net.RequestTemplate;
 import com.ampro.robinhood.Configuration;
 import com.ampro.robinhood.net.request.RequestMethod;
 
@@ -16,4 +17,9 @@ public class GetQuote extends ApiMethod {
         //This method is ran as GET
         this.setMethodType(RequestMethod.GET);
     }
+
+    /** @param template The shared parts of the request */
+    protected GetQuote(RequestTemplate template) {
+        super(Configuration.getDefault(), template);
+    }
 }
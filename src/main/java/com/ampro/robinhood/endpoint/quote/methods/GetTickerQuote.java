@@ -1,17 +1,21 @@
 package com.ampro.robinhood.endpoint.quote.methods;
 
 import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElement;
+import com.ampro.robinhood.net.RequestTemplate;
+import com.ampro.robinhood.net.request.RequestMethod;
 
 /**
  * Created by SirensBell on 6/19/2017.
  */
 public class GetTickerQuote extends GetQuote {
 
+    private static final RequestTemplate TEMPLATE = new RequestTemplate(
+            RequestMethod.GET, "https://api.robinhood.com/quotes/{ticker}/",
+            TickerQuoteElement.class, false
+    );
+
     public GetTickerQuote(String ticker) {
-        super();
-        this.setUrlBase("https://api.robinhood.com/quotes/{ticker}/");
+        super(TEMPLATE);
         addRouteParameter("ticker", ticker);
-        //Declare what the response should look like
-        this.setReturnType(TickerQuoteElement.class);
     }
 }
@@ -2,6 +2,7 @@ package com.ampro.robinhood.endpoint.quote.methods;
 
 
 import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElementList;
+import com.ampro.robinhood.net.RequestTemplate;
 import com.ampro.robinhood.net.request.RequestMethod;
 import com.ampro.robinhood.throwables.RequestTooLargeException;
 
@@ -19,6 +20,11 @@ import java.util.Collection;
  */
 public class GetTickerQuoteList extends GetQuote {
 
+    private static final RequestTemplate TEMPLATE = new RequestTemplate(
+            RequestMethod.GET, "https://api.robinhood.com/quotes/",
+            TickerQuoteElementList.class, false
+    );
+
     /**
      * Construct a method to get multiple security quotes by tickers
      * (e.g. MSFT, FIT, etc). <br>
@@ -30,24 +36,14 @@ public class GetTickerQuoteList extends GetQuote {
      */
     public GetTickerQuoteList(Collection<String> tickers)
     throws RequestTooLargeException {
-        super();
+        super(TEMPLATE);
         if (tickers.size() > MAX_TICKERS) {
             throw new RequestTooLargeException(
                     "Ticker request must be under " + MAX_TICKERS
             );
         }
-        this.setUrlBase("https://api.robinhood.com/quotes/");
-        //Reform the collection as a url param
-        //replaceAll("[\\[\\]\\s+]", "") replaces "[]" and empty spaces
-        // in collection.toString
-        addQueryParameter("symbols", tickers.toString().replaceAll("[\\[\\]\\s+]", ""));
-
-        //This method is ran as GET
-        this.setMethodType(RequestMethod.GET);
-
-        //Declare what the response should look like
-        this.setReturnType(TickerQuoteElementList.class);
-
+        //Reform the collection as a comma separated url param
+        addQueryParameter("symbols", String.join(",", tickers));
     }
 
 }
@@ -0,0 +1,40 @@
+package com.ampro.robinhood.endpoint.quote.methods;
+
+import java.util.Collection;
+
+import com.ampro.robinhood.binding.ApiEndpoints;
+import com.ampro.robinhood.binding.Endpoint;
+import com.ampro.robinhood.binding.Query;
+import com.ampro.robinhood.binding.Route;
+import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElement;
+import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElementList;
+import com.ampro.robinhood.net.ApiMethod;
+
+/**
+ * The quote requests, implemented at compile time by
+ * {@code GeneratedQuoteEndpoints}. They build the same requests as
+ * {@link GetTickerQuote} and {@link GetTickerQuoteList}, and are the ones
+ * sent by the API, the quote batcher and the quote stream.
+ *
+ * @author Jonathan Augustine
+ */
+@ApiEndpoints
+public interface QuoteEndpoints {
+
+    /**
+     * @param ticker The ticker (e.g. MSFT)
+     * @return A method returning a {@link TickerQuoteElement}
+     */
+    @Endpoint(url = "https://api.robinhood.com/quotes/{ticker}/",
+              returns = TickerQuoteElement.class)
+    ApiMethod tickerQuote(@Route("ticker") String ticker);
+
+    /**
+     * @param tickers At most {@link ApiMethod#MAX_TICKERS} tickers
+     * @return A method returning a {@link TickerQuoteElementList}
+     */
+    @Endpoint(url = "https://api.robinhood.com/quotes/",
+              returns = TickerQuoteElementList.class)
+    ApiMethod tickerQuoteList(@Query("symbols") Collection<String> tickers);
+
+}
@@ -0,0 +1,26 @@
+package com.ampro.robinhood.endpoint.quote.stream;
+
+import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElement;
+
+/**
+ * Receives the quotes of a {@link QuoteStream} which changed since they
+ * were last polled. Each listener is called on its own executor, one call
+ * at a time.
+ *
+ * @author Jonathan Augustine
+ */
+@FunctionalInterface
+public interface QuoteListener {
+
+    /**
+     * @param quote The new quote of a watched ticker
+     */
+    void onQuote(TickerQuoteElement quote);
+
+    /**
+     * Called when a poll failed. The stream keeps polling.
+     * @param error The cause of the failure
+     */
+    default void onError(Throwable error) {}
+
+}
@@ -0,0 +1,419 @@
+package com.ampro.robinhood.endpoint.quote.stream;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ampro.robinhood.endpoint.quote.book.QuoteBook;
+import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElement;
+import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElementList;
+import com.ampro.robinhood.endpoint.quote.methods.GeneratedQuoteEndpoints;
+import com.ampro.robinhood.endpoint.quote.methods.QuoteEndpoints;
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.net.request.RequestManager;
+import com.ampro.robinhood.util.Futures;
+
+/**
+ * Polls the quotes of a set of watched tickers with
+ * {@link QuoteEndpoints#tickerQuoteList quote list} requests of up to
+ * {@link ApiMethod#MAX_TICKERS} tickers, and pushes the quotes which changed
+ * to the registered {@link QuoteListener QuoteListeners}.
+ * <p>
+ * A quote has changed when its {@code updated_at}, prices or halted state
+ * differ from the last quote of the ticker. The requests of a poll queue
+ * behind the {@code quotes} rate limit of the {@link RequestManager}, and a
+ * poll is skipped while the previous one is still running.
+ * <p>
+ * Each listener is called on its own executor and only ever holds the
+ * latest undelivered quote of each ticker: a slow listener skips the
+ * quotes it could not keep up with instead of stalling the polling or the
+ * other listeners.
+ *
+ * @author Jonathan Augustine
+ */
+public class QuoteStream implements AutoCloseable {
+
+    private static final Logger log = Logger.getLogger(QuoteStream.class.getName());
+
+    /** How often the watched tickers are polled by default (millis) */
+    public static final long DEFAULT_INTERVAL_MILLIS = 1_000;
+
+    private final long intervalMillis;
+
+    /** Sends the request for a chunk, quotes in the order of the tickers */
+    private final Function<List<String>,
+            CompletableFuture<List<TickerQuoteElement>>> loader;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Set<String> watched = ConcurrentHashMap.newKeySet();
+
+    /** The last quote of each watched ticker */
+    private final ConcurrentMap<String, TickerQuoteElement> last =
+            new ConcurrentHashMap<>();
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /** Whether a poll is running */
+    private final AtomicBoolean polling = new AtomicBoolean();
+
+    private ScheduledFuture<?> task;
+
+    private final LongAdder polls = new LongAdder();
+    private final LongAdder changes = new LongAdder();
+
+    /**
+     * Create a stream polling through the shared {@link RequestManager}
+     * @param intervalMillis How long to wait between the start of two polls
+     */
+    public QuoteStream(long intervalMillis) {
+        this(intervalMillis,
+             tickers -> request(RequestManager.getInstance(), tickers));
+    }
+
+    /**
+     * Create a stream polling through the given manager
+     * @param intervalMillis How long to wait between the start of two polls
+     * @param requestManager The manager sending the requests
+     */
+    public QuoteStream(long intervalMillis, RequestManager requestManager) {
+        this(intervalMillis, tickers -> request(requestManager, tickers));
+    }
+
+    QuoteStream(long intervalMillis,
+                Function<List<String>,
+                        CompletableFuture<List<TickerQuoteElement>>> loader) {
+        if (intervalMillis < 1) {
+            throw new IllegalArgumentException(
+                    "intervalMillis must be positive: " + intervalMillis);
+        }
+        this.intervalMillis = intervalMillis;
+        this.loader = loader;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "robinhood-api-quote-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static CompletableFuture<List<TickerQuoteElement>> request(
+            RequestManager requestManager, List<String> tickers) {
+        ApiMethod method = GeneratedQuoteEndpoints.INSTANCE.tickerQuoteList(tickers);
+        return requestManager.<TickerQuoteElementList>makeApiRequestAsync(method)
+                             .thenApply(TickerQuoteElementList::getQuotes)
+                             .thenApply(quotes -> {
+                                 QuoteBook.getDefault().updateAll(quotes);
+                                 return quotes;
+                             });
+    }
+
+    /**
+     * Add tickers to the watch set
+     * @param tickers The tickers (e.g. MSFT, FIT)
+     */
+    public void watch(Collection<String> tickers) {
+        watched.addAll(tickers);
+    }
+
+    /**
+     * Remove tickers from the watch set
+     * @param tickers The tickers (e.g. MSFT, FIT)
+     */
+    public void unwatch(Collection<String> tickers) {
+        watched.removeAll(tickers);
+        last.keySet().removeAll(tickers);
+    }
+
+    /** @return An unmodifiable view of the watched tickers */
+    public Set<String> getWatched() {
+        return Collections.unmodifiableSet(watched);
+    }
+
+    /**
+     * @param ticker The ticker (e.g. MSFT)
+     * @return The last quote polled for the ticker, or {@code null}
+     */
+    public TickerQuoteElement getLastQuote(String ticker) {
+        return last.get(ticker);
+    }
+
+    /**
+     * Register a listener called on a thread of its own
+     * @param listener The listener
+     * @return The subscription of the listener
+     */
+    public Subscription addListener(QuoteListener listener) {
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "robinhood-api-quote-listener");
+            thread.setDaemon(true);
+            return thread;
+        });
+        return subscribe(new Subscription(listener, executor, executor));
+    }
+
+    /**
+     * Register a listener called on the given executor
+     * @param listener The listener
+     * @param executor The executor the listener is called on
+     * @return The subscription of the listener
+     */
+    public Subscription addListener(QuoteListener listener, Executor executor) {
+        return subscribe(new Subscription(listener, executor, null));
+    }
+
+    private Subscription subscribe(Subscription subscription) {
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Stop calling a listener. Quotes already queued for it are dropped.
+     * @param subscription The subscription of the listener
+     */
+    public void removeListener(Subscription subscription) {
+        if (subscriptions.remove(subscription)) {
+            subscription.close();
+        }
+    }
+
+    /** Start polling the watched tickers */
+    public synchronized void start() {
+        if (task == null) {
+            task = scheduler.scheduleAtFixedRate(this::pollIfIdle, 0,
+                                                 intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Stop polling. The stream can be started again. */
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    /** Stop polling and release the threads of the stream and its listeners */
+    @Override
+    public void close() {
+        stop();
+        scheduler.shutdown();
+        for (Subscription subscription : subscriptions) {
+            removeListener(subscription);
+        }
+    }
+
+    private void pollIfIdle() {
+        if (polling.compareAndSet(false, true)) {
+            poll().whenComplete((nothing, error) -> polling.set(false));
+        }
+    }
+
+    /**
+     * Poll the watched tickers once and notify the listeners of the quotes
+     * which changed
+     * @return A {@link CompletableFuture} completed once every chunk of
+     *          tickers has been polled
+     */
+    public CompletableFuture<Void> poll() {
+        polls.increment();
+        List<String> tickers = new ArrayList<>(watched);
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int i = 0; i < tickers.size(); i += ApiMethod.MAX_TICKERS) {
+            List<String> chunk = tickers.subList(
+                    i, Math.min(tickers.size(), i + ApiMethod.MAX_TICKERS));
+            CompletableFuture<List<TickerQuoteElement>> request;
+            try {
+                request = loader.apply(chunk);
+            } catch (RuntimeException e) {
+                request = Futures.failed(e);
+            }
+            chunks.add(request.handle((quotes, error) -> {
+                if (error != null) {
+                    publishError(Futures.unwrap(error));
+                } else {
+                    quotes.forEach(this::update);
+                }
+                return null;
+            }));
+        }
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]));
+    }
+
+    private void update(TickerQuoteElement quote) {
+        //Tickers not found come back as null
+        if (quote == null || quote.getSymbol() == null
+                || !watched.contains(quote.getSymbol())) {
+            return;
+        }
+        TickerQuoteElement previous = last.put(quote.getSymbol(), quote);
+        if (previous == null || hasChanged(previous, quote)) {
+            changes.increment();
+            for (Subscription subscription : subscriptions) {
+                subscription.offer(quote);
+            }
+        }
+    }
+
+    static boolean hasChanged(TickerQuoteElement previous, TickerQuoteElement quote) {
+        return !Objects.equals(previous.getUpdatedAt(), quote.getUpdatedAt())
+                || previous.getLastTradePrice() != quote.getLastTradePrice()
+                || previous.getLastExtendedHoursTradePrice()
+                        != quote.getLastExtendedHoursTradePrice()
+                || previous.getAskPrice() != quote.getAskPrice()
+                || previous.getBidPrice() != quote.getBidPrice()
+                || previous.isTradingHalted() != quote.isTradingHalted();
+    }
+
+    private void publishError(Throwable error) {
+        log.log(Level.FINE, "Quote poll failed", error);
+        for (Subscription subscription : subscriptions) {
+            subscription.offerError(error);
+        }
+    }
+
+    /** @return How many polls were started */
+    public long getPollCount() {
+        return polls.sum();
+    }
+
+    /** @return How many changed quotes were found */
+    public long getChangeCount() {
+        return changes.sum();
+    }
+
+    /**
+     * A listener of the stream, with the latest undelivered quote of each
+     * ticker. Only one delivery task per listener is queued on its executor
+     * at a time.
+     */
+    public static final class Subscription {
+
+        private final QuoteListener listener;
+
+        private final Executor executor;
+
+        /** The executor created for the listener, shut down with it */
+        private final ExecutorService owned;
+
+        /** Guarded by this */
+        private Map<String, TickerQuoteElement> pending = new LinkedHashMap<>();
+
+        /** Guarded by this */
+        private Throwable error;
+
+        /** Whether a delivery task is queued or running, guarded by this */
+        private boolean scheduled;
+
+        private volatile boolean closed;
+
+        private final LongAdder dropped = new LongAdder();
+
+        Subscription(QuoteListener listener, Executor executor, ExecutorService owned) {
+            this.listener = listener;
+            this.executor = executor;
+            this.owned = owned;
+        }
+
+        void offer(TickerQuoteElement quote) {
+            synchronized (this) {
+                if (pending.put(quote.getSymbol(), quote) != null) {
+                    dropped.increment();
+                }
+            }
+            schedule();
+        }
+
+        void offerError(Throwable error) {
+            synchronized (this) {
+                this.error = error;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            synchronized (this) {
+                if (scheduled || closed) {
+                    return;
+                }
+                scheduled = true;
+            }
+            try {
+                executor.execute(this::deliver);
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    scheduled = false;
+                }
+                log.log(Level.WARNING, "Quote listener executor rejected delivery", e);
+            }
+        }
+
+        private void deliver() {
+            while (!closed) {
+                Map<String, TickerQuoteElement> quotes;
+                Throwable failure;
+                synchronized (this) {
+                    if (pending.isEmpty() && error == null) {
+                        scheduled = false;
+                        return;
+                    }
+                    quotes = pending;
+                    failure = error;
+                    pending = new LinkedHashMap<>();
+                    error = null;
+                }
+                try {
+                    if (failure != null) {
+                        listener.onError(failure);
+                    }
+                    for (TickerQuoteElement quote : quotes.values()) {
+                        listener.onQuote(quote);
+                    }
+                } catch (RuntimeException e) {
+                    log.log(Level.WARNING, "Quote listener failed", e);
+                }
+            }
+        }
+
+        void close() {
+            closed = true;
+            if (owned != null) {
+                owned.shutdown();
+            }
+        }
+
+        /** @return The listener called with the quotes */
+        public QuoteListener getListener() {
+            return listener;
+        }
+
+        /**
+         * @return How many quotes were replaced by a newer quote of the same
+         *          ticker before the listener received them
+         */
+        public long getDroppedCount() {
+            return dropped.sum();
+        }
+    }
+
+}
@@ -5,13 +5,16 @@ import com.ampro.robinhood.net.request.RequestMethod;
 import com.ampro.robinhood.throwables.RobinhoodNotLoggedInException;
 
 import java.lang.reflect.Type;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 
 /**
- * A Wrapper object for making REST requests through
- * {@link io.github.openunirest.http.Unirest}
+ * A Wrapper object for making REST requests through a
+ * {@link com.ampro.robinhood.net.transport.HttpTransport}.
+ * The parts shared by every call come from a {@link RequestTemplate}; the
+ * parameter maps are only allocated once a value is added to them.
  * @author Conrad Weisse, Modified by Jonathan Augustine
  */
 public abstract class ApiMethod {
@@ -19,42 +22,71 @@ public abstract class ApiMethod {
 	public static int MAX_TICKERS = 1630;
 
 	protected final Configuration config;
+
+	/** The shared parts of the request */
+	private final RequestTemplate template;
+
 	private String urlBase;
 
+	/** The compiled {@link #urlBase} when it is not the template's */
+	private UrlTemplate urlTemplate;
+
 	/** Default request methodType is GET*/
-	private RequestMethod methodType = RequestMethod.GET;
+	private RequestMethod methodType;
 
 	/** The return type for the request */
-	private Type returnType = null;
+	private Type returnType;
 
 	/**
 	 * A flag for the methodType specifying if it requires an AuthToken for the
      * user in order to be ran.
 	 */
-	private boolean requireToken = false;
+	private boolean requireToken;
 
-    /** {@link HashMap} containing all of Header Parameters */
-    private final HashMap<String, String> headerParameters = new HashMap<>();
+    /** Header Parameters, the template's own until one is added */
+    private Map<String, String> headerParameters;
 
     /**
-     * {@link HashMap} of Route key-value pairs
+     * Route key-value pairs
      * (written in the {@link ApiMethod#urlBase} as http://url.com/{routeKey}
      */
-    private final HashMap<String, String> routeParameters = new HashMap<>();
+    private Map<String, String> routeParameters = Collections.emptyMap();
 
-    /** {@link HashMap} of Query key-value pairs */
-    private final HashMap<String, Object> queryParameters = new HashMap<>();
+    /** Query key-value pairs */
+    private Map<String, Object> queryParameters = Collections.emptyMap();
 
-    /** {@link HashMap} of Field key-value pairs */
-    private final HashMap<String, Object> fieldParameters = new HashMap<>();
+    /** Field key-value pairs */
+    private Map<String, Object> fieldParameters = Collections.emptyMap();
 
     /**
      * Constructor which stores the service which is being used
      * @param config A {@link Configuration}
      */
     protected ApiMethod(Configuration config) {
-        addHeaderParameter("Accept", "application/json");
+        this(config, RequestTemplate.EMPTY);
+    }
+
+    /**
+     * Constructor starting from a shared {@link RequestTemplate}
+     * @param config A {@link Configuration}
+     * @param template The base URL, method, return type and headers
+     */
+    protected ApiMethod(Configuration config, RequestTemplate template) {
         this.config = config;
+        this.template = template;
+        this.urlBase = template.getBaseUrl();
+        this.methodType = template.getMethodType();
+        this.returnType = template.getReturnType();
+        this.requireToken = template.requiresToken();
+        this.headerParameters = template.getHeaders();
+    }
+
+    /**
+     * @param map A parameter map
+     * @return The map if it is this method's own, else a copy of it
+     */
+    private static <V> Map<String, V> writable(Map<String, V> map) {
+        return map instanceof HashMap ? map : new HashMap<>(map);
     }
 
     /**
@@ -64,6 +96,7 @@ public abstract class ApiMethod {
      * @author Jonathan Augustine
      */
 	protected void addHeaderParameter(String key, String value) {
+	    headerParameters = writable(headerParameters);
 	    headerParameters.put(key, value);
     }
 
@@ -73,6 +106,7 @@ public abstract class ApiMethod {
      * @author Jonathan Augustine
      */
     protected void addHeaderParameters(Map<String, String> paramMap) {
+        this.headerParameters = writable(headerParameters);
         this.headerParameters.putAll(paramMap);
     }
 
@@ -83,6 +117,7 @@ public abstract class ApiMethod {
      * @param value The value to map
      */
     protected void addRouteParameter(String key, String value) {
+        this.routeParameters = writable(routeParameters);
         this.routeParameters.put(key, value);
     }
 
@@ -92,6 +127,7 @@ public abstract class ApiMethod {
      * @param paramMap A String-String map of Key-Val pairs
      */
     protected void addRoutParameters(Map<String, String> paramMap) {
+        this.routeParameters = writable(routeParameters);
         this.routeParameters.putAll(paramMap);
     }
 
@@ -101,6 +137,7 @@ public abstract class ApiMethod {
      * @param value The value to map
      */
     protected void addQueryParameter(String key, Object value) {
+        this.queryParameters = writable(queryParameters);
         this.queryParameters.put(key, value);
     }
 
@@ -109,6 +146,7 @@ public abstract class ApiMethod {
      * @param paramMap A {@link Map} of String keys and Object values
      */
     protected void addQueryParameters(Map<String, Object> paramMap) {
+        this.queryParameters = writable(queryParameters);
         this.queryParameters.putAll(paramMap);
     }
 
@@ -118,6 +156,7 @@ public abstract class ApiMethod {
      * @param val The value to map
      */
     protected void addFieldParameter(String key, Object val) {
+        this.fieldParameters = writable(fieldParameters);
         this.fieldParameters.put(key, val);
     }
 
@@ -126,6 +165,7 @@ public abstract class ApiMethod {
      * @param paramMap A String-Object map of Key-Val pairs
      */
     protected void addFieldParameters(Map<String, Object> paramMap) {
+        this.fieldParameters = writable(fieldParameters);
         this.fieldParameters.putAll(paramMap);
     }
 
@@ -135,7 +175,7 @@ public abstract class ApiMethod {
      *              If the user is not logged in.
 	 */
 	public void addAuthTokenParameter() throws RobinhoodNotLoggedInException {
-		addHeaderParameter("Authorization", "Token " + this.config.getToken());
+		addHeaderParameter("Authorization", this.config.getAuthorization());
 	}
 
 	/**
@@ -146,13 +186,16 @@ public abstract class ApiMethod {
 		return this.requireToken;
 	}
 
-    /** @return the header parameters of the method */
-    public HashMap<String, String> getHeaderParameters() {
+    /**
+     * @return the header parameters of the method, which may be shared with
+     *         its {@link RequestTemplate} and must not be modified
+     */
+    public Map<String, String> getHeaderParameters() {
         return this.headerParameters;
     }
 
 	/** @return The route parameters of the method */
-	public HashMap<String, String> getRouteParameters() {
+	public Map<String, String> getRouteParameters() {
         return routeParameters;
     }
 
@@ -179,6 +222,35 @@ public abstract class ApiMethod {
 		return this.urlBase;
 	}
 
+	/**
+	 * @return The base URL compiled into a {@link UrlTemplate}, shared with
+	 *         the {@link RequestTemplate} unless the URL was replaced
+	 */
+	public UrlTemplate getUrlTemplate() {
+		String url = this.urlBase;
+		if (url != null && url == template.getBaseUrl()) {
+			return template.getUrlTemplate();
+		}
+		if (this.urlTemplate == null) {
+			this.urlTemplate = UrlTemplate.compile(url);
+		}
+		return this.urlTemplate;
+	}
+
+	/**
+	 * The endpoint family of the method, used to pick its rate limiting
+	 * bucket. This is the first path segment of the base URL
+	 * (e.g. {@code quotes} for {@code https://api.robinhood.com/quotes/{ticker}/}).
+	 * @return The endpoint family, or {@code "default"} if the URL has no path
+	 */
+	public String getEndpointFamily() {
+		//The template has parsed it already unless the URL was replaced
+		String url = this.urlBase;
+		return url == template.getBaseUrl()
+				? template.getEndpointFamily()
+				: RequestTemplate.endpointFamily(url);
+	}
+
 	/**
 	 * Method to set the request to require an AuthToken
 	 */
@@ -207,6 +279,7 @@ public abstract class ApiMethod {
 	 */
 	protected void setUrlBase(String urlBase) {
 		this.urlBase = urlBase;
+		this.urlTemplate = null;
 	}
 
 	/**
@@ -0,0 +1,144 @@
+package com.ampro.robinhood.net;
+
+import com.ampro.robinhood.net.request.RequestMethod;
+import com.ampro.robinhood.net.request.ratelimiting.RateLimiter;
+
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The parts of an {@link ApiMethod} that are the same for every call: the
+ * base URL, compiled into a {@link UrlTemplate}, the request method, return
+ * type and fixed headers. A template is immutable, so one can be built
+ * once per endpoint and shared by every thread; each {@link ApiMethod} built
+ * from it only binds its own route, query and field values and copies the
+ * headers only if it adds one.
+ *
+ * @author Jonathan Augustine
+ */
+public final class RequestTemplate {
+
+    /** The template of methods that set everything themselves */
+    static final RequestTemplate EMPTY =
+            new RequestTemplate(RequestMethod.GET, null, null, false);
+
+    private final RequestMethod methodType;
+    private final String urlBase;
+    private final Type returnType;
+    private final boolean requiresToken;
+
+    /** Unmodifiable, always holding at least the {@code Accept} header */
+    private final Map<String, String> headers;
+
+    /** Parsed once, the rate limiter asks for it on every request */
+    private final String endpointFamily;
+
+    /** The compiled base URL, {@code null} if there is none */
+    private final UrlTemplate urlTemplate;
+
+    /**
+     * Build a template sending {@code Accept: application/json}
+     * @param methodType The request method
+     * @param urlBase The base URL, including any route parameter keys
+     *                (e.g. {@code https://api.robinhood.com/quotes/{ticker}/})
+     * @param returnType The type the response is read as
+     * @param requiresToken {@code true} if the request needs a logged in
+     *                      {@link com.ampro.robinhood.Configuration}
+     */
+    public RequestTemplate(RequestMethod methodType, String urlBase,
+                           Type returnType, boolean requiresToken) {
+        this(methodType, urlBase, returnType, requiresToken,
+             Collections.singletonMap("Accept", "application/json"));
+    }
+
+    private RequestTemplate(RequestMethod methodType, String urlBase,
+                            Type returnType, boolean requiresToken,
+                            Map<String, String> headers) {
+        this.methodType = methodType;
+        this.urlBase = urlBase;
+        this.returnType = returnType;
+        this.requiresToken = requiresToken;
+        this.headers = headers;
+        this.endpointFamily = endpointFamily(urlBase);
+        this.urlTemplate = urlBase == null ? null : UrlTemplate.compile(urlBase);
+    }
+
+    /**
+     * @param key The header name
+     * @param value The header value
+     * @return A copy of this template also sending the header
+     */
+    public RequestTemplate withHeader(String key, String value) {
+        Map<String, String> copy = new HashMap<>(headers);
+        copy.put(key, value);
+        return new RequestTemplate(methodType, urlBase, returnType,
+                                   requiresToken, Collections.unmodifiableMap(copy));
+    }
+
+    /** @return The request {@link RequestMethod} */
+    public RequestMethod getMethodType() {
+        return methodType;
+    }
+
+    /** @return The base URL with any route parameter keys */
+    public String getBaseUrl() {
+        return urlBase;
+    }
+
+    /** @return The compiled base URL, {@code null} if there is none */
+    public UrlTemplate getUrlTemplate() {
+        return urlTemplate;
+    }
+
+    /** @return The type the response is read as */
+    public Type getReturnType() {
+        return returnType;
+    }
+
+    /** @return {@code true} if the request needs an authorization token */
+    public boolean requiresToken() {
+        return requiresToken;
+    }
+
+    /** @return The unmodifiable headers sent with every request */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /** @return The endpoint family of the base URL */
+    public String getEndpointFamily() {
+        return endpointFamily;
+    }
+
+    /**
+     * The first path segment of a URL
+     * (e.g. {@code quotes} for {@code https://api.robinhood.com/quotes/{ticker}/}).
+     * @param url The URL, may be {@code null}
+     * @return The endpoint family, or {@code "default"} if the URL has no path
+     */
+    static String endpointFamily(String url) {
+        if (url == null) {
+            return RateLimiter.DEFAULT_FAMILY;
+        }
+        int start = url.indexOf("://");
+        start = url.indexOf('/', start < 0 ? 0 : start + 3);
+        if (start < 0) {
+            return RateLimiter.DEFAULT_FAMILY;
+        }
+        int end = start + 1;
+        while (end < url.length() && "/?{".indexOf(url.charAt(end)) < 0) {
+            end++;
+        }
+        return end > start + 1
+                ? url.substring(start + 1, end)
+                : RateLimiter.DEFAULT_FAMILY;
+    }
+
+    @Override
+    public String toString() {
+        return methodType + " " + urlBase;
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.ampro.robinhood.net;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A base URL parsed once into its literal text and {@code {route}}
+ * placeholders, so a request URL is rendered by appending segments instead
+ * of searching and replacing every route key on every request.
+ * A template is immutable and can be shared by every thread.
+ *
+ * @author Jonathan Augustine
+ */
+public final class UrlTemplate {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    /** The text around the placeholders, one more than there are names */
+    private final String[] literals;
+
+    /** The route key of each placeholder */
+    private final String[] names;
+
+    /** {@code true} if the URL already has a query string */
+    private final boolean hasQuery;
+
+    private UrlTemplate(String[] literals, String[] names, boolean hasQuery) {
+        this.literals = literals;
+        this.names = names;
+        this.hasQuery = hasQuery;
+    }
+
+    /**
+     * Parse a base URL. A {@code {} without a closing {@code }} is kept as
+     * literal text.
+     * @param url The base URL, including any route parameter keys
+     *            (e.g. {@code https://api.robinhood.com/quotes/{ticker}/})
+     * @return The compiled template
+     */
+    public static UrlTemplate compile(String url) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int start = 0;
+        int open = url.indexOf('{');
+        while (open >= 0) {
+            int close = url.indexOf('}', open + 1);
+            if (close < 0) {
+                break;
+            }
+            literals.add(url.substring(start, open));
+            names.add(url.substring(open + 1, close));
+            start = close + 1;
+            open = url.indexOf('{', start);
+        }
+        literals.add(url.substring(start));
+        return new UrlTemplate(literals.toArray(new String[0]),
+                               names.toArray(new String[0]),
+                               url.indexOf('?') >= 0);
+    }
+
+    /**
+     * Append the URL with its route values percent-encoded. Placeholders
+     * without a value are written back as {@code {name}}.
+     * @param routes The route values by key
+     * @param out The buffer to append to
+     * @return The buffer
+     */
+    public StringBuilder render(Map<String, String> routes, StringBuilder out) {
+        out.append(literals[0]);
+        for (int i = 0; i < names.length; i++) {
+            String value = routes.isEmpty() ? null : routes.get(names[i]);
+            if (value == null) {
+                out.append('{').append(names[i]).append('}');
+            } else {
+                encode(value, out);
+            }
+            out.append(literals[i + 1]);
+        }
+        return out;
+    }
+
+    /** @return {@code true} if query parameters are joined with {@code &} */
+    public boolean hasQuery() {
+        return hasQuery;
+    }
+
+    /** @return The number of route placeholders */
+    public int getPlaceholderCount() {
+        return names.length;
+    }
+
+    /**
+     * Percent-encode the UTF-8 bytes of a value, keeping only the
+     * unreserved characters of RFC 3986 ({@code A-Z a-z 0-9 - . _ ~}).
+     * Spaces become {@code %20}, never {@code +}.
+     * @param value The value to encode
+     * @param out The buffer to append to
+     */
+    public static void encode(CharSequence value, StringBuilder out) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (isUnreserved(c)) {
+                out.append(c);
+                continue;
+            }
+            int codePoint = c;
+            if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                codePoint = Character.toCodePoint(c, value.charAt(++i));
+            } else if (Character.isSurrogate(c)) {
+                //Unpaired, written as '?' like String.getBytes does
+                codePoint = '?';
+            }
+            if (codePoint < 0x80) {
+                hex(codePoint, out);
+            } else if (codePoint < 0x800) {
+                hex(0xC0 | codePoint >> 6, out);
+                hex(0x80 | codePoint & 0x3F, out);
+            } else if (codePoint < 0x10000) {
+                hex(0xE0 | codePoint >> 12, out);
+                hex(0x80 | codePoint >> 6 & 0x3F, out);
+                hex(0x80 | codePoint & 0x3F, out);
+            } else {
+                hex(0xF0 | codePoint >> 18, out);
+                hex(0x80 | codePoint >> 12 & 0x3F, out);
+                hex(0x80 | codePoint >> 6 & 0x3F, out);
+                hex(0x80 | codePoint & 0x3F, out);
+            }
+        }
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+                || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+    private static void hex(int octet, StringBuilder out) {
+        out.append('%').append(HEX[octet >> 4]).append(HEX[octet & 0xF]);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder url = new StringBuilder(literals[0]);
+        for (int i = 0; i < names.length; i++) {
+            url.append('{').append(names[i]).append('}').append(literals[i + 1]);
+        }
+        return url.toString();
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.ampro.robinhood.net.json;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+import com.ampro.robinhood.endpoint.account.data.PositionElement;
+import com.ampro.robinhood.endpoint.instrument.data.InstrumentElement;
+import com.ampro.robinhood.endpoint.orders.data.Execution;
+import com.ampro.robinhood.endpoint.orders.data.SecurityOrderElement;
+import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElement;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Provides the hand-written {@link TypeAdapter TypeAdapters} of the elements
+ * decoded most often, which read their fields with a {@code switch} on the
+ * field name instead of Gson's reflective binding. Unknown fields are
+ * skipped and primitives are not boxed.
+ * <p>
+ * Only reading is hand-written: elements are written by Gson's reflective
+ * adapter. Subclasses of the elements are left to Gson as well.
+ * <p>
+ * The codecs generated for {@code @JsonElement} interfaces are listed in
+ * {@code META-INF/services/com.google.gson.TypeAdapterFactory} and loaded
+ * once, when the factory is created.
+ *
+ * @author Jonathan Augustine
+ */
+public class ElementTypeAdapterFactory implements TypeAdapterFactory {
+
+    /** The factories of the generated element codecs */
+    private final TypeAdapterFactory[] generated;
+
+    public ElementTypeAdapterFactory() {
+        List<TypeAdapterFactory> factories = new ArrayList<>();
+        ClassLoader loader = ElementTypeAdapterFactory.class.getClassLoader();
+        for (TypeAdapterFactory factory
+                : ServiceLoader.load(TypeAdapterFactory.class, loader)) {
+            factories.add(factory);
+        }
+        this.generated = factories.toArray(new TypeAdapterFactory[0]);
+    }
+
+    /** @return A {@link Gson} using the element adapters */
+    public static Gson createGson() {
+        return new GsonBuilder()
+                .registerTypeAdapterFactory(new ElementTypeAdapterFactory())
+                .create();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> raw = type.getRawType();
+        if (raw == TickerQuoteElement.class) {
+            return (TypeAdapter<T>) new TickerQuoteElement.GsonAdapter(
+                    delegate(gson, TickerQuoteElement.class));
+        } else if (raw == InstrumentElement.class) {
+            return (TypeAdapter<T>) new InstrumentElement.GsonAdapter(
+                    delegate(gson, InstrumentElement.class),
+                    gson.getAdapter(Object.class));
+        } else if (raw == PositionElement.class) {
+            return (TypeAdapter<T>) new PositionElement.GsonAdapter(
+                    delegate(gson, PositionElement.class));
+        } else if (raw == SecurityOrderElement.class) {
+            return (TypeAdapter<T>) new SecurityOrderElement.GsonAdapter(
+                    delegate(gson, SecurityOrderElement.class),
+                    gson.getAdapter(Execution.class));
+        } else if (raw == Execution.class) {
+            return (TypeAdapter<T>) new Execution.GsonAdapter(
+                    delegate(gson, Execution.class));
+        }
+        for (TypeAdapterFactory factory : generated) {
+            TypeAdapter<T> adapter = factory.create(gson, type);
+            if (adapter != null) {
+                return adapter;
+            }
+        }
+        return null;
+    }
+
+    /** @return The reflective adapter Gson would otherwise use for the type */
+    private <E> TypeAdapter<E> delegate(Gson gson, Class<E> type) {
+        return gson.getDelegateAdapter(this, TypeToken.get(type));
+    }
+
+}
@@ -0,0 +1,179 @@
+package com.ampro.robinhood.net.json;
+
+import java.io.IOException;
+import java.net.URL;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Reads single values from a {@link JsonReader} the same way Gson's
+ * built-in adapters do, without boxing primitives. Used by the hand-written
+ * element adapters registered by {@link ElementTypeAdapterFactory} and by
+ * the generated {@code @JsonElement} codecs.
+ *
+ * @author Jonathan Augustine
+ */
+public final class JsonReaders {
+
+    private JsonReaders() {}
+
+    /**
+     * @param in The reader
+     * @return The next string, number or boolean as a string, or
+     *          {@code null}
+     * @throws IOException If the value could not be read
+     */
+    public static String nextString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        } else if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    /**
+     * @param in The reader
+     * @param current The value to keep if the next value is {@code null}
+     * @return The next number (or numeric string)
+     * @throws IOException If the value could not be read
+     */
+    public static float nextFloat(JsonReader in, float current) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return current;
+        }
+        try {
+            return (float) in.nextDouble();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /**
+     * @param in The reader
+     * @param current The value to keep if the next value is {@code null}
+     * @return The next number (or numeric string)
+     * @throws IOException If the value could not be read
+     */
+    public static double nextDouble(JsonReader in, double current) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return current;
+        }
+        try {
+            return in.nextDouble();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /**
+     * @param in The reader
+     * @param current The value to keep if the next value is {@code null}
+     * @return The next integer (or integer string)
+     * @throws IOException If the value could not be read
+     */
+    public static long nextLong(JsonReader in, long current) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return current;
+        }
+        try {
+            return in.nextLong();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /**
+     * @param in The reader
+     * @param current The value to keep if the next value is {@code null}
+     * @return The next integer (or integer string)
+     * @throws IOException If the value could not be read
+     */
+    public static int nextInt(JsonReader in, int current) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return current;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /**
+     * @param in The reader
+     * @return The next integer (or integer string), or {@code null}
+     * @throws IOException If the value could not be read
+     */
+    public static Integer nextInteger(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return nextInt(in, 0);
+    }
+
+    /**
+     * @param in The reader
+     * @param current The value to keep if the next value is {@code null}
+     * @return The next boolean (or boolean string)
+     * @throws IOException If the value could not be read
+     */
+    public static boolean nextBoolean(JsonReader in, boolean current) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return current;
+        } else if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+
+    /**
+     * @param in The reader
+     * @return The next boolean (or boolean string), or {@code null}
+     * @throws IOException If the value could not be read
+     */
+    public static Boolean nextBooleanObject(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return nextBoolean(in, false);
+    }
+
+    /**
+     * @param in The reader
+     * @return The next url, or {@code null}
+     * @throws IOException If the value could not be read or is not a url
+     */
+    public static URL nextUrl(JsonReader in) throws IOException {
+        String url = nextString(in);
+        return url == null || "null".equals(url) ? null : new URL(url);
+    }
+
+    /**
+     * Start reading an object, or consume a {@code null}
+     * @param in The reader
+     * @return {@code false} if the value was {@code null}
+     * @throws IOException If the value could not be read
+     */
+    public static boolean beginObject(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return false;
+        }
+        in.beginObject();
+        return true;
+    }
+
+}
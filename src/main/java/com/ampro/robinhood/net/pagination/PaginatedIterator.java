@@ -13,7 +13,7 @@ public class PaginatedIterator<T extends ApiElement> implements Iterator<T> {
 
     private final Configuration config;
 
-    private final RequestManager requestManager = RequestManager.getInstance();
+    private final RequestManager requestManager;
 
     private ApiElementList<?> apiElementList;
 
@@ -22,16 +22,19 @@ public class PaginatedIterator<T extends ApiElement> implements Iterator<T> {
     private int currentIndex;
 
     public PaginatedIterator(ApiElementList<T> start) {
-        this.apiElementList = start;
-        this.currentList = start.getResults();
-        this.config = Configuration.getDefault();
-        this.currentIndex = 0;
+        this(start, Configuration.getDefault());
     }
 
     public PaginatedIterator(ApiElementList<T> start, Configuration config) {
+        this(start, config, RequestManager.getInstance());
+    }
+
+    public PaginatedIterator(ApiElementList<T> start, Configuration config,
+                             RequestManager requestManager) {
         this.apiElementList = start;
         this.currentList = start.getResults();
         this.config = config;
+        this.requestManager = requestManager;
         this.currentIndex = 0;
     }
 
@@ -0,0 +1,134 @@
+package com.ampro.robinhood.net.pagination;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import com.ampro.robinhood.Configuration;
+import com.ampro.robinhood.endpoint.ApiElement;
+import com.ampro.robinhood.endpoint.ApiElementList;
+import com.ampro.robinhood.net.request.RequestManager;
+import com.ampro.robinhood.throwables.RobinhoodApiException;
+
+/**
+ * A {@link Spliterator} over every element of a paginated
+ * {@link ApiElementList}. Pages are only requested once the elements before
+ * them have been consumed, so a short-circuiting stream (e.g.
+ * {@code filter(...).findFirst()}) stops fetching as soon as it is done.
+ * <p>
+ * {@link #trySplit()} hands off the rest of the current page, so a parallel
+ * stream processes one page per split while this spliterator goes on to
+ * fetch the next page.
+ *
+ * @author Jonathan Augustine
+ */
+public class PaginatedSpliterator<T extends ApiElement> implements Spliterator<T> {
+
+    private final Configuration config;
+
+    private final RequestManager requestManager;
+
+    private ApiElementList<T> apiElementList;
+
+    private List<T> currentList;
+
+    private int currentIndex;
+
+    public PaginatedSpliterator(ApiElementList<T> start) {
+        this(start, Configuration.getDefault());
+    }
+
+    public PaginatedSpliterator(ApiElementList<T> start, Configuration config) {
+        this(start, config, RequestManager.getInstance());
+    }
+
+    public PaginatedSpliterator(ApiElementList<T> start, Configuration config,
+                                RequestManager requestManager) {
+        this.config = config;
+        this.requestManager = requestManager;
+        this.apiElementList = start;
+        this.currentList = start.getResults();
+        this.currentIndex = 0;
+    }
+
+    /**
+     * @throws IllegalStateException If the next page could not be loaded
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        while (true) {
+            while (currentIndex < currentList.size()) {
+                T element = currentList.get(currentIndex++);
+                if (element != null) {
+                    action.accept(element);
+                    return true;
+                }
+            }
+            if (!loadNextList()) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Split off the rest of the current page, or the next page if the
+     * current one has been consumed.
+     * @throws IllegalStateException If the next page could not be loaded
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        if (currentIndex >= currentList.size() && !loadNextList()) {
+            return null;
+        }
+        List<T> rest = new ArrayList<>(currentList.size() - currentIndex);
+        for (int i = currentIndex; i < currentList.size(); i++) {
+            if (currentList.get(i) != null) {
+                rest.add(currentList.get(i));
+            }
+        }
+        currentIndex = currentList.size();
+        return rest.spliterator();
+    }
+
+    /**
+     * @return The number of elements left on the current page if it is the
+     *          last page, {@link Long#MAX_VALUE} (unknown) otherwise
+     */
+    @Override
+    public long estimateSize() {
+        return apiElementList.getNext() == null
+                ? currentList.size() - currentIndex
+                : Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    /**
+     * Loads the next page in the paginated list & REPLACES THE CURRENT LIST
+     * @return {@code false} if there is no next page
+     */
+    private boolean loadNextList() {
+        if (apiElementList.getNext() == null) {
+            return false;
+        }
+        try {
+            GetNextPage method = this.apiElementList.requiresAuth()
+                    ? new GetNextPage(this.apiElementList, config)
+                    : new GetNextPage(this.apiElementList);
+            ApiElementList<T> newElementList = requestManager.makeApiRequest(method);
+            this.apiElementList = newElementList;
+            this.currentList = newElementList.getResults();
+            this.currentIndex = 0;
+            return true;
+        } catch (RobinhoodApiException e) {
+            throw new IllegalStateException("Failed to load the next page", e);
+        }
+    }
+
+}
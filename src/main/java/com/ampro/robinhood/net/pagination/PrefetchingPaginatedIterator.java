@@ -0,0 +1,165 @@
+package com.ampro.robinhood.net.pagination;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+
+import com.ampro.robinhood.Configuration;
+import com.ampro.robinhood.endpoint.ApiElement;
+import com.ampro.robinhood.endpoint.ApiElementList;
+import com.ampro.robinhood.net.request.RequestManager;
+import com.ampro.robinhood.throwables.RobinhoodApiException;
+import com.ampro.robinhood.throwables.RobinhoodNotLoggedInException;
+import com.ampro.robinhood.util.Futures;
+
+/**
+ * A {@link PaginatedIterator} alternative that loads pages ahead of the
+ * consumer. As soon as a page is handed out, the following pages (up to the
+ * look-ahead depth) are requested in the background, so the consumer only
+ * stalls at a page boundary if it is faster than the network.
+ * <p>
+ * If a page fails to load, {@link #next()} throws and the page is requested
+ * again by the following call.
+ * <p>
+ * Like any {@link Iterator}, this should be used from one thread at a time.
+ *
+ * @author Jonathan Augustine
+ */
+public class PrefetchingPaginatedIterator<T extends ApiElement>
+implements Iterator<T> {
+
+    /** The default number of pages loaded ahead of the consumer */
+    public static final int DEFAULT_DEPTH = 2;
+
+    private final Configuration config;
+
+    private final RequestManager requestManager;
+
+    /** How many pages to load ahead of the current one */
+    private final int depth;
+
+    /**
+     * The pages being loaded, in order. A page completes with {@code null}
+     * if the page before it was the last one
+     */
+    private final Deque<CompletableFuture<ApiElementList<T>>> pending
+            = new ArrayDeque<>();
+
+    private ApiElementList<T> apiElementList;
+
+    private List<T> currentList;
+
+    private int currentIndex;
+
+    public PrefetchingPaginatedIterator(ApiElementList<T> start, int depth) {
+        this(start, Configuration.getDefault(), depth);
+    }
+
+    public PrefetchingPaginatedIterator(ApiElementList<T> start,
+                                        Configuration config, int depth) {
+        this(start, config, RequestManager.getInstance(), depth);
+    }
+
+    public PrefetchingPaginatedIterator(ApiElementList<T> start,
+                                        Configuration config,
+                                        RequestManager requestManager,
+                                        int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Depth must be at least 1");
+        }
+        this.config = config;
+        this.requestManager = requestManager;
+        this.depth = depth;
+        this.apiElementList = start;
+        this.currentList = start.getResults();
+        this.currentIndex = 0;
+        prefetch();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return currentIndex < currentList.size()
+                || apiElementList.getNext() != null;
+    }
+
+    /**
+     * @throws IllegalStateException If the next page could not be loaded
+     */
+    @Override
+    public T next() {
+        while (currentIndex >= currentList.size()) {
+            if (apiElementList.getNext() == null) {
+                throw new NoSuchElementException();
+            }
+            try {
+                //This swaps in the prefetched page & resets the current index
+                loadNextList();
+            } catch (RobinhoodApiException e) {
+                throw new IllegalStateException("Failed to load the next page", e);
+            }
+        }
+        return currentList.get(currentIndex++);
+    }
+
+    /**
+     * Replace the current page with the first prefetched one and start
+     * loading another page in its place
+     */
+    private void loadNextList() throws RobinhoodApiException {
+        //Empty after a failed page, request it again
+        prefetch();
+        ApiElementList<T> next;
+        try {
+            next = Futures.join(pending.poll());
+        } catch (RobinhoodApiException e) {
+            //The rest of the chain was built on the failed page
+            pending.clear();
+            throw e;
+        }
+        if (next == null) {
+            throw new RobinhoodApiException("ElementList has no next page.");
+        }
+        this.apiElementList = next;
+        this.currentList = next.getResults();
+        this.currentIndex = 0;
+        prefetch();
+    }
+
+    /** Keep {@link #depth} pages loading ahead of the current page */
+    private void prefetch() {
+        while (pending.size() < depth) {
+            CompletableFuture<ApiElementList<T>> last = pending.isEmpty()
+                    ? CompletableFuture.completedFuture(apiElementList)
+                    : pending.peekLast();
+            //Stop once the last page is known to be the end of the list
+            if (last.isDone() && !last.isCompletedExceptionally()
+                    && (last.join() == null || last.join().getNext() == null)) {
+                return;
+            }
+            pending.add(last.thenCompose(this::requestNextPage));
+        }
+    }
+
+    /**
+     * @param page A page
+     * @return The page after it, or {@code null} if it is the last page
+     */
+    private CompletableFuture<ApiElementList<T>>
+    requestNextPage(ApiElementList<T> page) {
+        if (page == null || page.getNext() == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            GetNextPage method = page.requiresAuth()
+                    ? new GetNextPage(page, config)
+                    : new GetNextPage(page);
+            return requestManager.makeApiRequestAsync(method);
+        } catch (RobinhoodNotLoggedInException e) {
+            return Futures.failed(e);
+        }
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.ampro.robinhood.net.request;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.ampro.robinhood.throwables.PartialResultException;
+import com.ampro.robinhood.throwables.RobinhoodApiException;
+import com.ampro.robinhood.util.Futures;
+
+/**
+ * Runs a request over more keys (tickers) than one API call accepts by
+ * splitting the keys into chunks and running the chunks concurrently, with
+ * at most a fixed number of chunks in flight at once.
+ * <p>
+ * Results are merged back in the order of the keys, so each chunk must
+ * return exactly one result per key, in key order; a chunk returning any
+ * other number of results fails. If any chunk fails, the returned future
+ * fails with a {@link PartialResultException} that carries the merged
+ * results of every other chunk.
+ *
+ * @param <V> The type of a single result
+ * @author Jonathan Augustine
+ */
+public class ChunkedRequest<V> {
+
+    /** The default number of chunks in flight at once */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    private final List<List<String>> chunks;
+
+    private final Function<List<String>, CompletableFuture<List<V>>> call;
+
+    private BiConsumer<List<String>, List<V>> chunkListener;
+
+    /**
+     * @param keys The keys to request
+     * @param chunkSize The most keys a single call accepts
+     * @param call Makes the call for one chunk of keys
+     */
+    public ChunkedRequest(Collection<String> keys, int chunkSize,
+                          Function<List<String>, CompletableFuture<List<V>>> call) {
+        this.chunks = partition(keys, chunkSize);
+        this.call = call;
+    }
+
+    /**
+     * Be notified of each chunk's results as soon as they arrive
+     * @param chunkListener Called with the keys and results of each chunk
+     *                      that succeeds
+     * @return this
+     */
+    public ChunkedRequest<V> onChunk(BiConsumer<List<String>, List<V>> chunkListener) {
+        this.chunkListener = chunkListener;
+        return this;
+    }
+
+    /** @return The chunks the keys were split into */
+    public List<List<String>> getChunks() {
+        return this.chunks;
+    }
+
+    /**
+     * Run every chunk
+     * @param maxInFlight The most chunks to have in flight at once
+     * @return The results of all chunks, in key order
+     */
+    public CompletableFuture<List<V>> execute(int maxInFlight) {
+        return new Execution(maxInFlight).result;
+    }
+
+    /**
+     * Split the keys into chunks of (at most) the given size
+     * @param keys The keys to split
+     * @param size The maximum size of a chunk
+     * @return The chunks, in key order
+     */
+    public static List<List<String>> partition(Collection<String> keys, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        List<String> all = new ArrayList<>(keys);
+        List<List<String>> chunks = new ArrayList<>((all.size() + size - 1) / size);
+        for (int i = 0; i < all.size(); i += size) {
+            chunks.add(Collections.unmodifiableList(
+                    all.subList(i, Math.min(all.size(), i + size))
+            ));
+        }
+        return chunks;
+    }
+
+    /** The state of a single run of the chunks */
+    private final class Execution {
+
+        private final CompletableFuture<List<V>> result = new CompletableFuture<>();
+
+        private final AtomicReferenceArray<List<V>> results
+                = new AtomicReferenceArray<>(chunks.size());
+
+        /** Keyed by chunk index, chunks of equal keys must not collide */
+        private final Map<Integer, Throwable> failures
+                = new ConcurrentHashMap<>();
+
+        private final AtomicInteger next = new AtomicInteger();
+
+        private final AtomicInteger remaining = new AtomicInteger(chunks.size());
+
+        private Execution(int maxInFlight) {
+            if (chunks.isEmpty()) {
+                result.complete(new ArrayList<>());
+                return;
+            }
+            for (int i = 0; i < Math.max(1, maxInFlight); i++) {
+                runNext();
+            }
+        }
+
+        /** Start the next chunk that has not been started, if any */
+        private void runNext() {
+            int index = next.getAndIncrement();
+            if (index >= chunks.size()) {
+                return;
+            }
+            List<String> chunk = chunks.get(index);
+            CompletableFuture<List<V>> future;
+            try {
+                future = call.apply(chunk);
+            } catch (RuntimeException ex) {
+                future = Futures.failed(ex);
+            }
+            future.whenComplete((values, ex) -> {
+                if (ex != null) {
+                    failures.put(index, Futures.unwrap(ex));
+                } else if (values == null || values.size() != chunk.size()) {
+                    //Merging would shift every later result onto the wrong key
+                    failures.put(index, new RobinhoodApiException(
+                            "Chunk " + index + " returned "
+                                    + (values == null ? 0 : values.size())
+                                    + " results for " + chunk.size() + " keys"
+                    ));
+                } else {
+                    results.set(index, values);
+                    try {
+                        if (chunkListener != null) {
+                            chunkListener.accept(chunk, values);
+                        }
+                    } catch (RuntimeException listenerEx) {
+                        failures.put(index, listenerEx);
+                    }
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    finish();
+                } else {
+                    runNext();
+                }
+            });
+        }
+
+        /** Merge the chunks in key order and complete the result */
+        private void finish() {
+            List<V> merged = new ArrayList<>();
+            for (int i = 0; i < chunks.size(); i++) {
+                List<V> values = results.get(i);
+                if (values != null) {
+                    merged.addAll(values);
+                } else {
+                    //Keep the positions of the failed chunk's keys
+                    merged.addAll(Collections.nCopies(chunks.get(i).size(), null));
+                }
+            }
+            if (failures.isEmpty()) {
+                result.complete(merged);
+            } else {
+                result.completeExceptionally(
+                        new PartialResultException(merged, chunks, failures)
+                );
+            }
+        }
+
+    }
+
+}
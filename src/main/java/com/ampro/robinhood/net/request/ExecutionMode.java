@@ -0,0 +1,110 @@
+package com.ampro.robinhood.net.request;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * How a {@link RequestManager} runs its asynchronous requests and the tasks
+ * given to {@link RequestManager#getExecutor()}.
+ *
+ * @author Jonathan Augustine
+ */
+public enum ExecutionMode {
+
+    /**
+     * Asynchronous requests are sent with the transport's non-blocking
+     * client and executor tasks run on a bounded pool of daemon threads
+     */
+    PLATFORM,
+
+    /**
+     * Asynchronous requests are sent by blocking a virtual thread each and
+     * every executor task gets its own virtual thread, so thousands of
+     * blocking calls can run at once. Requires Java 21 or later.
+     */
+    VIRTUAL;
+
+    /** How long an idle platform worker is kept */
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    /**
+     * {@code Thread.ofVirtual()}, looked up at runtime so the library still
+     * compiles and runs on Java 8
+     */
+    private static final Method OF_VIRTUAL = findOfVirtual();
+
+    private static Method findOfVirtual() {
+        try {
+            return Thread.class.getMethod("ofVirtual");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /** @return {@code true} if the mode can be used on this JVM */
+    public boolean isAvailable() {
+        return this == PLATFORM || OF_VIRTUAL != null;
+    }
+
+    /**
+     * Build the executor of the mode
+     * @param platformThreads The most threads a {@link #PLATFORM} executor
+     *                        runs at once
+     * @return The executor
+     * @throws UnsupportedOperationException If the mode is not available
+     */
+    ExecutorService newExecutor(int platformThreads) {
+        if (this == PLATFORM) {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                    platformThreads, platformThreads,
+                    KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), daemonThreads()
+            );
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+        if (!isAvailable()) {
+            throw new UnsupportedOperationException(
+                    "Virtual threads require Java 21 or later"
+            );
+        }
+        try {
+            //Thread.ofVirtual().name("robinhood-api-virtual-", 0).factory()
+            Object builder = OF_VIRTUAL.invoke(null);
+            Class<?> type = Class.forName("java.lang.Thread$Builder");
+            builder = type.getMethod("name", String.class, long.class)
+                          .invoke(builder, "robinhood-api-virtual-", 0L);
+            ThreadFactory factory =
+                    (ThreadFactory) type.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class
+                    .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(
+                    "Failed to build the virtual thread executor", e.getCause()
+            );
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(
+                    "Failed to build the virtual thread executor", e
+            );
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable,
+                    "robinhood-api-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
@@ -2,145 +2,752 @@ package com.ampro.robinhood.net.request;
 
 import static java.lang.Void.TYPE;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
-import org.apache.commons.io.IOUtils;
-import org.apache.http.impl.client.HttpClients;
-
+import com.ampro.robinhood.Configuration;
 import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.net.json.ElementTypeAdapterFactory;
+import com.ampro.robinhood.net.request.metrics.RequestListener;
+import com.ampro.robinhood.net.request.metrics.RequestMetrics;
+import com.ampro.robinhood.net.request.ratelimiting.RateLimit;
+import com.ampro.robinhood.net.request.ratelimiting.RateLimiter;
+import com.ampro.robinhood.net.transport.ConnectionPoolStats;
+import com.ampro.robinhood.net.transport.HttpTransport;
+import com.ampro.robinhood.net.transport.HttpTransports;
+import com.ampro.robinhood.net.transport.TransportConfig;
+import com.ampro.robinhood.net.transport.TransportResponse;
+import com.ampro.robinhood.net.transport.UnirestTransport;
 import com.ampro.robinhood.throwables.RobinhoodApiException;
+import com.ampro.robinhood.util.Futures;
 import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonReader;
 
-import io.github.openunirest.http.HttpResponse;
-import io.github.openunirest.http.JsonNode;
-import io.github.openunirest.http.Unirest;
-import io.github.openunirest.http.exceptions.UnirestException;
-import io.github.openunirest.request.HttpRequest;
 
 /**
- * Singleton for making HTTP(S) requests with {@link ApiMethod}
+ * Makes HTTP(S) requests with {@link ApiMethod ApiMethods}.
+ * <p>
+ * {@link #getInstance()} is shared by default. A manager built with
+ * {@link #create(TransportConfig)} has a connection pool, rate limiter and
+ * executor of its own, so the traffic of one tenant cannot starve another.
  * @author Conrad Weise, modified by Jonathan Augustine
  */
-public class RequestManager {
+public class RequestManager implements Closeable {
+
+    /** Thread-safe once built, shared by every request */
+    private static final Gson gson = ElementTypeAdapterFactory.createGson();
+
+    /** HTTP status sent by Robinhood when it is throttling the client */
+    private static final int TOO_MANY_REQUESTS = 429;
 
-    private static Gson gson = new Gson();
+    /** How many times a rate-limited request is retried before failing */
+    private static final int MAX_RETRIES = 3;
+
+    /** Queues requests per endpoint family */
+    private final RateLimiter rateLimiter = new RateLimiter();
+
+    /**
+     * Sends asynchronous requests once their rate limit slot is reached and
+     * evicts idle pooled connections
+     */
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "robinhood-api-ratelimiter");
+                thread.setDaemon(true);
+                return thread;
+            });
 
 	/**
-	 * Singleton instance of this class.
-	 * Only one instance is used for future ratelimiting support
+	 * Holds the shared instance, built the first time
+	 * {@link #getInstance()} is called. Class initialization runs once, so
+	 * concurrent first calls never build (and install) two transports.
 	 */
-	private static RequestManager instance;
+	private static final class Holder {
+		static final RequestManager INSTANCE = createShared();
+	}
+
+	private static final Logger LOGGER = Logger.getLogger(RequestManager.class.getName());
+
+	/** Per method counts, errors, latency and response sizes */
+	private final RequestMetrics metrics = new RequestMetrics();
+
+	/** Notified of every request, copied on write so dispatch never locks */
+	private volatile RequestListener[] listeners = { metrics };
+
+	/** The GET requests being sent, by coalescing key */
+	private final ConcurrentMap<RequestKey, CompletableFuture<Object>> inFlight
+			= new ConcurrentHashMap<>();
+
+	private volatile boolean coalescing = true;
+
+	private final LongAdder coalesced = new LongAdder();
+
+	/** Sends the requests over the wire */
+	private volatile HttpTransport transport;
+
+	/** Closes idle pooled connections */
+	private ScheduledFuture<?> idleEviction;
+
+	/** Whether this is the {@link #getInstance() shared} manager */
+	private final boolean shared;
+
+	private volatile ExecutionMode executionMode = ExecutionMode.PLATFORM;
+
+	/** Runs the tasks of {@link #getExecutor()}, built on first use */
+	private volatile ExecutorService executor;
+
+	/** The executor handed out to callers, which cannot be shut down */
+	private final Executor executorView = task -> executor().execute(task);
+
+	private RequestManager(boolean shared) {
+		this.shared = shared;
+	}
 
 	/**
-	 * The active instance of the RequestManager.
-	 * If one does not exist, it creates one
-     * @return active instance of the RequestManager
+	 * Build a manager of its own, sending every request with the transport
+	 * @param transport The transport, which is closed with the manager
+	 */
+	public RequestManager(HttpTransport transport) {
+		this(false);
+		setTransport(transport);
+	}
+
+	/**
+	 * Build a manager with a connection pool of its own
+	 * @param config The connection pool, timeout and socket settings
+	 * @return The manager, to be {@link #close() closed} when done with
+	 * @throws IOException If the pooled clients could not be started
+	 */
+	public static RequestManager create(TransportConfig config) throws IOException {
+		return new RequestManager(HttpTransports.apache(config));
+	}
+
+	/**
+	 * The RequestManager shared by every
+	 * {@link com.ampro.robinhood.RobinhoodApi} not given one of its own.
+	 * It is created on first use and is safe to call from any thread.
+     * @return The shared instance of the RequestManager
 	 */
 	public static RequestManager getInstance() {
-		if(RequestManager.instance == null) {
-            //All methods get json responses
-            Unirest.setHttpClient(HttpClients.createDefault());
-		    Unirest.setDefaultHeader("Accept", "appliation/json");
-			RequestManager.instance = new RequestManager();
+		return Holder.INSTANCE;
+	}
+
+	private static RequestManager createShared() {
+		RequestManager manager = new RequestManager(true);
+		try {
+			manager.setTransport(new UnirestTransport(new TransportConfig()));
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Failed to start the pooled HTTP "
+					+ "clients, using the Unirest defaults", e);
+			manager.setTransport(new UnirestTransport());
 		}
-		return RequestManager.instance;
+		return manager;
+	}
+
+	/**
+	 * Send every request over new pooled clients. Connections idle for
+	 * longer than {@link TransportConfig#getIdleEvictionMillis()} are closed
+	 * in the background. The shared manager installs them as Unirest's
+	 * global clients; any other manager gets Apache clients of its own, so
+	 * it never takes over (or, once closed, shuts down) the clients of the
+	 * shared manager.
+	 * @param config The connection pool, timeout and socket settings
+	 * @throws IOException If the new clients could not be started
+	 */
+	public void configureTransport(TransportConfig config) throws IOException {
+		setTransport(this.shared
+				? new UnirestTransport(config)
+				: HttpTransports.apache(config));
+	}
+
+	/**
+	 * Replace the {@link HttpTransport} every request is sent with. The
+	 * previous transport is closed once the requests it is sending have had
+	 * time to finish.
+	 * @param transport The transport, e.g. one from {@link HttpTransports}
+	 */
+	public synchronized void setTransport(HttpTransport transport) {
+		HttpTransport replaced = this.transport;
+		this.transport = transport;
+
+		if (this.idleEviction != null) {
+			this.idleEviction.cancel(false);
+			this.idleEviction = null;
+		}
+		TransportConfig config = transport.getConfig();
+		if (config != null) {
+			long period = Math.max(config.getIdleEvictionMillis() / 2, 1000);
+			this.idleEviction = scheduler.scheduleAtFixedRate(
+					transport::evictIdleConnections, period, period, TimeUnit.MILLISECONDS
+			);
+		}
+		if (replaced != null) {
+			TransportConfig old = replaced.getConfig();
+			scheduler.schedule(() -> {
+				try {
+					replaced.close();
+				} catch (IOException e) {
+					LOGGER.log(Level.FINE, "Failed to close the replaced transport", e);
+				}
+			}, old == null ? 0 : old.getReadTimeoutMillis(), TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/** @return The {@link HttpTransport} requests are sent with */
+	public HttpTransport getTransport() {
+		return this.transport;
+	}
+
+	/** @return {@code true} if this is the {@link #getInstance() shared} manager */
+	public boolean isShared() {
+		return this.shared;
+	}
+
+	/** @return The transport settings in use, or {@code null} if unpooled */
+	public TransportConfig getTransportConfig() {
+		return this.transport.getConfig();
+	}
+
+	/**
+	 * @return A snapshot of the transport's connection pool, or
+	 *          {@code null} if it does not expose one
+	 */
+	public ConnectionPoolStats getPoolStats() {
+		return this.transport.getPoolStats();
+	}
+
+	/**
+	 * Choose how asynchronous requests and {@link #getExecutor()} tasks are
+	 * run. Tasks already submitted finish on the previous executor.
+	 * @param mode The {@link ExecutionMode}
+	 * @throws UnsupportedOperationException If the mode is not available on
+	 *                                       this JVM
+	 */
+	public synchronized void setExecutionMode(ExecutionMode mode) {
+		if (!mode.isAvailable()) {
+			throw new UnsupportedOperationException(
+					mode + " execution is not available on Java "
+					+ System.getProperty("java.version")
+			);
+		}
+		if (mode == this.executionMode) {
+			return;
+		}
+		ExecutorService replaced = this.executor;
+		this.executor = null;
+		this.executionMode = mode;
+		if (replaced != null) {
+			replaced.shutdown();
+		}
+	}
+
+	/**
+	 * Stop the manager's threads and close its transport. Requests still
+	 * being sent may fail.
+	 * @throws IOException If the transport failed to close
+	 * @throws IllegalStateException If this is the shared instance
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (this.shared) {
+			throw new IllegalStateException(
+					"The shared RequestManager cannot be closed"
+			);
+		}
+		if (this.idleEviction != null) {
+			this.idleEviction.cancel(false);
+			this.idleEviction = null;
+		}
+		this.scheduler.shutdownNow();
+		if (this.executor != null) {
+			this.executor.shutdown();
+		}
+		this.transport.close();
+	}
+
+	/** @return How asynchronous requests and executor tasks are run */
+	public ExecutionMode getExecutionMode() {
+		return this.executionMode;
+	}
+
+	/**
+	 * An executor for running many blocking requests at once, e.g. with
+	 * {@link CompletableFuture#supplyAsync(java.util.function.Supplier,
+	 * Executor)}. In {@link ExecutionMode#VIRTUAL} mode every task gets its
+	 * own virtual thread; otherwise tasks share as many daemon threads as
+	 * the transport has connections.
+	 * @return The executor, which follows later changes of the
+	 *          {@link ExecutionMode}
+	 */
+	public Executor getExecutor() {
+		return this.executorView;
+	}
+
+	private ExecutorService executor() {
+		ExecutorService current = this.executor;
+		if (current == null) {
+			synchronized (this) {
+				current = this.executor;
+				if (current == null) {
+					TransportConfig config = this.transport == null
+							? null : this.transport.getConfig();
+					int threads = config != null
+							? config.getMaxConnectionsTotal()
+							: new TransportConfig().getMaxConnectionsTotal();
+					current = this.executionMode.newExecutor(threads);
+					this.executor = current;
+				}
+			}
+		}
+		return current;
 	}
 
 	public <T> T makeApiRequest(ApiMethod method) throws RobinhoodApiException {
 
-		T response = null;
-
-		//Which request type are we using? Delegate it to the proper method
-		switch(method.getMethodType()) {
-		case DELETE:
-			break;
-		case GET: response = this.makeGetRequest(method);
-			break;
-		case HEAD:
-			break;
-		case OPTIONS:
-			break;
-		case POST: response = this.makePostRequest(method);
-			break;
-		case PUT:
-			break;
-		case TRACE:
-			break;
-		default:
-			break;
+		//Unsupported request types have no response
+		if (!isSupported(method)) {
+			return null;
 		}
+		RequestKey key = coalescingKey(method);
+		if (key == null) {
+			return sendReporting(method);
+		}
+		CompletableFuture<Object> flight = new CompletableFuture<>();
+		CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+		if (existing != null) {
+			//An identical request is on its way, share its response
+			coalesced.increment();
+			return Futures.join(existing.thenApply(RequestManager::<T>cast));
+		}
+		try {
+			T result = sendReporting(method);
+			flight.complete(result);
+			return result;
+		} catch (RobinhoodApiException | RuntimeException ex) {
+			flight.completeExceptionally(ex);
+			throw ex;
+		} finally {
+			inFlight.remove(key, flight);
+		}
+	}
 
-		return response;
+	private <T> T sendReporting(ApiMethod method) throws RobinhoodApiException {
+		long start = System.nanoTime();
+		try {
+			return send(method, start);
+		} catch (RobinhoodApiException | RuntimeException ex) {
+			fireFailure(method, ex, start);
+			throw ex;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T cast(Object value) {
+		return (T) value;
+	}
+
+	/**
+	 * Identical GET requests are idempotent, so while one is in flight any
+	 * other caller can share its response. They are identical when they
+	 * have the same url, route and query parameters, return type and
+	 * authorization. The key compares those values directly, so the url is
+	 * only rendered once, by the transport.
+	 * @return The key of the request, or {@code null} if it must be sent
+	 *          on its own
+	 */
+	private RequestKey coalescingKey(ApiMethod method) {
+		if (!coalescing || method.getMethodType() != RequestMethod.GET
+				|| method.getBaseUrl() == null) {
+			return null;
+		}
+		return new RequestKey(method);
 	}
 
 	/**
-	 * Method which uses OKHTTP to send a POST request to the specified URL saved
-	 * within the APIMethod class
-	 * @throws UnirestException
+	 * The parts of a GET request that make its response. It holds the
+	 * method's own parameter maps, which are not changed once it is sent.
 	 */
-	private <T> T makePostRequest(ApiMethod method)
-            throws RobinhoodApiException {
+	private static final class RequestKey {
 
-        HttpRequest request = Unirest.post(method.getBaseUrl())
-                                     .headers(method.getHeaderParameters())
-                                     .queryString(method.getQueryParameters())
-                                     .fields(method.getFieldParameters())
-                                     .getHttpRequest();
-        method.getRouteParameters().forEach(request::routeParam);
+		private final Type returnType;
+		private final String url;
+		private final Map<String, String> routes;
+		private final Map<String, Object> query;
+		private final String authorization;
+		private final int hash;
 
-        return makeRequest(request, method);
-    }
+		RequestKey(ApiMethod method) {
+			this.returnType = method.getReturnType();
+			this.url = method.getBaseUrl();
+			this.routes = method.getRouteParameters();
+			this.query = method.getQueryParameters();
+			this.authorization = method.getHeaderParameters().get("Authorization");
+			this.hash = Objects.hash(returnType, url, routes, query, authorization);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof RequestKey)) {
+				return false;
+			}
+			RequestKey other = (RequestKey) o;
+			return hash == other.hash
+					&& url.equals(other.url)
+					&& Objects.equals(returnType, other.returnType)
+					&& routes.equals(other.routes)
+					&& query.equals(other.query)
+					&& Objects.equals(authorization, other.authorization);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	/**
+	 * Turn request coalescing on or off (on by default). While it is on,
+	 * callers making a GET request identical to one already in flight wait
+	 * for and share its response instead of sending their own, so they
+	 * receive the same response object.
+	 * @param coalescing Whether identical concurrent GET requests are sent
+	 *                   once
+	 */
+	public void setCoalescing(boolean coalescing) {
+		this.coalescing = coalescing;
+	}
+
+	/** @return Whether identical concurrent GET requests are sent once */
+	public boolean isCoalescing() {
+		return this.coalescing;
+	}
+
+	/** @return How many requests shared the response of another one */
+	public long getCoalescedCount() {
+		return this.coalesced.sum();
+	}
+
+	private <T> T send(ApiMethod method, long start) throws RobinhoodApiException {
+		String family = method.getEndpointFamily();
+		for (int attempt = 0; ; attempt++) {
+			//Queue behind the other requests of this endpoint family
+			try {
+				rateLimiter.acquire(family);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new RobinhoodApiException(
+						"Interrupted while waiting for the rate limit", ex
+				);
+			}
+			long sent = System.nanoTime();
+			TransportResponse response = this.transport.send(method);
+			long received = System.nanoTime();
+			if (!isRateLimited(response, family)) {
+				return parse(response, method, start, sent, received);
+			}
+			if (attempt >= MAX_RETRIES) {
+				throw new RobinhoodApiException(
+						"Rate limit exceeded for " + family + " endpoints"
+				);
+			}
+		}
+	}
+
+	/**
+	 * Make the request without blocking the calling thread. The request is
+	 * sent on the transport's asynchronous client and the response is parsed
+	 * on its I/O thread once it arrives, so any heavy work chained onto the
+	 * returned future should use the {@code *Async} variants of
+	 * {@link CompletableFuture}. If the endpoint family is being rate
+	 * limited the request is queued on a scheduler rather than a thread.
+	 * In {@link ExecutionMode#VIRTUAL} mode the request is instead sent
+	 * and parsed on a virtual thread of its own.
+	 * @param method The {@link ApiMethod} to run
+	 * @param <T> The return type of the {@link ApiMethod}
+	 * @return A {@link CompletableFuture} completed with the parsed response,
+	 *          or completed exceptionally with a {@link RobinhoodApiException}
+	 */
+	public <T> CompletableFuture<T> makeApiRequestAsync(ApiMethod method) {
+		RequestKey key = coalescingKey(method);
+		if (key == null) {
+			CompletableFuture<T> future = new CompletableFuture<>();
+			dispatch(method, future);
+			return future;
+		}
+		CompletableFuture<Object> flight = new CompletableFuture<>();
+		CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+		if (existing != null) {
+			coalesced.increment();
+			return existing.thenApply(RequestManager::<T>cast);
+		}
+		flight.whenComplete((result, error) -> inFlight.remove(key, flight));
+		dispatch(method, flight);
+		//Callers get their own future, so cancelling one cancels no other
+		return flight.thenApply(RequestManager::<T>cast);
+	}
+
+	/**
+	 * @return The metrics of every {@link ApiMethod} class requested so far.
+	 *          Call {@link RequestMetrics#registerMBeans()} to publish them
+	 *          over JMX.
+	 */
+	public RequestMetrics getMetrics() {
+		return this.metrics;
+	}
+
+	/**
+	 * Notify the listener of the outcome and timings of every request
+	 * @param listener The listener, which must be quick and must not block
+	 */
+	public synchronized void addListener(RequestListener listener) {
+		RequestListener[] current = this.listeners;
+		RequestListener[] added = Arrays.copyOf(current, current.length + 1);
+		added[current.length] = listener;
+		this.listeners = added;
+	}
+
+	/** @param listener A listener added with {@link #addListener} */
+	public synchronized void removeListener(RequestListener listener) {
+		List<RequestListener> remaining = new ArrayList<>(Arrays.asList(this.listeners));
+		remaining.remove(listener);
+		this.listeners = remaining.toArray(new RequestListener[0]);
+	}
+
+	/** @return The {@link RateLimiter} every request is queued behind */
+	public RateLimiter getRateLimiter() {
+		return this.rateLimiter;
+	}
+
+	/**
+	 * Send the method the way the {@link ExecutionMode} says. On a virtual
+	 * thread the blocking path is used: waiting for the rate limit and the
+	 * response only parks the virtual thread.
+	 */
+	private <T> void dispatch(ApiMethod method, CompletableFuture<T> future) {
+		long start = System.nanoTime();
+		if (this.executionMode == ExecutionMode.VIRTUAL) {
+			try {
+				executor().execute(() -> {
+					try {
+						future.complete(isSupported(method)
+								? sendReporting(method) : null);
+					} catch (RobinhoodApiException | RuntimeException ex) {
+						future.completeExceptionally(ex);
+					}
+				});
+				return;
+			} catch (RejectedExecutionException ex) {
+				//The mode changed while dispatching, use the async client
+			}
+		}
+		dispatchAsync(method, future, 0, start);
+	}
+
+	/**
+	 * Take a rate limit token for the method and send it once the token is
+	 * available
+	 */
+	private <T> void dispatchAsync(ApiMethod method, CompletableFuture<T> future,
+	                               int attempt, long start) {
+		//Unsupported request types have no response
+		if (!isSupported(method)) {
+			future.complete(null);
+			return;
+		}
+		long wait = rateLimiter.reserve(method.getEndpointFamily());
+		if (wait > 0) {
+			scheduler.schedule(() -> sendAsync(method, future, attempt, start),
+			                   wait, TimeUnit.NANOSECONDS);
+		} else {
+			sendAsync(method, future, attempt, start);
+		}
+	}
+
+	private <T> void sendAsync(ApiMethod method, CompletableFuture<T> future,
+	                           int attempt, long start) {
+		long sent = System.nanoTime();
+		this.transport.sendAsync(method).whenComplete((response, error) -> {
+			long received = System.nanoTime();
+			if (error != null) {
+				failAsync(method, future, Futures.unwrap(error), start);
+				return;
+			}
+			String family = method.getEndpointFamily();
+			if (isRateLimited(response, family)) {
+				if (attempt >= MAX_RETRIES) {
+					failAsync(method, future, new RobinhoodApiException(
+							"Rate limit exceeded for " + family + " endpoints"
+					), start);
+				} else {
+					dispatchAsync(method, future, attempt + 1, start);
+				}
+				return;
+			}
+			try {
+				future.complete(parse(response, method, start, sent, received));
+			} catch (RobinhoodApiException | RuntimeException ex) {
+				failAsync(method, future, ex, start);
+			}
+		});
+	}
+
+	private void failAsync(ApiMethod method, CompletableFuture<?> future,
+	                       Throwable error, long start) {
+		fireFailure(method, error, start);
+		future.completeExceptionally(error);
+	}
+
+	/** @return {@code true} if the request type of the method can be sent */
+	private static boolean isSupported(ApiMethod method) {
+		switch (method.getMethodType()) {
+		case GET:
+		case POST:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Checks the response for HTTP 429. If the server is throttling us a
+	 * {@link RateLimit} is recorded for the endpoint family, honouring the
+	 * Retry-After header or falling back to {@link Configuration#getRatelimit()}
+	 * @param response The response to check
+	 * @param family The endpoint family of the request
+	 * @return {@code true} if the request was rate limited and should be retried
+	 */
+	private boolean isRateLimited(TransportResponse response, String family) {
+		if (response.getStatus() != TOO_MANY_REQUESTS) {
+			return false;
+		}
+		rateLimiter.limit(new RateLimit(family, retryAfter(response)));
+		//Release the connection before the request is retried
+		try {
+			response.getBody().close();
+		} catch (IOException ex) {
+			LOGGER.log(Level.FINE, "Failed to close a rate limited response", ex);
+		}
+		return true;
+	}
 
 	/**
-	 * Method which uses Unirest to send a GET request to the specified URL saved
-	 * within the ApiMethod class
-	 * @throws UnirestException
+	 * @param response A HTTP 429 response
+	 * @return The number of seconds to wait before retrying
 	 */
-	private <T> T makeGetRequest(ApiMethod method) throws RobinhoodApiException {
+	private static int retryAfter(TransportResponse response) {
+		String retryAfter = response.getHeader("Retry-After");
+		if (retryAfter != null) {
+			try {
+				return Math.max(0, Integer.parseInt(retryAfter.trim()));
+			} catch (NumberFormatException ex) {
+				//Retry-After may also be a HTTP date
+				try {
+					long at = ZonedDateTime.parse(retryAfter.trim(),
+							DateTimeFormatter.RFC_1123_DATE_TIME)
+							.toInstant().toEpochMilli();
+					return (int) Math.max(0, TimeUnit.MILLISECONDS.toSeconds(
+							at - System.currentTimeMillis() + 999));
+				} catch (DateTimeParseException ignored) {
+					//Fall back to the configured ratelimit
+				}
+			}
+		}
+		return (int) TimeUnit.MILLISECONDS.toSeconds(
+				Configuration.getRatelimit() + 999);
+	}
 
-        HttpRequest request =
-                Unirest.get(method.getBaseUrl())
-                       .headers(method.getHeaderParameters())
-                       .queryString(method.getQueryParameters())
-                       .getHttpRequest();
-        method.getRouteParameters().forEach(request::routeParam);
+	/**
+	 * Decode the response and report its timings and size to the
+	 * {@link RequestListener RequestListeners}. The body is always closed,
+	 * even if it is not read, so its pooled connection is released.
+	 */
+	private <T> T parse(TransportResponse response, ApiMethod method,
+	                    long start, long sent, long received)
+	throws RobinhoodApiException {
+		T result;
+		long size;
+		try (CountingInputStream body = new CountingInputStream(response.getBody())) {
+			result = parseResponse(body, method);
+			size = body.getCount();
+		} catch (IOException ex) {
+			throw new RobinhoodApiException("Failed to close response body", ex);
+		}
+		long parsed = System.nanoTime();
+		RequestListener[] current = this.listeners;
+		for (RequestListener listener : current) {
+			try {
+				listener.onSuccess(method, sent - start, received - sent,
+				                   parsed - received, size);
+			} catch (RuntimeException ex) {
+				LOGGER.log(Level.WARNING, "Request listener failed", ex);
+			}
+		}
+		return result;
+	}
 
-        return makeRequest(request, method);
+	private void fireFailure(ApiMethod method, Throwable error, long start) {
+		long elapsed = System.nanoTime() - start;
+		RequestListener[] current = this.listeners;
+		for (RequestListener listener : current) {
+			try {
+				listener.onFailure(method, error, elapsed);
+			} catch (RuntimeException ex) {
+				LOGGER.log(Level.WARNING, "Request listener failed", ex);
+			}
+		}
 	}
 
+	/**
+	 * Decode the response straight from its body stream with a
+	 * {@link JsonReader}, without building an intermediate {@code JsonNode}
+	 * or {@link String} of the payload
+	 */
 	@SuppressWarnings("unchecked")
-	private <T> T makeRequest(HttpRequest request, ApiMethod method)
+	private <T> T parseResponse(InputStream body, ApiMethod method)
     throws RobinhoodApiException {
-        try {
-            //Make the request
-	        HttpResponse<JsonNode> json = request.asJson();
-//	        String responseJson = json.getBody().toString();
-
-            //If the response type for this is VOID (
-            //Meaning we are not expecting a response) do not
-            //try to use Gson
-            if (method.getReturnType() == TYPE) {
-                return (T) TYPE;
-            }
-
-            String body = IOUtils.toString(json.getRawBody(), StandardCharsets.UTF_8.name());
-            return gson.fromJson(body, method.getReturnType());
-
-        } 
-        catch (UnirestException ex) {
-            System.err.println(
-                    "[RobinhoodApi] Failed to communicate with endpoint"
-            );
-            ex.printStackTrace();
+        //If the response type for this is VOID (
+        //Meaning we are not expecting a response) do not
+        //try to use Gson
+        if (method.getReturnType() == TYPE) {
+            return (T) TYPE;
+        }
+        try (JsonReader reader = new JsonReader(new InputStreamReader(
+                body, StandardCharsets.UTF_8))) {
+            return gson.fromJson(reader, method.getReturnType());
         }
-        catch (IOException ex) {
-        	System.err.println(
-                    "[RobinhoodApi] Failed to parse response body"
-            );
-            ex.printStackTrace();
+        catch (IOException | JsonIOException ex) {
+            LOGGER.log(Level.FINE, "Failed to parse the response of " + method, ex);
+            throw new RobinhoodApiException("Failed to parse response body", ex);
         }
-        throw new RobinhoodApiException("Failed to communicate with endpoint");
     }
 
 }
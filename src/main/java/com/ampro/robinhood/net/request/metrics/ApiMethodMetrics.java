@@ -0,0 +1,124 @@
+package com.ampro.robinhood.net.request.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The request count, errors, latency and response size of one
+ * {@link com.ampro.robinhood.net.ApiMethod} class
+ *
+ * @author Jonathan Augustine
+ */
+public class ApiMethodMetrics implements ApiMethodMetricsMXBean {
+
+    private final String name;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+
+    private final ConcurrentMap<String, LongAdder> errorsByCause
+            = new ConcurrentHashMap<>();
+
+    private final LatencyHistogram queue = new LatencyHistogram();
+    private final LatencyHistogram network = new LatencyHistogram();
+    private final LatencyHistogram parse = new LatencyHistogram();
+
+    public ApiMethodMetrics(String name) {
+        this.name = name;
+    }
+
+    void recordSuccess(long queueNanos, long networkNanos, long parseNanos,
+                       long bytes) {
+        requests.increment();
+        queue.record(queueNanos);
+        network.record(networkNanos);
+        parse.record(parseNanos);
+        responseBytes.add(bytes);
+    }
+
+    void recordFailure(String cause) {
+        requests.increment();
+        errors.increment();
+        errorsByCause.computeIfAbsent(cause, key -> new LongAdder()).increment();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    @Override
+    public Map<String, Long> getErrorCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        errorsByCause.forEach((cause, count) -> counts.put(cause, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public long getResponseBytes() {
+        return responseBytes.sum();
+    }
+
+    @Override
+    public LatencyHistogram.Snapshot getQueueLatency() {
+        return queue.snapshot();
+    }
+
+    @Override
+    public LatencyHistogram.Snapshot getNetworkLatency() {
+        return network.snapshot();
+    }
+
+    @Override
+    public LatencyHistogram.Snapshot getParseLatency() {
+        return parse.snapshot();
+    }
+
+    /** @return The histogram of the time spent before sending */
+    public LatencyHistogram getQueueHistogram() {
+        return queue;
+    }
+
+    /** @return The histogram of the time spent waiting for the response */
+    public LatencyHistogram getNetworkHistogram() {
+        return network;
+    }
+
+    /** @return The histogram of the time spent decoding the response */
+    public LatencyHistogram getParseHistogram() {
+        return parse;
+    }
+
+    @Override
+    public void reset() {
+        requests.reset();
+        errors.reset();
+        responseBytes.reset();
+        errorsByCause.clear();
+        queue.reset();
+        network.reset();
+        parse.reset();
+    }
+
+    @Override
+    public String toString() {
+        return name + " [requests: " + getRequestCount() + "; errors: "
+                + getErrorCount() + "; bytes: " + getResponseBytes()
+                + "; network: " + getNetworkLatency() + "]";
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.ampro.robinhood.net.request.metrics;
+
+import java.util.Map;
+
+/**
+ * The JMX view of the {@link ApiMethodMetrics} of one
+ * {@link com.ampro.robinhood.net.ApiMethod} class, registered as
+ * {@code com.ampro.robinhood:type=ApiMethod,manager=<id>,name=<simple class name>}
+ * where the id is the one of its {@link RequestMetrics}
+ *
+ * @author Jonathan Augustine
+ */
+public interface ApiMethodMetricsMXBean {
+
+    /** @return The simple name of the method class */
+    String getName();
+
+    /** @return The number of requests made, failed or not */
+    long getRequestCount();
+
+    /** @return The number of failed requests */
+    long getErrorCount();
+
+    /** @return The number of failed requests by the name of the cause */
+    Map<String, Long> getErrorCounts();
+
+    /** @return The total size of the response bodies received */
+    long getResponseBytes();
+
+    /** @return The time spent rate limited or retrying, before sending */
+    LatencyHistogram.Snapshot getQueueLatency();
+
+    /** @return The time spent waiting for the response */
+    LatencyHistogram.Snapshot getNetworkLatency();
+
+    /** @return The time spent decoding the response */
+    LatencyHistogram.Snapshot getParseLatency();
+
+    /** Forget everything recorded so far */
+    void reset();
+
+}
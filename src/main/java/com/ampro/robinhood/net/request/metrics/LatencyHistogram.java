@@ -0,0 +1,139 @@
+package com.ampro.robinhood.net.request.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations with power-of-two buckets. Bucket
+ * {@code i} counts the durations of {@code 2^i} to {@code 2^(i+1) - 1}
+ * nanoseconds, so percentiles are accurate to within a factor of two,
+ * which is enough to tell a 2 ms call from a 200 ms one. Recording does
+ * not allocate.
+ *
+ * @author Jonathan Augustine
+ */
+public class LatencyHistogram {
+
+    private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder total = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /** @param nanos The duration to record */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets.incrementAndGet(bucketOf(value));
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    private static int bucketOf(long nanos) {
+        return Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos | 1);
+    }
+
+    /** @return The number of durations recorded */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @param percentile The percentile, from 0 to 100
+     * @return The upper bound of the bucket holding the percentile
+     *          (nanoseconds), or 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        long recorded = 0;
+        long[] counts = new long[Long.SIZE];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+            recorded += counts[i];
+        }
+        if (recorded == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(recorded * Math.min(percentile, 100) / 100);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(rank, 1)) {
+                long upper = i >= Long.SIZE - 2 ? Long.MAX_VALUE : (2L << i) - 1;
+                return Math.min(upper, max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /** @return A snapshot of the histogram in milliseconds */
+    public Snapshot snapshot() {
+        long n = count.sum();
+        return new Snapshot(
+                n,
+                n == 0 ? 0 : toMillis(total.sum()) / n,
+                toMillis(getPercentile(50)),
+                toMillis(getPercentile(90)),
+                toMillis(getPercentile(99)),
+                toMillis(max.get())
+        );
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /** Forget every recorded duration */
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        max.reset();
+    }
+
+    /** The summary of a {@link LatencyHistogram}, in milliseconds */
+    public static class Snapshot {
+
+        private final long count;
+        private final double meanMillis;
+        private final double p50Millis;
+        private final double p90Millis;
+        private final double p99Millis;
+        private final double maxMillis;
+
+        public Snapshot(long count, double meanMillis, double p50Millis,
+                        double p90Millis, double p99Millis, double maxMillis) {
+            this.count = count;
+            this.meanMillis = meanMillis;
+            this.p50Millis = p50Millis;
+            this.p90Millis = p90Millis;
+            this.p99Millis = p99Millis;
+            this.maxMillis = maxMillis;
+        }
+
+        public long getCount() { return count; }
+
+        public double getMeanMillis() { return meanMillis; }
+
+        public double getP50Millis() { return p50Millis; }
+
+        public double getP90Millis() { return p90Millis; }
+
+        public double getP99Millis() { return p99Millis; }
+
+        public double getMaxMillis() { return maxMillis; }
+
+        @Override
+        public String toString() {
+            return String.format("[count: %d; mean: %.3f ms; p50: %.3f ms; "
+                    + "p90: %.3f ms; p99: %.3f ms; max: %.3f ms]", count,
+                    meanMillis, p50Millis, p90Millis, p99Millis, maxMillis);
+        }
+    }
+
+}
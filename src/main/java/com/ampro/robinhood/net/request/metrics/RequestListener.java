@@ -0,0 +1,45 @@
+package com.ampro.robinhood.net.request.metrics;
+
+import com.ampro.robinhood.net.ApiMethod;
+
+/**
+ * Notified of the outcome of every request the
+ * {@link com.ampro.robinhood.net.request.RequestManager} makes. Listeners
+ * are called on the thread that finished the request (often an I/O
+ * thread), so they must be quick and must not throw.
+ * <p>
+ * The timings are split into three phases:
+ * <ul>
+ *     <li>queue: from the call until the final attempt was sent,
+ *     including rate limiting and any attempts answered with HTTP 429</li>
+ *     <li>network: from sending the request until its response started</li>
+ *     <li>parse: decoding the body. When the transport streams the body
+ *     this also covers receiving the rest of it</li>
+ * </ul>
+ *
+ * @author Jonathan Augustine
+ */
+public interface RequestListener {
+
+    /**
+     * Called when a request was answered and its response decoded
+     * @param method The method that was requested
+     * @param queueNanos Time spent before the final attempt was sent
+     * @param networkNanos Time spent waiting for the response
+     * @param parseNanos Time spent decoding the response
+     * @param responseBytes The size of the response body
+     */
+    default void onSuccess(ApiMethod method, long queueNanos, long networkNanos,
+                           long parseNanos, long responseBytes) {
+    }
+
+    /**
+     * Called when a request failed
+     * @param method The method that was requested
+     * @param error Why it failed
+     * @param elapsedNanos Time from the call until the failure
+     */
+    default void onFailure(ApiMethod method, Throwable error, long elapsedNanos) {
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.ampro.robinhood.net.request.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.util.Futures;
+
+/**
+ * A {@link RequestListener} keeping {@link ApiMethodMetrics} for every
+ * {@link ApiMethod} class. The metrics are kept by class rather than name,
+ * so recording a request neither builds a name nor allocates.
+ * <p>
+ * Call {@link #registerMBeans()} to also publish the metrics of each class
+ * on the platform MBean server. Each instance has its own {@code manager}
+ * key in the MBean names, so the metrics of several request managers can be
+ * published side by side.
+ *
+ * @author Jonathan Augustine
+ */
+public class RequestMetrics implements RequestListener {
+
+    private static final Logger LOGGER = Logger.getLogger(RequestMetrics.class.getName());
+
+    /** The JMX domain of the MBeans */
+    public static final String DOMAIN = "com.ampro.robinhood";
+
+    private static final AtomicInteger ids = new AtomicInteger();
+
+    private final int id = ids.incrementAndGet();
+
+    private final ConcurrentMap<Class<?>, ApiMethodMetrics> metrics
+            = new ConcurrentHashMap<>();
+
+    /** The names of the MBeans this instance registered */
+    private final Set<ObjectName> registered = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean jmx;
+
+    @Override
+    public void onSuccess(ApiMethod method, long queueNanos, long networkNanos,
+                          long parseNanos, long responseBytes) {
+        of(method.getClass()).recordSuccess(queueNanos, networkNanos,
+                                            parseNanos, responseBytes);
+    }
+
+    @Override
+    public void onFailure(ApiMethod method, Throwable error, long elapsedNanos) {
+        of(method.getClass()).recordFailure(causeOf(error));
+    }
+
+    /** @return The simple class name of the innermost cause of the error */
+    private static String causeOf(Throwable error) {
+        Throwable cause = Futures.unwrap(error);
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getClass().getSimpleName();
+    }
+
+    /**
+     * @param methodClass The {@link ApiMethod} class
+     * @return The metrics of the class, created if none were recorded yet
+     */
+    public ApiMethodMetrics of(Class<?> methodClass) {
+        ApiMethodMetrics existing = metrics.get(methodClass);
+        if (existing != null) {
+            return existing;
+        }
+        String name = methodClass.getSimpleName();
+        ApiMethodMetrics created = new ApiMethodMetrics(
+                name.isEmpty() ? methodClass.getName() : name
+        );
+        existing = metrics.putIfAbsent(methodClass, created);
+        if (existing != null) {
+            return existing;
+        }
+        if (jmx) {
+            register(created);
+        }
+        return created;
+    }
+
+    /** @return The metrics of every method requested so far, by name */
+    public Map<String, ApiMethodMetrics> getAll() {
+        Map<String, ApiMethodMetrics> all = new TreeMap<>();
+        metrics.values().forEach(method -> all.put(method.getName(), method));
+        return all;
+    }
+
+    /** @return The value of the {@code manager} key of the MBean names */
+    public int getId() {
+        return id;
+    }
+
+    /** Forget everything recorded so far */
+    public void reset() {
+        metrics.values().forEach(ApiMethodMetrics::reset);
+    }
+
+    /**
+     * Publish the metrics of every method, now and as new methods are
+     * requested, as MBeans named
+     * {@code com.ampro.robinhood:type=ApiMethod,manager=<id>,name=<simple class name>}
+     * @see #getId()
+     */
+    public void registerMBeans() {
+        jmx = true;
+        metrics.values().forEach(this::register);
+    }
+
+    /** Remove the MBeans published by {@link #registerMBeans()} */
+    public void unregisterMBeans() {
+        jmx = false;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName name : registered) {
+            try {
+                server.unregisterMBean(name);
+            } catch (JMException e) {
+                LOGGER.log(Level.FINE, "Failed to unregister " + name, e);
+            }
+            registered.remove(name);
+        }
+    }
+
+    private void register(ApiMethodMetrics method) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = nameOf(method);
+            if (!registered.contains(name)) {
+                server.registerMBean(method, name);
+                registered.add(name);
+            }
+        } catch (JMException e) {
+            LOGGER.log(Level.FINE, "Failed to register " + method.getName(), e);
+        }
+    }
+
+    private ObjectName nameOf(ApiMethodMetrics method) throws JMException {
+        return new ObjectName(DOMAIN + ":type=ApiMethod,manager=" + id
+                                      + ",name=" + method.getName());
+    }
+
+}
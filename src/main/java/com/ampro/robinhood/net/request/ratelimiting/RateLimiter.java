@@ -0,0 +1,110 @@
+package com.ampro.robinhood.net.request.ratelimiting;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side rate limiter shared by every request a
+ * {@link com.ampro.robinhood.net.request.RequestManager} makes.
+ * <p>
+ * Requests are grouped into endpoint families (the first path segment of
+ * the URL, e.g. {@code quotes}, {@code orders}, {@code instruments}), each
+ * with its own {@link TokenBucket}. When Robinhood answers with HTTP 429 a
+ * {@link RateLimit} is recorded for the family and its bucket is emptied
+ * until the server's {@code Retry-After} has passed.
+ *
+ * @author Jonathan Augustine
+ */
+public class RateLimiter {
+
+    /** The family used for endpoints without their own bucket */
+    public static final String DEFAULT_FAMILY = "default";
+
+    private final ConcurrentMap<String, TokenBucket> buckets
+            = new ConcurrentHashMap<>();
+
+    /** The most recent server-imposed limit of each family */
+    private final ConcurrentMap<String, RateLimit> limits
+            = new ConcurrentHashMap<>();
+
+    public RateLimiter() {
+        setBucket(DEFAULT_FAMILY, 5, 10);
+        setBucket("quotes", 10, 20);
+        setBucket("instruments", 5, 10);
+        setBucket("orders", 1, 5);
+    }
+
+    /**
+     * Set (or replace) the bucket of an endpoint family
+     * @param family The endpoint family (e.g. {@code quotes})
+     * @param permitsPerSecond The sustained number of requests per second
+     * @param burst The number of requests that may be sent back to back
+     */
+    public void setBucket(String family, double permitsPerSecond, int burst) {
+        buckets.put(family, new TokenBucket(permitsPerSecond, burst));
+    }
+
+    /**
+     * @param family The endpoint family
+     * @return The bucket used for the family
+     */
+    public TokenBucket getBucket(String family) {
+        TokenBucket bucket = buckets.get(family);
+        return bucket != null ? bucket : buckets.get(DEFAULT_FAMILY);
+    }
+
+    /**
+     * Take a token for the family without blocking.
+     * @param family The endpoint family
+     * @return How many nanoseconds the caller must wait before sending
+     */
+    public long reserve(String family) {
+        return getBucket(family).reserve();
+    }
+
+    /**
+     * Take a token for the family, sleeping until the request may be sent.
+     * @param family The endpoint family
+     * @throws InterruptedException If the thread is interrupted while queued
+     */
+    public void acquire(String family) throws InterruptedException {
+        long wait = reserve(family);
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    /**
+     * Record a limit imposed by the server. No request of the limit's family
+     * is let through until {@link RateLimit#getRetryTime()}.
+     * @param limit The {@link RateLimit} to honour
+     */
+    public void limit(RateLimit limit) {
+        limits.put(limit.getType(), limit);
+        long delay = limit.getRetryTime() - System.currentTimeMillis();
+        getBucket(limit.getType()).blockUntil(
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay)
+        );
+    }
+
+    /**
+     * @param family The endpoint family
+     * @return {@code true} if the server has rate-limited the family and the
+     *          limit has not yet expired
+     */
+    public boolean isLimited(String family) {
+        RateLimit limit = limits.get(family);
+        return limit != null && limit.isLimitExceeded();
+    }
+
+    /**
+     * @param family The endpoint family
+     * @return The most recent {@link RateLimit} of the family, or
+     *          {@code null} if the server has never limited it
+     */
+    public RateLimit getLimit(String family) {
+        return limits.get(family);
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.ampro.robinhood.net.request.ratelimiting;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket for a single endpoint family.
+ * <p>
+ * The bucket is tracked as the "theoretical arrival time" of the next
+ * request (the generic cell rate algorithm), so taking a token is a single
+ * compare-and-set on an {@link AtomicLong}. Callers are never refused: a
+ * request that arrives while the bucket is empty reserves the next free
+ * slot and is told how long to wait for it, which queues requests in the
+ * order they arrive.
+ *
+ * @author Jonathan Augustine
+ */
+public class TokenBucket {
+
+    /** Nanoseconds between two tokens */
+    private final long interval;
+
+    /** How far ahead of real time the bucket may run (the burst) */
+    private final long tolerance;
+
+    /** The time at which the bucket will next be full, in nanoTime */
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param permitsPerSecond The sustained number of requests per second
+     * @param burst The number of requests that may be sent back to back
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException(
+                    "A bucket needs a positive rate and a burst of at least 1"
+            );
+        }
+        this.interval = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.tolerance = this.interval * (burst - 1);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Take a token, reserving the next free slot if the bucket is empty.
+     * @return How many nanoseconds the caller must wait before sending
+     */
+    public long reserve() {
+        return reserve(System.nanoTime());
+    }
+
+    /**
+     * Take a token, reserving the next free slot if the bucket is empty.
+     * @param now The current {@link System#nanoTime()}
+     * @return How many nanoseconds the caller must wait before sending
+     */
+    public long reserve(long now) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long start = tat - now > 0 ? tat : now;
+            if (theoreticalArrival.compareAndSet(tat, start + interval)) {
+                long wait = start - tolerance - now;
+                return wait > 0 ? wait : 0;
+            }
+        }
+    }
+
+    /**
+     * Empty the bucket until the given time, so that no request is let
+     * through before it.
+     * @param until The {@link System#nanoTime()} to block until
+     */
+    public void blockUntil(long until) {
+        long target = until + tolerance;
+        while (true) {
+            long tat = theoreticalArrival.get();
+            if (tat - target >= 0
+                    || theoreticalArrival.compareAndSet(tat, target)) {
+                return;
+            }
+        }
+    }
+
+}
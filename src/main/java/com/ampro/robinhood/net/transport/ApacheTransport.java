@@ -0,0 +1,165 @@
+package com.ampro.robinhood.net.transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.throwables.RobinhoodApiException;
+
+/**
+ * A {@link HttpTransport} sending requests straight over its own pooled
+ * Apache clients. Unlike the {@link UnirestTransport}, which installs its
+ * clients globally, every ApacheTransport has connections of its own, so
+ * several can be used side by side without sharing a pool.
+ *
+ * @author Jonathan Augustine
+ */
+public class ApacheTransport implements HttpTransport {
+
+    private static final InputStream EMPTY = new ByteArrayInputStream(new byte[0]);
+
+    private final PooledHttpClients clients;
+
+    /**
+     * Build and start the transport's clients
+     * @param config The connection pool, timeout and socket settings
+     * @throws IOException If the clients could not be started
+     */
+    public ApacheTransport(TransportConfig config) throws IOException {
+        this.clients = new PooledHttpClients(config);
+        clients.start();
+    }
+
+    /**
+     * The body is streamed, and its connection returned to the pool once it
+     * has been read and closed
+     */
+    @Override
+    public TransportResponse send(ApiMethod method) throws RobinhoodApiException {
+        HttpUriRequest request = buildRequest(method);
+        try {
+            return toResponse(clients.getSyncClient().execute(request));
+        } catch (IOException ex) {
+            throw new RobinhoodApiException("Failed to communicate with endpoint", ex);
+        }
+    }
+
+    /** The body is collected by the client before the future completes */
+    @Override
+    public CompletableFuture<TransportResponse> sendAsync(ApiMethod method) {
+        CompletableFuture<TransportResponse> future = new CompletableFuture<>();
+        HttpUriRequest request;
+        try {
+            request = buildRequest(method);
+        } catch (RobinhoodApiException ex) {
+            future.completeExceptionally(ex);
+            return future;
+        }
+        clients.getAsyncClient().execute(request, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                try {
+                    future.complete(toResponse(response));
+                } catch (IOException ex) {
+                    failed(ex);
+                }
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                future.completeExceptionally(new RobinhoodApiException(
+                        "Failed to communicate with endpoint", ex
+                ));
+            }
+
+            @Override
+            public void cancelled() {
+                future.cancel(false);
+            }
+        });
+        return future;
+    }
+
+    private static TransportResponse toResponse(HttpResponse response)
+    throws IOException {
+        HttpEntity entity = response.getEntity();
+        return new TransportResponse(
+                response.getStatusLine().getStatusCode(),
+                name -> {
+                    Header header = response.getFirstHeader(name);
+                    return header == null ? null : header.getValue();
+                },
+                entity == null ? EMPTY : entity.getContent()
+        );
+    }
+
+    private static HttpUriRequest buildRequest(ApiMethod method)
+    throws RobinhoodApiException {
+        HttpUriRequest request;
+        try {
+            switch (method.getMethodType()) {
+            case GET:
+                request = new HttpGet(TransportRequests.url(method));
+                break;
+            case POST:
+                HttpPost post = new HttpPost(TransportRequests.url(method));
+                post.setEntity(new StringEntity(TransportRequests.formBody(method),
+                        ContentType.APPLICATION_FORM_URLENCODED));
+                request = post;
+                break;
+            default:
+                throw new RobinhoodApiException(
+                        "Unsupported request type " + method.getMethodType()
+                );
+            }
+        } catch (IllegalArgumentException ex) {
+            throw new RobinhoodApiException("Invalid request url", ex);
+        }
+        for (Map.Entry<String, String> header : method.getHeaderParameters().entrySet()) {
+            request.setHeader(header.getKey(), header.getValue());
+        }
+        return request;
+    }
+
+    @Override
+    public TransportConfig getConfig() {
+        return clients.getConfig();
+    }
+
+    /** @return The leased, pending and available connections of both pools */
+    @Override
+    public ConnectionPoolStats getPoolStats() {
+        ConnectionPoolStats sync = clients.getSyncPoolStats();
+        ConnectionPoolStats async = clients.getAsyncPoolStats();
+        return new ConnectionPoolStats(
+                sync.getLeased() + async.getLeased(),
+                sync.getPending() + async.getPending(),
+                sync.getAvailable() + async.getAvailable(),
+                sync.getMax() + async.getMax()
+        );
+    }
+
+    @Override
+    public void evictIdleConnections() {
+        clients.evictIdleConnections();
+    }
+
+    @Override
+    public void close() throws IOException {
+        clients.close();
+    }
+
+}
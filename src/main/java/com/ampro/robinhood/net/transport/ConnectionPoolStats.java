@@ -0,0 +1,51 @@
+package com.ampro.robinhood.net.transport;
+
+/**
+ * A snapshot of a connection pool, used to size
+ * {@link TransportConfig#getMaxConnectionsPerRoute()} and
+ * {@link TransportConfig#getMaxConnectionsTotal()}. Requests waiting for a
+ * connection ({@link #getPending()}) mean the pool is too small.
+ *
+ * @author Jonathan Augustine
+ */
+public class ConnectionPoolStats {
+
+    private final int leased;
+    private final int pending;
+    private final int available;
+    private final int max;
+
+    public ConnectionPoolStats(int leased, int pending, int available, int max) {
+        this.leased = leased;
+        this.pending = pending;
+        this.available = available;
+        this.max = max;
+    }
+
+    /** @return The number of connections currently sending a request */
+    public int getLeased() {
+        return leased;
+    }
+
+    /** @return The number of requests waiting for a connection */
+    public int getPending() {
+        return pending;
+    }
+
+    /** @return The number of idle connections kept alive */
+    public int getAvailable() {
+        return available;
+    }
+
+    /** @return The maximum number of connections */
+    public int getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "[leased: " + leased + "; pending: " + pending
+                + "; available: " + available + "; max: " + max + "]";
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.ampro.robinhood.net.transport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.throwables.RobinhoodApiException;
+
+/**
+ * Sends the HTTP request described by an {@link ApiMethod} and hands back
+ * the raw response. The
+ * {@link com.ampro.robinhood.net.request.RequestManager} takes care of rate
+ * limiting, retries and parsing, so a transport only deals with the wire.
+ * <p>
+ * {@link UnirestTransport} is used by default.
+ * {@link HttpTransports#http2(TransportConfig)} provides one built on the
+ * Java 11 {@code java.net.http.HttpClient}, which multiplexes concurrent
+ * requests over a single HTTP/2 connection.
+ * <p>
+ * Only GET and POST requests are sent.
+ *
+ * @author Jonathan Augustine
+ */
+public interface HttpTransport extends Closeable {
+
+    /**
+     * Send the request, blocking until the response headers have arrived
+     * @param method The request to send
+     * @return The response, whose body may still be streaming in
+     * @throws RobinhoodApiException If the request could not be sent
+     */
+    TransportResponse send(ApiMethod method) throws RobinhoodApiException;
+
+    /**
+     * Send the request without blocking the calling thread
+     * @param method The request to send
+     * @return A {@link CompletableFuture} of the response, completed
+     *          exceptionally with a {@link RobinhoodApiException} if the
+     *          request could not be sent
+     */
+    CompletableFuture<TransportResponse> sendAsync(ApiMethod method);
+
+    /** @return The settings the transport was built with, or {@code null} */
+    TransportConfig getConfig();
+
+    /**
+     * @return A snapshot of the transport's connection pool, or {@code null}
+     *          if it does not expose one
+     */
+    default ConnectionPoolStats getPoolStats() {
+        return null;
+    }
+
+    /**
+     * Close the connections that have been idle for longer than
+     * {@link TransportConfig#getIdleEvictionMillis()}. Called periodically
+     * by the {@link com.ampro.robinhood.net.request.RequestManager}.
+     */
+    default void evictIdleConnections() {
+    }
+
+    /**
+     * Close the transport and its connections
+     * @throws IOException If the transport failed to close
+     */
+    @Override
+    void close() throws IOException;
+
+}
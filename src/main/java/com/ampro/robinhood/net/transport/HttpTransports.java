@@ -0,0 +1,79 @@
+package com.ampro.robinhood.net.transport;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Builds the available {@link HttpTransport HttpTransports}.
+ *
+ * @author Jonathan Augustine
+ */
+public final class HttpTransports {
+
+    /** Compiled for Java 11 and only loadable there */
+    private static final String HTTP2_TRANSPORT =
+            "com.ampro.robinhood.net.transport.Http2Transport";
+
+    private HttpTransports() {}
+
+    /**
+     * @param config The connection pool, timeout and socket settings
+     * @return A transport sending requests with Unirest
+     * @throws IOException If the clients could not be started
+     */
+    public static HttpTransport unirest(TransportConfig config) throws IOException {
+        return new UnirestTransport(config);
+    }
+
+    /**
+     * @param config The connection pool, timeout and socket settings
+     * @return A transport with a connection pool of its own, which is not
+     *          shared with Unirest or any other transport
+     * @throws IOException If the clients could not be started
+     */
+    public static HttpTransport apache(TransportConfig config) throws IOException {
+        return new ApacheTransport(config);
+    }
+
+    /** @return {@code true} if {@link #http2(TransportConfig)} can be used */
+    public static boolean isHttp2Available() {
+        try {
+            Class.forName("java.net.http.HttpClient");
+            Class.forName(HTTP2_TRANSPORT);
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Build a transport on the Java 11 {@code java.net.http.HttpClient},
+     * which negotiates HTTP/2 and multiplexes concurrent requests over one
+     * connection per host. Only the timeout settings of the config apply;
+     * the client manages its own connections.
+     * @param config The timeout settings
+     * @return The transport
+     * @throws UnsupportedOperationException If running on Java 8-10
+     */
+    public static HttpTransport http2(TransportConfig config) {
+        if (!isHttp2Available()) {
+            throw new UnsupportedOperationException(
+                    "The HTTP/2 transport requires Java 11 or later"
+            );
+        }
+        try {
+            return (HttpTransport) Class.forName(HTTP2_TRANSPORT)
+                    .getConstructor(TransportConfig.class)
+                    .newInstance(config);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(
+                    "Failed to build the HTTP/2 transport", e.getCause()
+            );
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(
+                    "Failed to build the HTTP/2 transport", e
+            );
+        }
+    }
+
+}
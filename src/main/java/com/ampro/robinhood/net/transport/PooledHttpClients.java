@@ -0,0 +1,161 @@
+package com.ampro.robinhood.net.transport;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.pool.PoolStats;
+
+import io.github.openunirest.http.Unirest;
+
+/**
+ * The pooled synchronous and asynchronous HTTP clients built from a
+ * {@link TransportConfig}, which Unirest sends every request with once
+ * {@link #install() installed}, or an {@link ApacheTransport} uses on its
+ * own.
+ *
+ * @author Jonathan Augustine
+ */
+public class PooledHttpClients {
+
+    private final TransportConfig config;
+
+    private final PoolingHttpClientConnectionManager syncPool;
+    private final CloseableHttpClient syncClient;
+
+    private final PoolingNHttpClientConnectionManager asyncPool;
+    private final CloseableHttpAsyncClient asyncClient;
+
+    /**
+     * Build the clients
+     * @param config The transport settings
+     * @throws IOException If the asynchronous I/O reactor could not start
+     */
+    public PooledHttpClients(TransportConfig config) throws IOException {
+        this.config = config;
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(config.getConnectTimeoutMillis())
+                .setSocketTimeout(config.getReadTimeoutMillis())
+                .setConnectionRequestTimeout(config.getPoolTimeoutMillis())
+                .build();
+        //Use the server's Keep-Alive header, our own limit if there is none
+        long keepAlive = config.getKeepAliveMillis();
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+            long duration = DefaultConnectionKeepAliveStrategy.INSTANCE
+                    .getKeepAliveDuration(response, context);
+            return duration > 0 ? Math.min(duration, keepAlive) : keepAlive;
+        };
+
+        this.syncPool = new PoolingHttpClientConnectionManager();
+        syncPool.setMaxTotal(config.getMaxConnectionsTotal());
+        syncPool.setDefaultMaxPerRoute(config.getMaxConnectionsPerRoute());
+        syncPool.setDefaultSocketConfig(SocketConfig.custom()
+                .setTcpNoDelay(config.isTcpNoDelay())
+                .setSoKeepAlive(true)
+                .setSoTimeout(config.getReadTimeoutMillis())
+                .build());
+        this.syncClient = HttpClients.custom()
+                .setConnectionManager(syncPool)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .build();
+
+        this.asyncPool = new PoolingNHttpClientConnectionManager(
+                new DefaultConnectingIOReactor(IOReactorConfig.custom()
+                        .setTcpNoDelay(config.isTcpNoDelay())
+                        .setSoKeepAlive(true)
+                        .setConnectTimeout(config.getConnectTimeoutMillis())
+                        .setSoTimeout(config.getReadTimeoutMillis())
+                        .build())
+        );
+        asyncPool.setMaxTotal(config.getMaxConnectionsTotal());
+        asyncPool.setDefaultMaxPerRoute(config.getMaxConnectionsPerRoute());
+        this.asyncClient = HttpAsyncClients.custom()
+                .setConnectionManager(asyncPool)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .build();
+    }
+
+    /** Make Unirest send every request with these clients */
+    public void install() {
+        start();
+        Unirest.setHttpClient(syncClient);
+        Unirest.setAsyncHttpClient(asyncClient);
+    }
+
+    /** Start the asynchronous client's I/O reactor, if not yet running */
+    void start() {
+        if (!asyncClient.isRunning()) {
+            asyncClient.start();
+        }
+    }
+
+    /** @return The client blocking requests are sent with */
+    CloseableHttpClient getSyncClient() {
+        return syncClient;
+    }
+
+    /** @return The client asynchronous requests are sent with */
+    CloseableHttpAsyncClient getAsyncClient() {
+        return asyncClient;
+    }
+
+    /**
+     * Close the connections that have been idle longer than
+     * {@link TransportConfig#getIdleEvictionMillis()} or whose keep-alive
+     * has expired, so requests are not sent on sockets the server dropped.
+     */
+    public void evictIdleConnections() {
+        long idle = config.getIdleEvictionMillis();
+        syncPool.closeExpiredConnections();
+        syncPool.closeIdleConnections(idle, TimeUnit.MILLISECONDS);
+        asyncPool.closeExpiredConnections();
+        asyncPool.closeIdleConnections(idle, TimeUnit.MILLISECONDS);
+    }
+
+    /** @return The settings the clients were built with */
+    public TransportConfig getConfig() {
+        return config;
+    }
+
+    /** @return A snapshot of the synchronous client's connection pool */
+    public ConnectionPoolStats getSyncPoolStats() {
+        return toStats(syncPool.getTotalStats());
+    }
+
+    /** @return A snapshot of the asynchronous client's connection pool */
+    public ConnectionPoolStats getAsyncPoolStats() {
+        return toStats(asyncPool.getTotalStats());
+    }
+
+    private static ConnectionPoolStats toStats(PoolStats stats) {
+        return new ConnectionPoolStats(stats.getLeased(), stats.getPending(),
+                                       stats.getAvailable(), stats.getMax());
+    }
+
+    /**
+     * Close both clients and their connections
+     * @throws IOException If a client failed to close
+     */
+    public void close() throws IOException {
+        try {
+            syncClient.close();
+        } finally {
+            asyncClient.close();
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.ampro.robinhood.net.transport;
+
+/**
+ * Connection pool, keep-alive, timeout and socket settings of the HTTP
+ * clients every request is sent with.
+ * <p>
+ * The defaults allow enough concurrent connections to api.robinhood.com
+ * for bulk and asynchronous requests. Changes only take effect once the
+ * settings are installed with
+ * {@link com.ampro.robinhood.net.request.RequestManager#configureTransport(TransportConfig)}.
+ *
+ * @author Jonathan Augustine
+ */
+public class TransportConfig {
+
+    /** The maximum number of open connections across every host */
+    private int maxConnectionsTotal = 64;
+
+    /** The maximum number of open connections to a single host */
+    private int maxConnectionsPerRoute = 32;
+
+    /** How long to wait for a connection to be established (millis) */
+    private int connectTimeoutMillis = 10_000;
+
+    /** How long to wait for data on an open connection (millis) */
+    private int readTimeoutMillis = 30_000;
+
+    /** How long to wait for a free connection from the pool (millis) */
+    private int poolTimeoutMillis = 10_000;
+
+    /**
+     * How long an idle connection is kept alive when the server does not
+     * say (millis)
+     */
+    private long keepAliveMillis = 60_000;
+
+    /** How long a connection may sit idle before it is closed (millis) */
+    private long idleEvictionMillis = 30_000;
+
+    /** Whether Nagle's algorithm is disabled on every socket */
+    private boolean tcpNoDelay = true;
+
+    public int getMaxConnectionsTotal() {
+        return maxConnectionsTotal;
+    }
+
+    public void setMaxConnectionsTotal(int maxConnectionsTotal) {
+        this.maxConnectionsTotal = maxConnectionsTotal;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    public int getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public void setConnectTimeoutMillis(int connectTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+    }
+
+    public int getReadTimeoutMillis() {
+        return readTimeoutMillis;
+    }
+
+    public void setReadTimeoutMillis(int readTimeoutMillis) {
+        this.readTimeoutMillis = readTimeoutMillis;
+    }
+
+    public int getPoolTimeoutMillis() {
+        return poolTimeoutMillis;
+    }
+
+    public void setPoolTimeoutMillis(int poolTimeoutMillis) {
+        this.poolTimeoutMillis = poolTimeoutMillis;
+    }
+
+    public long getKeepAliveMillis() {
+        return keepAliveMillis;
+    }
+
+    public void setKeepAliveMillis(long keepAliveMillis) {
+        this.keepAliveMillis = keepAliveMillis;
+    }
+
+    public long getIdleEvictionMillis() {
+        return idleEvictionMillis;
+    }
+
+    public void setIdleEvictionMillis(long idleEvictionMillis) {
+        this.idleEvictionMillis = idleEvictionMillis;
+    }
+
+    public boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    public void setTcpNoDelay(boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.ampro.robinhood.net.transport;
+
+import java.util.Collection;
+import java.util.Map;
+
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.net.UrlTemplate;
+
+/**
+ * Encodes the url and form body of an {@link ApiMethod} for transports that
+ * build raw HTTP requests. Values are percent-encoded as RFC 3986 asks,
+ * which servers decode the same as Unirest's encoding.
+ *
+ * @author Jonathan Augustine
+ */
+public final class TransportRequests {
+
+    /** The largest buffer kept between requests, in chars */
+    private static final int MAX_BUFFER = 16 * 1024;
+
+    /** Reused by each thread to encode urls and bodies */
+    private static final ThreadLocal<StringBuilder> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private TransportRequests() {}
+
+    /**
+     * @param method The {@link ApiMethod}
+     * @return The base url with the route parameters filled in and the
+     *          query parameters appended
+     */
+    public static String url(ApiMethod method) {
+        UrlTemplate template = method.getUrlTemplate();
+        StringBuilder url = template.render(method.getRouteParameters(), buffer());
+        Map<String, Object> query = method.getQueryParameters();
+        if (!query.isEmpty()) {
+            int length = url.length();
+            url.append(template.hasQuery() ? '&' : '?');
+            if (!encodeParameters(query, url)) {
+                //Only empty collections, there is no query
+                url.setLength(length);
+            }
+        }
+        return url.toString();
+    }
+
+    /**
+     * @param method The {@link ApiMethod}
+     * @return The field parameters as an
+     *          {@code application/x-www-form-urlencoded} body
+     */
+    public static String formBody(ApiMethod method) {
+        StringBuilder body = buffer();
+        encodeParameters(method.getFieldParameters(), body);
+        return body.toString();
+    }
+
+    /** @return The thread's empty buffer */
+    private static StringBuilder buffer() {
+        StringBuilder buffer = BUFFER.get();
+        if (buffer.capacity() > MAX_BUFFER) {
+            //Do not hold on to the memory of one huge request
+            buffer = new StringBuilder(256);
+            BUFFER.set(buffer);
+        }
+        buffer.setLength(0);
+        return buffer;
+    }
+
+    /**
+     * Encode the parameters, repeating the key of collection values
+     * @return {@code true} if any parameter was written
+     */
+    private static boolean encodeParameters(Map<String, Object> parameters,
+                                            StringBuilder out) {
+        int start = out.length();
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            Object value = parameter.getValue();
+            if (value instanceof Collection) {
+                for (Object item : (Collection<?>) value) {
+                    append(out, start, parameter.getKey(), item);
+                }
+            } else {
+                append(out, start, parameter.getKey(), value);
+            }
+        }
+        return out.length() > start;
+    }
+
+    private static void append(StringBuilder out, int start, String key,
+                               Object value) {
+        if (out.length() > start) {
+            out.append('&');
+        }
+        UrlTemplate.encode(key, out);
+        out.append('=');
+        if (value != null) {
+            UrlTemplate.encode(value.toString(), out);
+        }
+    }
+
+}
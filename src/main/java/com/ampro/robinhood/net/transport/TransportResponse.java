@@ -0,0 +1,52 @@
+package com.ampro.robinhood.net.transport;
+
+import java.io.InputStream;
+import java.util.function.Function;
+
+/**
+ * The status, headers and body stream of a response received by a
+ * {@link HttpTransport}
+ *
+ * @author Jonathan Augustine
+ */
+public class TransportResponse {
+
+    private final int status;
+
+    /** Looks up the first value of a header, ignoring case */
+    private final Function<String, String> headers;
+
+    private final InputStream body;
+
+    /**
+     * @param status The HTTP status code
+     * @param headers Looks up the first value of a header by name,
+     *                returning {@code null} if it is missing
+     * @param body The response body
+     */
+    public TransportResponse(int status, Function<String, String> headers,
+                             InputStream body) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    /** @return The HTTP status code */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @param name The header name
+     * @return The first value of the header, or {@code null} if missing
+     */
+    public String getHeader(String name) {
+        return headers.apply(name);
+    }
+
+    /** @return The response body, read once by the caller */
+    public InputStream getBody() {
+        return body;
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.ampro.robinhood.net.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.http.impl.client.HttpClients;
+
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.throwables.RobinhoodApiException;
+
+import io.github.openunirest.http.HttpResponse;
+import io.github.openunirest.http.Unirest;
+import io.github.openunirest.http.async.Callback;
+import io.github.openunirest.http.exceptions.UnirestException;
+import io.github.openunirest.request.HttpRequest;
+
+/**
+ * The default {@link HttpTransport}, sending requests with Unirest over
+ * pooled Apache HTTP/1.1 clients.
+ * <p>
+ * Unirest's clients are global, so building a transport replaces the
+ * clients of every other Unirest user in the JVM.
+ *
+ * @author Conrad Weise, modified by Jonathan Augustine
+ */
+public class UnirestTransport implements HttpTransport {
+
+    private static final Logger LOGGER = Logger.getLogger(UnirestTransport.class.getName());
+
+    /** The pooled clients, or {@code null} when using Unirest's defaults */
+    private final PooledHttpClients clients;
+
+    /**
+     * Send requests over pooled clients built from the settings
+     * @param config The connection pool, timeout and socket settings
+     * @throws IOException If the clients could not be started
+     */
+    public UnirestTransport(TransportConfig config) throws IOException {
+        this.clients = new PooledHttpClients(config);
+        clients.install();
+    }
+
+    /** Send requests over Unirest's default, unpooled clients */
+    public UnirestTransport() {
+        this.clients = null;
+        Unirest.setHttpClient(HttpClients.createDefault());
+    }
+
+    @Override
+    public TransportResponse send(ApiMethod method) throws RobinhoodApiException {
+        try {
+            //Make the request
+            return toResponse(buildRequest(method).asBinary());
+        }
+        catch (UnirestException ex) {
+            LOGGER.log(Level.FINE, "Failed to communicate with " + method, ex);
+            throw new RobinhoodApiException("Failed to communicate with endpoint", ex);
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> sendAsync(ApiMethod method) {
+        CompletableFuture<TransportResponse> future = new CompletableFuture<>();
+        HttpRequest request;
+        try {
+            request = buildRequest(method);
+        } catch (RobinhoodApiException ex) {
+            future.completeExceptionally(ex);
+            return future;
+        }
+        request.asBinaryAsync(new Callback<InputStream>() {
+            @Override
+            public void completed(HttpResponse<InputStream> response) {
+                future.complete(toResponse(response));
+            }
+
+            @Override
+            public void failed(UnirestException ex) {
+                future.completeExceptionally(new RobinhoodApiException(
+                        "Failed to communicate with endpoint", ex
+                ));
+            }
+
+            @Override
+            public void cancelled() {
+                future.cancel(false);
+            }
+        });
+        return future;
+    }
+
+    private static TransportResponse toResponse(HttpResponse<InputStream> response) {
+        return new TransportResponse(
+                response.getStatus(),
+                name -> response.getHeaders() == null
+                        ? null : response.getHeaders().getFirst(name),
+                response.getBody()
+        );
+    }
+
+    /**
+     * Build the Unirest request for the given {@link ApiMethod}
+     * @param method The {@link ApiMethod} to build a request of
+     * @return The request
+     * @throws RobinhoodApiException If the request type is not supported
+     */
+    private HttpRequest buildRequest(ApiMethod method) throws RobinhoodApiException {
+        //Which request type are we using? Delegate it to the proper method
+        switch(method.getMethodType()) {
+        case GET: return this.buildGetRequest(method);
+        case POST: return this.buildPostRequest(method);
+        default:
+            throw new RobinhoodApiException(
+                    "Unsupported request type " + method.getMethodType()
+            );
+        }
+    }
+
+    /**
+     * Method which builds a Unirest POST request to the URL of the
+     * ApiMethod, rendered by {@link TransportRequests#url(ApiMethod)}
+     */
+    private HttpRequest buildPostRequest(ApiMethod method) {
+
+        return Unirest.post(TransportRequests.url(method))
+                      .headers(method.getHeaderParameters())
+                      .fields(method.getFieldParameters())
+                      .getHttpRequest();
+    }
+
+    /**
+     * Method which builds a Unirest GET request to the URL of the
+     * ApiMethod, rendered by {@link TransportRequests#url(ApiMethod)}
+     */
+    private HttpRequest buildGetRequest(ApiMethod method) {
+
+        return Unirest.get(TransportRequests.url(method))
+                      .headers(method.getHeaderParameters())
+                      .getHttpRequest();
+    }
+
+    @Override
+    public TransportConfig getConfig() {
+        return clients == null ? null : clients.getConfig();
+    }
+
+    /** @return The leased, pending and available connections of both pools */
+    @Override
+    public ConnectionPoolStats getPoolStats() {
+        if (clients == null) {
+            return null;
+        }
+        ConnectionPoolStats sync = clients.getSyncPoolStats();
+        ConnectionPoolStats async = clients.getAsyncPoolStats();
+        return new ConnectionPoolStats(
+                sync.getLeased() + async.getLeased(),
+                sync.getPending() + async.getPending(),
+                sync.getAvailable() + async.getAvailable(),
+                sync.getMax() + async.getMax()
+        );
+    }
+
+    /** @return A snapshot of the pool used by blocking requests */
+    public ConnectionPoolStats getSyncPoolStats() {
+        return clients == null ? null : clients.getSyncPoolStats();
+    }
+
+    /** @return A snapshot of the pool used by asynchronous requests */
+    public ConnectionPoolStats getAsyncPoolStats() {
+        return clients == null ? null : clients.getAsyncPoolStats();
+    }
+
+    @Override
+    public void evictIdleConnections() {
+        if (clients != null) {
+            clients.evictIdleConnections();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (clients != null) {
+            clients.close();
+        }
+    }
+
+}
@@ -0,0 +1,451 @@
+package com.ampro.robinhood.session;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.ampro.robinhood.RobinhoodApi;
+import com.ampro.robinhood.endpoint.account.data.AccountElement;
+import com.ampro.robinhood.endpoint.account.data.PositionElement;
+import com.ampro.robinhood.net.request.RequestManager;
+import com.ampro.robinhood.net.request.ratelimiting.TokenBucket;
+import com.ampro.robinhood.throwables.RobinhoodApiException;
+import com.ampro.robinhood.throwables.RobinhoodNotLoggedInException;
+
+/**
+ * Runs the requests of many logged in accounts over one
+ * {@link RequestManager}, so they share its transport and endpoint rate
+ * limits.
+ * <p>
+ * Calls are queued per account and started round-robin: each account with
+ * queued calls gets a turn before any account gets a second one, so one
+ * busy account cannot starve the others. Every account also has a rate
+ * budget of its own, and at most {@link #getMaxConcurrent()} calls run at
+ * once. The calls run on the manager's
+ * {@link RequestManager#getExecutor() executor}, which can be switched to
+ * virtual threads.
+ * <pre>{@code
+ * SessionPool pool = new SessionPool();
+ * pool.login("first@example.com", "password");
+ * pool.login("second@example.com", "password");
+ * Map<String, List<PositionElement>> positions = pool.getAllPositions().join();
+ * }</pre>
+ *
+ * @author Jonathan Augustine
+ */
+public class SessionPool implements AutoCloseable {
+
+    /** How many calls run at once by default */
+    public static final int DEFAULT_MAX_CONCURRENT = 16;
+
+    /** The sustained calls per second of an account by default */
+    public static final double DEFAULT_PERMITS_PER_SECOND = 2;
+
+    /** How many calls an account may start back to back by default */
+    public static final int DEFAULT_BURST = 5;
+
+    /** Starts the calls of accounts whose budget was spent, once it refills */
+    private static final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "robinhood-api-session-pool");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /** A request for an account, made with the account's api */
+    @FunctionalInterface
+    public interface AccountCall<T> {
+        /**
+         * @param api The logged in api of the account
+         * @return The result of the call
+         * @throws RobinhoodApiException If the request failed
+         */
+        T call(RobinhoodApi api) throws RobinhoodApiException;
+    }
+
+    private final RequestManager requestManager;
+
+    private final int maxConcurrent;
+
+    private final double permitsPerSecond;
+
+    private final int burst;
+
+    /** The sessions by account number, guarded by this */
+    private final Map<String, Session> sessions = new TreeMap<>();
+
+    /** The sessions with queued calls, in turn order. Guarded by this */
+    private final Deque<Session> ready = new ArrayDeque<>();
+
+    /** The number of calls running, guarded by this */
+    private int running;
+
+    /** Starts calls once a spent budget refills, guarded by this */
+    private ScheduledFuture<?> wakeUp;
+
+    private boolean closed;
+
+    /**
+     * A pool over the shared {@link RequestManager} with the default
+     * concurrency and per-account budget
+     */
+    public SessionPool() {
+        this(RequestManager.getInstance(), DEFAULT_MAX_CONCURRENT,
+             DEFAULT_PERMITS_PER_SECOND, DEFAULT_BURST);
+    }
+
+    /**
+     * @param requestManager The manager the accounts' requests are sent with
+     * @param maxConcurrent How many calls run at once, over every account
+     * @param permitsPerSecond The sustained calls per second of each account
+     * @param burst How many calls an account may start back to back
+     */
+    public SessionPool(RequestManager requestManager, int maxConcurrent,
+                       double permitsPerSecond, int burst) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException(
+                    "maxConcurrent must be positive: " + maxConcurrent);
+        }
+        //Fail now rather than when the first account is added
+        new TokenBucket(permitsPerSecond, burst);
+        this.requestManager = requestManager;
+        this.maxConcurrent = maxConcurrent;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+    }
+
+    /**
+     * Log an account in and add it to the pool
+     * @param username The user's email
+     * @param password The user's password
+     * @return The account number the account is pooled under
+     * @throws RobinhoodNotLoggedInException If the login failed
+     */
+    public String login(String username, String password)
+    throws RobinhoodNotLoggedInException {
+        RobinhoodApi api = new RobinhoodApi(username, password, requestManager);
+        String accountNumber = api.getAccountNumber();
+        add(accountNumber, api);
+        return accountNumber;
+    }
+
+    /**
+     * Add a logged in api to the pool under its account number
+     * @param api The api, which should send with this pool's manager
+     * @return The account number
+     * @throws RobinhoodNotLoggedInException If the api is not logged in
+     */
+    public String add(RobinhoodApi api) throws RobinhoodNotLoggedInException {
+        String accountNumber = api.getAccountNumber();
+        add(accountNumber, api);
+        return accountNumber;
+    }
+
+    /**
+     * Add an api to the pool. If the account is already pooled, e.g. after
+     * logging in again, its queued calls are made with the new api.
+     * @param accountNumber The account number to pool the api under
+     * @param api The api, which should send with this pool's manager
+     */
+    public synchronized void add(String accountNumber, RobinhoodApi api) {
+        checkOpen();
+        Session session = sessions.get(accountNumber);
+        if (session != null) {
+            session.api = api;
+        } else {
+            sessions.put(accountNumber, new Session(accountNumber, api,
+                    new TokenBucket(permitsPerSecond, burst)));
+        }
+    }
+
+    /**
+     * Remove an account from the pool. Its queued calls are cancelled; the
+     * running ones finish.
+     * @param accountNumber The account number
+     * @return {@code true} if the account was pooled
+     */
+    public boolean remove(String accountNumber) {
+        List<Call<?>> cancelled;
+        synchronized (this) {
+            Session session = sessions.remove(accountNumber);
+            if (session == null) {
+                return false;
+            }
+            ready.remove(session);
+            cancelled = new ArrayList<>(session.queue);
+            session.queue.clear();
+        }
+        cancelled.forEach(call -> call.future.cancel(false));
+        return true;
+    }
+
+    /** @return The pooled account numbers, in order */
+    public synchronized Set<String> getAccountNumbers() {
+        return Collections.unmodifiableSet(new TreeSet<>(sessions.keySet()));
+    }
+
+    /**
+     * @param accountNumber The account number
+     * @return The api of the account, or {@code null} if it is not pooled
+     */
+    public synchronized RobinhoodApi getApi(String accountNumber) {
+        Session session = sessions.get(accountNumber);
+        return session == null ? null : session.api;
+    }
+
+    /**
+     * Queue a call for one account
+     * @param accountNumber The account to make the call for
+     * @param call The call
+     * @param <T> The result of the call
+     * @return A {@link CompletableFuture} of the result, completed
+     *          exceptionally with the call's exception, or cancelled if the
+     *          account is removed before the call starts
+     * @throws IllegalArgumentException If the account is not pooled
+     */
+    public <T> CompletableFuture<T> submit(String accountNumber,
+                                           AccountCall<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        synchronized (this) {
+            checkOpen();
+            Session session = sessions.get(accountNumber);
+            if (session == null) {
+                throw new IllegalArgumentException(
+                        "No pooled account " + accountNumber);
+            }
+            session.queue.add(new Call<>(call, future));
+            if (session.queue.size() == 1) {
+                ready.add(session);
+            }
+        }
+        dispatch();
+        return future;
+    }
+
+    /**
+     * Queue the call for every pooled account
+     * @param call The call
+     * @param <T> The result of the call
+     * @return The future result of each account, by account number
+     */
+    public <T> Map<String, CompletableFuture<T>> submitAll(AccountCall<T> call) {
+        Map<String, CompletableFuture<T>> futures = new TreeMap<>();
+        for (String accountNumber : getAccountNumbers()) {
+            try {
+                futures.put(accountNumber, submit(accountNumber, call));
+            } catch (IllegalArgumentException removed) {
+                //Removed since the account numbers were listed
+            }
+        }
+        return futures;
+    }
+
+    /**
+     * Make the call for every pooled account concurrently
+     * @param call The call
+     * @param <T> The result of the call
+     * @return A {@link CompletableFuture} of every account's result by
+     *          account number, completed exceptionally if any call failed.
+     *          Use {@link #submitAll} to keep the results that succeeded.
+     */
+    public <T> CompletableFuture<Map<String, T>> invokeAll(AccountCall<T> call) {
+        Map<String, CompletableFuture<T>> futures = submitAll(call);
+        return CompletableFuture
+                .allOf(futures.values().toArray(new CompletableFuture<?>[0]))
+                .thenApply(done -> {
+                    Map<String, T> results = new TreeMap<>();
+                    futures.forEach((account, future) ->
+                            results.put(account, future.join()));
+                    return results;
+                });
+    }
+
+    /** @return The positions of every pooled account, by account number */
+    public CompletableFuture<Map<String, List<PositionElement>>> getAllPositions() {
+        return invokeAll(RobinhoodApi::getAccountPositions);
+    }
+
+    /** @return The account data of every pooled account, by account number */
+    public CompletableFuture<Map<String, AccountElement>> getAllAccountData() {
+        return invokeAll(RobinhoodApi::getAccountData);
+    }
+
+    /** @return How many calls run at once, over every account */
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /** @return The number of calls running */
+    public synchronized int getRunningCount() {
+        return running;
+    }
+
+    /** @return The number of calls waiting for their turn */
+    public synchronized int getQueuedCount() {
+        int queued = 0;
+        for (Session session : ready) {
+            queued += session.queue.size();
+        }
+        return queued;
+    }
+
+    /**
+     * Remove every account, cancelling their queued calls. The running
+     * calls finish.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            if (wakeUp != null) {
+                wakeUp.cancel(false);
+                wakeUp = null;
+            }
+        }
+        for (String accountNumber : getAccountNumbers()) {
+            remove(accountNumber);
+        }
+    }
+
+    /** Must hold the lock */
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("The session pool is closed");
+        }
+    }
+
+    /**
+     * Start as many queued calls as the concurrency limit allows, taking
+     * one from each account in turn. Accounts whose budget is spent keep
+     * their turn and are woken up when their next token is due.
+     */
+    private void dispatch() {
+        List<Runnable> started = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            long nextDue = Long.MAX_VALUE;
+            //Each waiting account is looked at once per pass
+            int waiting = 0;
+            while (running < maxConcurrent && waiting < ready.size()) {
+                Session session = ready.poll();
+                long due = session.due(now);
+                if (due > 0) {
+                    ready.add(session);
+                    nextDue = Math.min(nextDue, due);
+                    waiting++;
+                    continue;
+                }
+                Call<?> call = session.queue.poll();
+                if (!session.queue.isEmpty()) {
+                    ready.add(session);
+                }
+                running++;
+                started.add(() -> run(session, call));
+            }
+            if (nextDue != Long.MAX_VALUE && running < maxConcurrent
+                    && !closed && wakeUp == null) {
+                wakeUp = scheduler.schedule(() -> {
+                    synchronized (this) {
+                        wakeUp = null;
+                    }
+                    dispatch();
+                }, nextDue, TimeUnit.NANOSECONDS);
+            }
+        }
+        Executor executor = requestManager.getExecutor();
+        for (Runnable task : started) {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException ex) {
+                //The executor is being replaced, run the call here
+                task.run();
+            }
+        }
+    }
+
+    private <T> void run(Session session, Call<T> call) {
+        try {
+            if (!call.future.isDone()) {
+                call.future.complete(call.call.call(session.api));
+            }
+        } catch (RobinhoodApiException | RuntimeException ex) {
+            call.future.completeExceptionally(ex);
+        } finally {
+            synchronized (this) {
+                running--;
+            }
+            dispatch();
+        }
+    }
+
+    /** The api, budget and queued calls of one account */
+    private static final class Session {
+        final String accountNumber;
+        final TokenBucket budget;
+        final Deque<Call<?>> queue = new ArrayDeque<>();
+        volatile RobinhoodApi api;
+
+        /** When the reserved token of the budget is due, if one is reserved */
+        long reservedAt;
+        boolean reserved;
+
+        Session(String accountNumber, RobinhoodApi api, TokenBucket budget) {
+            this.accountNumber = accountNumber;
+            this.api = api;
+            this.budget = budget;
+        }
+
+        /**
+         * Take a token for the next call. A token that is not yet due is
+         * reserved and handed out once it is.
+         * @return {@code 0} if the call may start, otherwise how many
+         *          nanoseconds until it may
+         */
+        long due(long now) {
+            if (!reserved) {
+                long wait = budget.reserve(now);
+                if (wait == 0) {
+                    return 0;
+                }
+                reserved = true;
+                reservedAt = now + wait;
+            }
+            long wait = reservedAt - now;
+            if (wait > 0) {
+                return wait;
+            }
+            reserved = false;
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return accountNumber;
+        }
+    }
+
+    /** A queued call and its result */
+    private static final class Call<T> {
+        final AccountCall<T> call;
+        final CompletableFuture<T> future;
+
+        Call(AccountCall<T> call, CompletableFuture<T> future) {
+            this.call = call;
+            this.future = future;
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.ampro.robinhood.throwables;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thrown when a request that was split into several chunks had some chunks
+ * fail. The results of the chunks that succeeded are not lost: they are
+ * available from {@link #getPartialResult()}, with the entries of the failed
+ * chunks left {@code null}. Failures are keyed by the index of their chunk,
+ * since two chunks may hold the same keys.
+ * @author Jonathan Augustine
+ */
+public class PartialResultException extends RobinhoodApiException {
+
+    private static final long serialVersionUID = 3305720148471934511L;
+
+    private final transient Object partialResult;
+
+    private final transient List<List<String>> chunks;
+
+    private final transient Map<Integer, Throwable> failures;
+
+    /**
+     * @param partialResult The result built from the chunks that succeeded
+     * @param chunks The keys of every chunk, in order
+     * @param failures Why each failed chunk failed, keyed by chunk index
+     */
+    public PartialResultException(Object partialResult,
+                                  List<List<String>> chunks,
+                                  Map<Integer, Throwable> failures) {
+        super(failures.size() + " chunk(s) of the request failed");
+        this.partialResult = partialResult;
+        this.chunks = Collections.unmodifiableList(chunks);
+        this.failures = Collections.unmodifiableMap(failures);
+    }
+
+    /**
+     * @param <T> The type of the full result of the request
+     * @return The result built from the chunks that succeeded
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getPartialResult() {
+        return (T) this.partialResult;
+    }
+
+    /** @return The keys of every chunk, in order */
+    public List<List<String>> getChunks() {
+        return this.chunks;
+    }
+
+    /**
+     * @return The index of each failed chunk in {@link #getChunks()}, mapped
+     *          to why it failed
+     */
+    public Map<Integer, Throwable> getFailures() {
+        return this.failures;
+    }
+
+}
@@ -13,6 +13,11 @@ public class RobinhoodApiException extends Exception {
 		this.error = errorMessage;
 	}
 
+	public RobinhoodApiException(String errorMessage, Throwable cause) {
+		super(cause);
+		this.error = errorMessage;
+	}
+
 	@Override
 	public String getMessage() {
 		return this.error == null
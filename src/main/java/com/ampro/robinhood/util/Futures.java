@@ -0,0 +1,71 @@
+package com.ampro.robinhood.util;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import com.ampro.robinhood.throwables.RobinhoodApiException;
+
+/**
+ * Small helpers for working with {@link CompletableFuture CompletableFutures}
+ * on Java 8.
+ * @author Jonathan Augustine
+ */
+public final class Futures {
+
+    private Futures() {}
+
+    /**
+     * @param ex The cause of the failure
+     * @param <T> The type of the future
+     * @return A {@link CompletableFuture} already completed exceptionally
+     */
+    public static <T> CompletableFuture<T> failed(Throwable ex) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(ex);
+        return future;
+    }
+
+    /**
+     * Wait for the future and rethrow its failure the way the blocking API
+     * would have thrown it.
+     * @param future The future to wait on
+     * @param <T> The type of the future
+     * @return The value of the future
+     * @throws RobinhoodApiException If the future failed with one, or with a
+     *              checked exception (which is wrapped)
+     */
+    public static <T> T join(CompletableFuture<T> future)
+    throws RobinhoodApiException {
+        try {
+            return future.join();
+        } catch (CancellationException ex) {
+            throw new RobinhoodApiException("The request was cancelled", ex);
+        } catch (CompletionException ex) {
+            Throwable cause = unwrap(ex);
+            if (cause instanceof RobinhoodApiException) {
+                throw (RobinhoodApiException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RobinhoodApiException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * @param ex A failure of a future
+     * @return The underlying cause, without any {@link CompletionException}
+     *          or {@link ExecutionException} wrapping
+     */
+    public static Throwable unwrap(Throwable ex) {
+        while ((ex instanceof CompletionException
+                || ex instanceof ExecutionException) && ex.getCause() != null) {
+            ex = ex.getCause();
+        }
+        return ex;
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.ampro.robinhood;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ampro.robinhood.endpoint.account.data.PositionElement;
+import com.ampro.robinhood.endpoint.instrument.data.InstrumentElement;
+import com.ampro.robinhood.endpoint.instrument.store.InstrumentCache;
+import com.ampro.robinhood.endpoint.instrument.store.InstrumentCatalog;
+import com.ampro.robinhood.endpoint.quote.batch.QuoteBatcher;
+import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElement;
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.net.request.RequestManager;
+import com.ampro.robinhood.net.transport.HttpTransport;
+import com.ampro.robinhood.net.transport.TransportConfig;
+import com.ampro.robinhood.net.transport.TransportRequests;
+import com.ampro.robinhood.net.transport.TransportResponse;
+
+public class OwnRequestManagerTest {
+
+	private static final String INSTRUMENTS = "https://api.robinhood.com/instruments/";
+
+	private static final String INSTRUMENT = INSTRUMENTS + "450dfc6d/";
+
+	private RequestManager requestManager;
+
+	/** The urls sent through the instance's own manager */
+	private final List<String> sent = new CopyOnWriteArrayList<>();
+
+	@Before
+	public void setUp() {
+		requestManager = new RequestManager(new HttpTransport() {
+			@Override
+			public TransportResponse send(ApiMethod method) {
+				String url = TransportRequests.url(method);
+				sent.add(url);
+				String instrument = "{\"url\":\"" + INSTRUMENT + "\",\"symbol\":\"ZZZ\"}";
+				String body;
+				if (url.equals(INSTRUMENT)) {
+					body = instrument;
+				} else if (url.equals(INSTRUMENTS)) {
+					body = "{\"next\":null,\"results\":[" + instrument + "]}";
+				} else {
+					body = "{\"results\":[{\"symbol\":\"ZZZ\",\"ask_price\":\"1.5\"}]}";
+				}
+				return new TransportResponse(200, name -> null, new ByteArrayInputStream(
+						body.getBytes(StandardCharsets.UTF_8)));
+			}
+
+			@Override
+			public CompletableFuture<TransportResponse> sendAsync(ApiMethod method) {
+				return CompletableFuture.completedFuture(send(method));
+			}
+
+			@Override
+			public TransportConfig getConfig() {
+				return null;
+			}
+
+			@Override
+			public void close() {
+			}
+		});
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		requestManager.close();
+	}
+
+	@Test
+	public void sharedInstancesUseTheDefaults() {
+		RobinhoodApi api = new RobinhoodApi(RequestManager.getInstance());
+		assertSame(InstrumentCache.getDefault(), api.getInstrumentCache());
+		assertSame(QuoteBatcher.getDefault(), api.getQuoteBatcher());
+	}
+
+	@Test
+	public void batchedQuotesGoThroughTheOwnManager() throws Exception {
+		RobinhoodApi api = new RobinhoodApi(requestManager);
+		assertNotSame(QuoteBatcher.getDefault(), api.getQuoteBatcher());
+		TickerQuoteElement quote = api.getBatchedQuoteByTickerAsync("ZZZ")
+		                              .get(5, TimeUnit.SECONDS);
+		assertEquals("ZZZ", quote.getSymbol());
+		assertEquals(1, sent.size());
+	}
+
+	@Test
+	public void instrumentsAreLoadedThroughTheOwnManager() throws Exception {
+		RobinhoodApi api = new RobinhoodApi(requestManager);
+		InstrumentElement instrument = api.getInstrumentByUrl(INSTRUMENT);
+		assertEquals("ZZZ", instrument.getSymbol());
+		assertEquals(1, sent.size());
+		assertSame(instrument, api.getInstrumentCache().getBySymbol("ZZZ"));
+		assertNull(InstrumentCache.getDefault().getBySymbol("ZZZ"));
+	}
+
+	@Test
+	public void positionsResolveThroughTheOwningApi() throws Exception {
+		RobinhoodApi api = new RobinhoodApi(requestManager);
+		PositionElement position = new PositionElement();
+		position.instrumentUrl = INSTRUMENT;
+		assertEquals("ZZZ", position.getInstrumentElement(api).getSymbol());
+		assertEquals(Arrays.asList(INSTRUMENT), sent);
+		assertNull(InstrumentCache.getDefault().getBySymbol("ZZZ"));
+	}
+
+	@Test
+	public void catalogsBelongToTheirApi() throws Exception {
+		RobinhoodApi api = new RobinhoodApi(requestManager);
+		Path file = Files.createTempDirectory("catalog").resolve("instruments.bin");
+		InstrumentCatalog catalog = api.useInstrumentCatalog(file, Long.MAX_VALUE);
+		//Waits for the refresh started by useInstrumentCatalog, or runs another
+		catalog.refreshAsync().get(5, TimeUnit.SECONDS);
+		assertSame(catalog, api.getInstrumentCatalog());
+		assertTrue(sent.stream().allMatch(INSTRUMENTS::equals));
+		assertNotSame(catalog, InstrumentCatalog.getDefault());
+		assertNotSame(catalog, new RobinhoodApi().getInstrumentCatalog());
+
+		int refreshes = sent.size();
+		PositionElement position = new PositionElement();
+		position.instrumentUrl = INSTRUMENT;
+		assertEquals("ZZZ", position.getInstrumentElement(api).getSymbol());
+		assertEquals(refreshes, sent.size());
+	}
+
+}
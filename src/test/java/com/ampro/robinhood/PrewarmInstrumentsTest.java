@@ -0,0 +1,80 @@
+package com.ampro.robinhood;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ampro.robinhood.endpoint.instrument.store.InstrumentCache;
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.net.request.RequestManager;
+import com.ampro.robinhood.net.transport.HttpTransport;
+import com.ampro.robinhood.net.transport.TransportConfig;
+import com.ampro.robinhood.net.transport.TransportRequests;
+import com.ampro.robinhood.net.transport.TransportResponse;
+
+public class PrewarmInstrumentsTest {
+
+	private static final String INSTRUMENTS = "https://api.robinhood.com/instruments/";
+
+	private RequestManager requestManager;
+
+	@Before
+	public void setUp() {
+		requestManager = new RequestManager(new HttpTransport() {
+			@Override
+			public TransportResponse send(ApiMethod method) {
+				String url = TransportRequests.url(method);
+				String body;
+				if (url.startsWith(INSTRUMENTS)) {
+					String symbol = url.substring(INSTRUMENTS.length(), url.length() - 1);
+					body = "{\"url\":\"" + url + "\",\"symbol\":\"" + symbol + "\"}";
+				} else {
+					//The fundamentals of AAA and BBB, in the wrong order
+					body = "{\"results\":[{\"instrument\":\"" + INSTRUMENTS + "BBB/\"},"
+							+ "{\"instrument\":\"" + INSTRUMENTS + "AAA/\"}]}";
+				}
+				return new TransportResponse(200, name -> null, new ByteArrayInputStream(
+						body.getBytes(StandardCharsets.UTF_8)));
+			}
+
+			@Override
+			public CompletableFuture<TransportResponse> sendAsync(ApiMethod method) {
+				return CompletableFuture.completedFuture(send(method));
+			}
+
+			@Override
+			public TransportConfig getConfig() {
+				return null;
+			}
+
+			@Override
+			public void close() {
+			}
+		});
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		requestManager.close();
+	}
+
+	@Test
+	public void tickersAreKeyedByTheInstrumentSymbol() throws Exception {
+		RobinhoodApi api = new RobinhoodApi(requestManager);
+		api.prewarmInstruments(Arrays.asList("AAA", "BBB"));
+		InstrumentCache cache = api.getInstrumentCache();
+		assertEquals(INSTRUMENTS + "AAA/", cache.getUrlBySymbol("AAA"));
+		assertEquals(INSTRUMENTS + "BBB/", cache.getUrlBySymbol("BBB"));
+		//Loaded through the instance's own manager, not the shared one
+		assertNull(InstrumentCache.getDefault().getUrlBySymbol("AAA"));
+	}
+
+}
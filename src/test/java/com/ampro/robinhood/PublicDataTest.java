@@ -18,6 +18,7 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 
@@ -64,6 +65,13 @@ public class PublicDataTest {
         api.getFundimentalList(tenTickers);
     }
 
+    @Test
+    public void getFundamentalsBeyondTen() throws RobinhoodApiException {
+        tenTickers.add("GE");
+        Map<String, TickerFundamentalElement> map = api.getFundamentals(tenTickers);
+        assertEquals(tenTickers.size(), map.size());
+    }
+
     //Instruments
     @Test
     public void getInstrumentByTicker() throws RobinhoodApiException {
@@ -127,12 +135,13 @@ public class PublicDataTest {
 
     }
 
-    @Test(expected = RequestTooLargeException.class)
-    public void quotelistTooLarge() throws RobinhoodApiException {
+    @Test
+    public void quoteListLargerThanMaxTickers() throws RobinhoodApiException {
         List<String> tickers = new ArrayList<>();
         List<InstrumentElement> list = getAllInst().subList(0, 1631);
         list.forEach( element -> tickers.add(element.getSymbol()));
-        api.getQuoteListByTickers(tickers);
+        List<TickerQuoteElement> quotes = api.getQuoteListByTickers(tickers);
+        assertEquals(tickers.size(), quotes.size());
     }
 
     //Pagination
@@ -155,4 +164,24 @@ public class PublicDataTest {
         iterable.forEach(instrumentElement -> {});
     }
 
+    @Test
+    public void prefetchingIterable() throws RobinhoodApiException {
+        InstrumentElementList list = requestManager
+                .makeApiRequest(GetAllInstruments.getDefault());
+        Iterable<InstrumentElement> iterable = api.buildIterable(list, 3);
+        iterable.forEach(instrumentElement ->
+                assertEquals(false, instrumentElement == null));
+    }
+
+    @Test
+    public void streamShortCircuits() throws RobinhoodApiException {
+        InstrumentElementList list = requestManager
+                .makeApiRequest(GetAllInstruments.getDefault());
+        InstrumentElement msft = api.stream(list)
+                .filter(instrument -> MSFT.equals(instrument.getSymbol()))
+                .findFirst()
+                .orElse(null);
+        assertEquals(MSFT, msft.getSymbol());
+    }
+
 }
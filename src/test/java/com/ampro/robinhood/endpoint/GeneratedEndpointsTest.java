@@ -0,0 +1,47 @@
+package com.ampro.robinhood.endpoint;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.ampro.robinhood.endpoint.instrument.methods.GeneratedInstrumentEndpoints;
+import com.ampro.robinhood.endpoint.instrument.methods.GetInstrumentByTicker;
+import com.ampro.robinhood.endpoint.quote.methods.GeneratedQuoteEndpoints;
+import com.ampro.robinhood.endpoint.quote.methods.GetTickerQuote;
+import com.ampro.robinhood.endpoint.quote.methods.GetTickerQuoteList;
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.net.transport.TransportRequests;
+
+/**
+ * The generated endpoints must build the same requests as the hand-written
+ * methods they mirror.
+ */
+public class GeneratedEndpointsTest {
+
+	private static void assertSameRequest(ApiMethod expected, ApiMethod actual) {
+		assertEquals(expected.getMethodType(), actual.getMethodType());
+		assertEquals(TransportRequests.url(expected), TransportRequests.url(actual));
+		assertEquals(expected.getHeaderParameters(), actual.getHeaderParameters());
+		assertEquals(expected.getReturnType(), actual.getReturnType());
+		assertEquals(expected.getEndpointFamily(), actual.getEndpointFamily());
+		assertEquals(expected.requiresToken(), actual.requiresToken());
+	}
+
+	@Test
+	public void quotes() throws Exception {
+		assertSameRequest(new GetTickerQuote("MSFT"),
+		                  GeneratedQuoteEndpoints.INSTANCE.tickerQuote("MSFT"));
+		assertSameRequest(new GetTickerQuoteList(Arrays.asList("MSFT", "FIT")),
+		                  GeneratedQuoteEndpoints.INSTANCE.tickerQuoteList(
+				                  Arrays.asList("MSFT", "FIT")));
+	}
+
+	@Test
+	public void instruments() {
+		assertSameRequest(new GetInstrumentByTicker("MSFT"),
+		                  GeneratedInstrumentEndpoints.INSTANCE.instrumentByTicker("MSFT"));
+	}
+
+}
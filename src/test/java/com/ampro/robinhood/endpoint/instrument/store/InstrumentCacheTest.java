@@ -0,0 +1,119 @@
+package com.ampro.robinhood.endpoint.instrument.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ampro.robinhood.endpoint.instrument.data.InstrumentElement;
+import com.ampro.robinhood.endpoint.instrument.data.InstrumentElementList;
+import com.google.gson.Gson;
+
+public class InstrumentCacheTest {
+
+	private InstrumentElement msft;
+
+	private final AtomicInteger requests = new AtomicInteger();
+
+	private final AtomicLong now = new AtomicLong();
+
+	private CompletableFuture<InstrumentElement> pending;
+
+	private InstrumentCache cache;
+
+	@Before
+	public void setUp() throws IOException {
+		try (Reader reader = new InputStreamReader(
+				getClass().getResourceAsStream("/Sample_Instrument"),
+				StandardCharsets.UTF_8)) {
+			msft = new Gson().fromJson(reader, InstrumentElementList.class)
+			                 .getResults().get(0);
+		}
+		pending = new CompletableFuture<>();
+		cache = new InstrumentCache(1000, 100, url -> {
+			requests.incrementAndGet();
+			return pending;
+		}, now::get);
+	}
+
+	@Test
+	public void concurrentMissesShareOneRequest() throws Exception {
+		CompletableFuture<InstrumentElement> first = cache.getAsync(msft.getUrl());
+		CompletableFuture<InstrumentElement> second = cache.getAsync(msft.getUrl());
+		pending.complete(msft);
+
+		assertSame(msft, first.get());
+		assertSame(msft, second.get());
+		assertSame(msft, cache.get(msft.getUrl()));
+		assertSame(msft, cache.getBySymbol("MSFT"));
+		assertEquals(1, requests.get());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(3, cache.getHitCount());
+	}
+
+	@Test
+	public void cancellingOneLookupLeavesTheEntryAlone() throws Exception {
+		cache.getAsync(msft.getUrl()).cancel(true);
+		CompletableFuture<InstrumentElement> second = cache.getAsync(msft.getUrl());
+		pending.complete(msft);
+
+		assertSame(msft, second.get());
+		assertSame(msft, cache.getBySymbol("MSFT"));
+		assertEquals(1, requests.get());
+	}
+
+	@Test
+	public void expiredInstrumentIsLoadedAgain() throws Exception {
+		pending.complete(msft);
+		cache.get(msft.getUrl());
+		now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+		assertNull(cache.getBySymbol("MSFT"));
+		cache.get(msft.getUrl());
+		assertEquals(2, requests.get());
+	}
+
+	@Test
+	public void failedRequestIsNotCached() {
+		pending.completeExceptionally(new IllegalStateException("down"));
+		assertTrue(cache.getAsync(msft.getUrl()).isCompletedExceptionally());
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void oldestInstrumentsAreEvicted() {
+		pending.complete(msft);
+		for (int i = 0; i <= 100; i++) {
+			now.incrementAndGet();
+			cache.getAsync("https://api.robinhood.com/instruments/" + i + "/");
+		}
+		assertEquals(90, cache.size());
+		assertEquals(11, cache.getEvictionCount());
+	}
+
+	@Test
+	public void symbolUrlOutlivesExpiredInstrument() throws Exception {
+		cache.putUrl("AAPL", "https://api.robinhood.com/instruments/aapl/");
+		pending.complete(msft);
+		cache.get(msft.getUrl());
+		now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+		assertNull(cache.getBySymbol("MSFT"));
+		assertEquals(msft.getUrl(), cache.getUrlBySymbol("MSFT"));
+		assertEquals("https://api.robinhood.com/instruments/aapl/",
+		             cache.getUrlBySymbol("AAPL"));
+	}
+
+}
@@ -0,0 +1,169 @@
+package com.ampro.robinhood.endpoint.instrument.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ampro.robinhood.endpoint.instrument.data.InstrumentElement;
+import com.ampro.robinhood.endpoint.instrument.data.InstrumentElementList;
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.net.request.RequestManager;
+import com.ampro.robinhood.net.transport.HttpTransport;
+import com.ampro.robinhood.net.transport.TransportConfig;
+import com.ampro.robinhood.net.transport.TransportResponse;
+import com.google.gson.Gson;
+
+public class InstrumentCatalogTest {
+
+	private InstrumentElement msft;
+
+	@Before
+	public void setUp() throws IOException {
+		try (Reader reader = new InputStreamReader(
+				getClass().getResourceAsStream("/Sample_Instrument"),
+				StandardCharsets.UTF_8)) {
+			msft = new Gson().fromJson(reader, InstrumentElementList.class)
+			                 .getResults().get(0);
+		}
+	}
+
+	@Test
+	public void savedCatalogLoadsEveryIndex() throws IOException {
+		Path file = Files.createTempDirectory("catalog").resolve("instruments.bin");
+		InstrumentCatalog catalog = new InstrumentCatalog(file, Long.MAX_VALUE);
+		catalog.put(msft);
+		catalog.save();
+
+		InstrumentCatalog loaded = InstrumentCatalog.open(file, Long.MAX_VALUE);
+		assertEquals(1, loaded.size());
+		InstrumentElement bySymbol = loaded.getBySymbol("MSFT");
+		assertEquals(msft.getUrl(), bySymbol.getUrl());
+		assertEquals(msft.getName(), bySymbol.getName());
+		assertEquals(msft.getTradeable(), bySymbol.getTradeable());
+		assertNull(bySymbol.getMinTickSize());
+		assertEquals(bySymbol, loaded.getById(msft.getId()));
+		assertEquals(bySymbol, loaded.getByUrl(msft.getUrl()));
+	}
+
+	@Test
+	public void neverRefreshedCatalogIsStale() {
+		InstrumentCatalog catalog = new InstrumentCatalog(
+				Paths.get("instruments.bin"), Long.MAX_VALUE);
+		catalog.put(msft);
+		assertFalse(catalog.isFresh());
+		assertEquals(msft, catalog.getBySymbol("MSFT"));
+	}
+
+	@Test
+	public void refreshOnlyAppliesChangedInstruments() throws Exception {
+		Path file = Files.createTempDirectory("catalog").resolve("instruments.bin");
+		String[] listing = {instruments("AAA", "active", "BBB", "active")};
+		try (RequestManager requestManager = new RequestManager(
+				new ListingTransport(listing))) {
+			InstrumentCatalog catalog = new InstrumentCatalog(
+					file, Long.MAX_VALUE, requestManager);
+			assertEquals(2, catalog.refresh());
+			InstrumentElement aaa = catalog.getBySymbol("AAA");
+			InstrumentElement bbb = catalog.getBySymbol("BBB");
+
+			listing[0] = instruments("AAA", "active", "BBB", "inactive");
+			assertEquals(1, catalog.refresh());
+			assertSame(aaa, catalog.getBySymbol("AAA"));
+			assertNotSame(bbb, catalog.getBySymbol("BBB"));
+
+			listing[0] = instruments("AAA", "active");
+			assertEquals(1, catalog.refresh());
+			assertNull(catalog.getBySymbol("BBB"));
+
+			//Nothing changed, only the refresh time is saved
+			byte[] records = Files.readAllBytes(file);
+			assertEquals(0, catalog.refresh());
+			byte[] updated = Files.readAllBytes(file);
+			assertEquals(Arrays.toString(Arrays.copyOfRange(records, 16, records.length)),
+			             Arrays.toString(Arrays.copyOfRange(updated, 16, updated.length)));
+			assertEquals(catalog.getRefreshedAt(),
+			             InstrumentCatalog.open(file, Long.MAX_VALUE).getRefreshedAt());
+			assertEquals(1, InstrumentCatalog.open(file, Long.MAX_VALUE).size());
+		}
+	}
+
+	@Test
+	public void failedLoadKeepsTheInstruments() throws IOException {
+		Path file = Files.createTempDirectory("catalog").resolve("instruments.bin");
+		InstrumentCatalog catalog = new InstrumentCatalog(file, Long.MAX_VALUE);
+		catalog.put(msft);
+		catalog.save();
+		byte[] saved = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(saved, saved.length - 10));
+		try {
+			catalog.load();
+			fail("The file is truncated");
+		} catch (IOException expected) {
+		}
+		assertEquals(msft, catalog.getBySymbol("MSFT"));
+	}
+
+	/** An instrument page of the given symbol and state pairs */
+	private static String instruments(String... symbolsAndStates) {
+		StringBuilder page = new StringBuilder("{\"next\":null,\"results\":[");
+		for (int i = 0; i < symbolsAndStates.length; i += 2) {
+			if (i > 0) {
+				page.append(',');
+			}
+			String symbol = symbolsAndStates[i];
+			page.append("{\"url\":\"https://api.robinhood.com/instruments/")
+			    .append(symbol).append("/\",\"id\":\"").append(symbol)
+			    .append("\",\"symbol\":\"").append(symbol)
+			    .append("\",\"state\":\"").append(symbolsAndStates[i + 1])
+			    .append("\"}");
+		}
+		return page.append("]}").toString();
+	}
+
+	/** Answers every request with the current listing */
+	private static class ListingTransport implements HttpTransport {
+		private final String[] listing;
+
+		ListingTransport(String[] listing) {
+			this.listing = listing;
+		}
+
+		@Override
+		public TransportResponse send(ApiMethod method) {
+			return new TransportResponse(200, name -> null, new ByteArrayInputStream(
+					listing[0].getBytes(StandardCharsets.UTF_8)));
+		}
+
+		@Override
+		public CompletableFuture<TransportResponse> sendAsync(ApiMethod method) {
+			return CompletableFuture.completedFuture(send(method));
+		}
+
+		@Override
+		public TransportConfig getConfig() {
+			return null;
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+}
@@ -59,6 +59,13 @@ public class GetOptionsMethodIntegrationTest {
 		return requestManager.makeApiRequest(method);
 	}
 
+	@Test
+	public void asyncRequestParsesSameOption() throws Exception {
+		ApiMethod method = new GetOptionsMethod(Configuration.getDefault(), "http://localhost:8080");
+		Options options = requestManager.<Options>makeApiRequestAsync(method).get();
+		assertEquals(firstOption.getId(), options.getResults().get(0).getId());
+	}
+
 	@Test
 	public void correctlyParseCreatedAt() throws Exception {
 		assertDateTimeEquals(2018, 7, 11, 14, 1, 0, 509277000, ZoneOffset.UTC, firstOption.getCreatedAt());
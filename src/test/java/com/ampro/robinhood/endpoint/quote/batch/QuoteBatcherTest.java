@@ -0,0 +1,123 @@
+package com.ampro.robinhood.endpoint.quote.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElement;
+import com.ampro.robinhood.throwables.TickerNotFoundException;
+import com.google.gson.Gson;
+
+public class QuoteBatcherTest {
+
+	private final List<List<String>> requests = new ArrayList<>();
+
+	private QuoteBatcher batcher;
+
+	@Before
+	public void setUp() {
+		batcher = new QuoteBatcher(10, 3, tickers -> {
+			synchronized (requests) {
+				requests.add(tickers);
+			}
+			List<TickerQuoteElement> quotes = new ArrayList<>();
+			for (String ticker : tickers) {
+				quotes.add(ticker.equals("NOPE") ? null : quote(ticker));
+			}
+			return CompletableFuture.completedFuture(quotes);
+		});
+	}
+
+	private static TickerQuoteElement quote(String ticker) {
+		return new Gson().fromJson("{\"symbol\":\"" + ticker + "\"}",
+		                           TickerQuoteElement.class);
+	}
+
+	@Test
+	public void tickersWithinTheWindowShareOneRequest() throws Exception {
+		CompletableFuture<TickerQuoteElement> msft = batcher.getQuoteAsync("MSFT");
+		CompletableFuture<TickerQuoteElement> fit = batcher.getQuoteAsync("FIT");
+		CompletableFuture<TickerQuoteElement> again = batcher.getQuoteAsync("MSFT");
+
+		assertEquals("MSFT", msft.get(1, TimeUnit.SECONDS).getSymbol());
+		assertEquals("FIT", fit.get(1, TimeUnit.SECONDS).getSymbol());
+		assertSame(msft.get(), again.get());
+		assertEquals(Arrays.asList(Arrays.asList("MSFT", "FIT")), requests);
+		assertEquals(3, batcher.getRequestedCount());
+	}
+
+	@Test
+	public void cancellingOneCallerLeavesTheOthers() throws Exception {
+		batcher.getQuoteAsync("MSFT").cancel(true);
+		CompletableFuture<TickerQuoteElement> again = batcher.getQuoteAsync("MSFT");
+		batcher.flush();
+
+		assertEquals("MSFT", again.get(1, TimeUnit.SECONDS).getSymbol());
+	}
+
+	@Test
+	public void fullBatchIsSentAtOnce() {
+		batcher.getQuoteAsync("A");
+		batcher.getQuoteAsync("B");
+		CompletableFuture<TickerQuoteElement> c = batcher.getQuoteAsync("C");
+		CompletableFuture<TickerQuoteElement> d = batcher.getQuoteAsync("D");
+
+		assertTrue(c.isDone());
+		assertEquals(1, batcher.getBatchCount());
+		batcher.flush();
+		assertTrue(d.isDone());
+		assertEquals(Arrays.asList(Arrays.asList("A", "B", "C"), Arrays.asList("D")),
+		             requests);
+	}
+
+	@Test
+	public void quotesArePairedBySymbol() throws Exception {
+		QuoteBatcher reversed = new QuoteBatcher(10, 3, tickers -> {
+			//Out of order, in another case and without FIT
+			return CompletableFuture.completedFuture(Arrays.asList(
+					quote("MSFT"), quote("aapl")));
+		});
+		CompletableFuture<TickerQuoteElement> aapl = reversed.getQuoteAsync("AAPL");
+		CompletableFuture<TickerQuoteElement> fit = reversed.getQuoteAsync("FIT");
+		CompletableFuture<TickerQuoteElement> msft = reversed.getQuoteAsync("msft");
+		reversed.flush();
+
+		assertEquals("aapl", aapl.get().getSymbol());
+		assertEquals("MSFT", msft.get().getSymbol());
+		try {
+			fit.get();
+		} catch (ExecutionException e) {
+			assertEquals("FIT", ((TickerNotFoundException) e.getCause()).getTicker());
+			return;
+		}
+		throw new AssertionError("Expected TickerNotFoundException");
+	}
+
+	@Test
+	public void unknownTickerFailsOnlyItsCaller() throws Exception {
+		CompletableFuture<TickerQuoteElement> missing = batcher.getQuoteAsync("NOPE");
+		CompletableFuture<TickerQuoteElement> msft = batcher.getQuoteAsync("MSFT");
+		batcher.flush();
+
+		assertEquals("MSFT", msft.get().getSymbol());
+		try {
+			missing.get();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof TickerNotFoundException);
+			assertEquals("NOPE", ((TickerNotFoundException) e.getCause()).getTicker());
+			return;
+		}
+		throw new AssertionError("Expected TickerNotFoundException");
+	}
+
+}
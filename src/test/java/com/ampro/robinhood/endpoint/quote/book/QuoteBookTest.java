@@ -0,0 +1,75 @@
+package com.ampro.robinhood.endpoint.quote.book;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElement;
+import com.google.gson.Gson;
+
+public class QuoteBookTest {
+
+	private final QuoteBook book = new QuoteBook(4);
+
+	@Test
+	public void quoteIsStoredUnderItsSymbolId() {
+		TickerQuoteElement quote = new Gson().fromJson(
+				"{\"symbol\":\"MSFT\",\"bid_price\":\"107.5\",\"ask_price\":\"107.75\","
+				+ "\"last_trade_price\":\"107.6\",\"bid_size\":100,\"ask_size\":200,"
+				+ "\"updated_at\":\"2018-08-01T14:00:00Z\"}", TickerQuoteElement.class);
+		int id = book.update(quote);
+
+		assertEquals(id, book.find("MSFT"));
+		assertEquals("MSFT", book.symbol(id));
+		QuoteSnapshot snapshot = new QuoteSnapshot();
+		assertTrue(book.read(id, snapshot));
+		assertEquals(107.5, snapshot.getBidPrice(), 0);
+		assertEquals(107.75, snapshot.getAskPrice(), 0);
+		assertEquals(100, snapshot.getBidSize());
+		assertEquals(200, book.getAskSize(id));
+		assertEquals(1533132000000L, book.getUpdatedAt(id));
+	}
+
+	@Test
+	public void unknownSymbolHasNoQuote() {
+		assertEquals(-1, book.find("FIT"));
+		assertFalse(book.read(book.id("FIT"), new QuoteSnapshot()));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void fullBookRejectsNewSymbols() {
+		for (int i = 0; i < 5; i++) {
+			book.id("S" + i);
+		}
+	}
+
+	@Test
+	public void readersNeverSeeTornQuotes() throws Exception {
+		int id = book.id("MSFT");
+		AtomicBoolean done = new AtomicBoolean();
+		AtomicReference<QuoteSnapshot> torn = new AtomicReference<>();
+		Thread reader = new Thread(() -> {
+			QuoteSnapshot snapshot = new QuoteSnapshot();
+			while (!done.get()) {
+				if (book.read(id, snapshot)
+						&& (snapshot.getAskPrice() != snapshot.getBidPrice()
+						|| snapshot.getAskSize() != snapshot.getUpdatedAt())) {
+					torn.set(snapshot);
+				}
+			}
+		});
+		reader.start();
+		for (long i = 1; i <= 200_000; i++) {
+			book.update(id, i, i, i, i, i, i);
+		}
+		done.set(true);
+		reader.join();
+		assertEquals(null, torn.get());
+	}
+
+}
@@ -0,0 +1,110 @@
+package com.ampro.robinhood.endpoint.quote.stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElement;
+import com.google.gson.Gson;
+
+public class QuoteStreamTest {
+
+	/** The quote Robinhood returns for each ticker */
+	private final Map<String, TickerQuoteElement> quotes = new ConcurrentHashMap<>();
+
+	private final List<TickerQuoteElement> received = new ArrayList<>();
+
+	private QuoteStream stream;
+
+	@Before
+	public void setUp() {
+		stream = new QuoteStream(1000, tickers -> {
+			List<TickerQuoteElement> result = new ArrayList<>();
+			for (String ticker : tickers) {
+				result.add(quotes.get(ticker));
+			}
+			return CompletableFuture.completedFuture(result);
+		});
+		quotes.put("MSFT", quote("MSFT", 100f, "2018-08-01T14:00:00Z"));
+		quotes.put("FIT", quote("FIT", 6f, "2018-08-01T14:00:00Z"));
+		stream.watch(Arrays.asList("MSFT", "FIT"));
+	}
+
+	@After
+	public void tearDown() {
+		stream.close();
+	}
+
+	private static TickerQuoteElement quote(String ticker, float price,
+	                                        String updatedAt) {
+		String json = "{\"symbol\":\"" + ticker + "\",\"last_trade_price\":"
+				+ price + ",\"updated_at\":\"" + updatedAt + "\"}";
+		return new Gson().fromJson(json, TickerQuoteElement.class);
+	}
+
+	@Test
+	public void onlyChangedQuotesArePushed() {
+		stream.addListener(received::add, Runnable::run);
+		stream.poll().join();
+		assertEquals(2, received.size());
+
+		TickerQuoteElement moved = quote("MSFT", 101f, "2018-08-01T14:00:05Z");
+		quotes.put("MSFT", moved);
+		quotes.put("FIT", quote("FIT", 6f, "2018-08-01T14:00:00Z"));
+		stream.poll().join();
+
+		assertEquals(3, received.size());
+		assertSame(moved, received.get(2));
+		assertEquals(3, stream.getChangeCount());
+	}
+
+	@Test
+	public void slowListenerOnlyGetsLatestQuote() throws Exception {
+		List<Runnable> queued = new ArrayList<>();
+		Executor held = queued::add;
+		QuoteStream.Subscription subscription = stream.addListener(received::add, held);
+
+		stream.poll().join();
+		quotes.put("MSFT", quote("MSFT", 101f, "2018-08-01T14:00:05Z"));
+		stream.poll().join();
+
+		assertEquals(1, queued.size());
+		queued.get(0).run();
+		assertEquals(2, received.size());
+		assertEquals(101f, stream.getLastQuote("MSFT").getLastTradePrice(), 0);
+		assertEquals(1, subscription.getDroppedCount());
+	}
+
+	@Test
+	public void blockedListenerDoesNotStallOthers() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch delivered = new CountDownLatch(2);
+		stream.addListener(quote -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		stream.addListener(quote -> delivered.countDown());
+
+		stream.poll().join();
+		assertTrue(delivered.await(5, TimeUnit.SECONDS));
+		release.countDown();
+	}
+
+}
@@ -0,0 +1,74 @@
+package com.ampro.robinhood.net;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.ampro.robinhood.Configuration;
+import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElement;
+import com.ampro.robinhood.net.request.RequestMethod;
+import com.ampro.robinhood.throwables.RobinhoodNotLoggedInException;
+
+public class RequestTemplateTest {
+
+	private static final RequestTemplate QUOTE = new RequestTemplate(
+			RequestMethod.GET, "https://api.robinhood.com/quotes/{ticker}/",
+			TickerQuoteElement.class, true);
+
+	private static class GetQuote extends ApiMethod {
+		GetQuote(Configuration config, String ticker) {
+			super(config, QUOTE);
+			addRouteParameter("ticker", ticker);
+		}
+	}
+
+	@Test
+	public void methodsShareTheTemplateHeaders() {
+		GetQuote first = new GetQuote(new Configuration(), "MSFT");
+		GetQuote second = new GetQuote(new Configuration(), "FIT");
+		assertSame(QUOTE.getHeaders(), first.getHeaderParameters());
+		assertSame(first.getHeaderParameters(), second.getHeaderParameters());
+		assertEquals("MSFT", first.getRouteParameters().get("ticker"));
+		assertEquals("FIT", second.getRouteParameters().get("ticker"));
+		assertEquals("quotes", first.getEndpointFamily());
+		assertEquals(TickerQuoteElement.class, first.getReturnType());
+	}
+
+	@Test
+	public void addingAHeaderLeavesTheTemplateAlone() throws Exception {
+		Configuration config = new Configuration();
+		config.setAuthToken("abc");
+		GetQuote method = new GetQuote(config, "MSFT");
+		method.addAuthTokenParameter();
+		assertNotSame(QUOTE.getHeaders(), method.getHeaderParameters());
+		assertEquals("Token abc", method.getHeaderParameters().get("Authorization"));
+		assertEquals("application/json", method.getHeaderParameters().get("Accept"));
+		assertFalse(QUOTE.getHeaders().containsKey("Authorization"));
+	}
+
+	@Test
+	public void loggingInAgainReplacesTokenAndHeader() throws Exception {
+		Configuration config = new Configuration();
+		config.setAuthToken("abc");
+		config.setAuthToken("def");
+		assertEquals("def", config.getToken());
+		assertEquals("Token def", config.getAuthorization());
+	}
+
+	@Test
+	public void loggingOutDropsTheAuthorization() {
+		Configuration config = new Configuration();
+		config.setAuthToken("abc");
+		config.setAuthToken(null);
+		try {
+			config.getAuthorization();
+			fail("The configuration is logged out");
+		} catch (RobinhoodNotLoggedInException expected) {
+		}
+	}
+
+}
@@ -0,0 +1,67 @@
+package com.ampro.robinhood.net;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URLEncoder;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.ampro.robinhood.endpoint.instrument.methods.GetInstrumentByTicker;
+import com.ampro.robinhood.endpoint.quote.methods.GetTickerQuote;
+import com.ampro.robinhood.net.transport.TransportRequests;
+
+public class UrlTemplateTest {
+
+	private static String render(String url, Map<String, String> routes) {
+		return UrlTemplate.compile(url).render(routes, new StringBuilder()).toString();
+	}
+
+	@Test
+	public void routesAreFilledIn() {
+		Map<String, String> routes = new HashMap<>();
+		routes.put("account", "5RY82436");
+		routes.put("id", "a b/c");
+		assertEquals("https://api.robinhood.com/accounts/5RY82436/orders/a%20b%2Fc/",
+		             render("https://api.robinhood.com/accounts/{account}/orders/{id}/",
+		                    routes));
+	}
+
+	@Test
+	public void missingRoutesAndStrayBracesAreKept() {
+		Map<String, String> routes = Collections.emptyMap();
+		assertEquals("https://api.robinhood.com/quotes/{ticker}/",
+		             render("https://api.robinhood.com/quotes/{ticker}/", routes));
+		assertEquals("https://api.robinhood.com/{quotes/",
+		             render("https://api.robinhood.com/{quotes/", routes));
+		assertEquals(0, UrlTemplate.compile("https://api.robinhood.com/{quotes/")
+		                           .getPlaceholderCount());
+	}
+
+	@Test
+	public void encodingMatchesUrlEncoder() throws Exception {
+		String value = "BRK.B & co=1+2 \u00e9\u20ac\ud83d\ude00-_";
+		StringBuilder encoded = new StringBuilder();
+		UrlTemplate.encode(value, encoded);
+		assertEquals(URLEncoder.encode(value, "UTF-8").replace("+", "%20"),
+		             encoded.toString());
+		encoded.setLength(0);
+		UrlTemplate.encode("~*", encoded);
+		assertEquals("~%2A", encoded.toString());
+	}
+
+	@Test
+	public void methodsRenderTheirUrls() {
+		assertEquals("https://api.robinhood.com/quotes/MSFT/",
+		             TransportRequests.url(new GetTickerQuote("MSFT")));
+		assertEquals("https://api.robinhood.com/instruments/?symbol=BRK.B",
+		             TransportRequests.url(new GetInstrumentByTicker("BRK.B")));
+		assertTrue(UrlTemplate.compile("https://x.com/a?b=c").hasQuery());
+		assertFalse(UrlTemplate.compile("https://x.com/a").hasQuery());
+	}
+
+}
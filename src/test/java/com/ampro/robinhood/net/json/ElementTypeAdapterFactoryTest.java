@@ -0,0 +1,125 @@
+package com.ampro.robinhood.net.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.ampro.robinhood.endpoint.account.data.PositionElement;
+import com.ampro.robinhood.endpoint.instrument.data.InstrumentElementList;
+import com.ampro.robinhood.endpoint.orders.data.SecurityOrderElement;
+import com.ampro.robinhood.endpoint.quote.data.GeneratedTickerQuoteElementList;
+import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElement;
+import com.ampro.robinhood.endpoint.quote.data.TickerQuoteElementList;
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+
+/**
+ * The element adapters must decode the same elements as Gson's reflective
+ * binding, compared through the reflective encoding of both results.
+ */
+public class ElementTypeAdapterFactoryTest {
+
+	private final Gson reflective = new Gson();
+
+	private final Gson adapted = ElementTypeAdapterFactory.createGson();
+
+	private void assertSameDecoding(String json, Type type) {
+		Object expected = reflective.fromJson(json, type);
+		Object actual = adapted.fromJson(json, type);
+		assertEquals(new JsonParser().parse(reflective.toJson(expected)),
+		             new JsonParser().parse(reflective.toJson(actual)));
+	}
+
+	@Test
+	public void quote() {
+		assertSameDecoding("{\"ask_price\":\"107.940000\",\"ask_size\":300,"
+				+ "\"bid_price\":\"107.930000\",\"bid_size\":500,"
+				+ "\"last_trade_price\":\"107.935\","
+				+ "\"last_extended_hours_trade_price\":null,\"previous_close\":108.21,"
+				+ "\"symbol\":\"MSFT\",\"trading_halted\":false,\"has_traded\":true,"
+				+ "\"nested\":{\"skip\":[1,2,{}]},"
+				+ "\"updated_at\":\"2018-08-17T16:42:31Z\"}",
+				TickerQuoteElement.class);
+	}
+
+	@Test
+	public void quoteReadsTheBidSize() {
+		//The field is named big_size, the api sends bid_size
+		String json = "{\"bid_size\":500,\"ask_size\":300}";
+		TickerQuoteElement quote = reflective.fromJson(json, TickerQuoteElement.class);
+		assertEquals(500, quote.getBigSize());
+		quote = adapted.fromJson(json, TickerQuoteElement.class);
+		assertEquals(500, quote.getBigSize());
+	}
+
+	@Test
+	public void quotePage() {
+		TickerQuoteElementList page = adapted.fromJson("{\"results\":["
+				+ "{\"symbol\":\"MSFT\",\"bid_size\":500},null,"
+				+ "{\"symbol\":\"FIT\",\"unknown\":{}}],\"next\":null}",
+				TickerQuoteElementList.class);
+		assertTrue(page instanceof GeneratedTickerQuoteElementList);
+		assertEquals(3, page.getQuotes().size());
+		assertEquals("MSFT", page.getQuotes().get(0).getSymbol());
+		assertEquals(500, page.getQuotes().get(0).getBigSize());
+		assertNull(page.getQuotes().get(1));
+		assertEquals("FIT", page.getQuotes().get(2).getSymbol());
+		assertEquals("MSFT", page.iterator().next().getSymbol());
+		assertTrue(adapted.fromJson("{}", TickerQuoteElementList.class)
+		                  .getQuotes().isEmpty());
+	}
+
+	@Test
+	public void instrumentPage() throws IOException {
+		InputStream sample = getClass().getResourceAsStream("/Sample_Instrument");
+		try (Reader reader = new InputStreamReader(sample, StandardCharsets.UTF_8)) {
+			String json = new JsonParser().parse(reader).toString();
+			assertSameDecoding(json, InstrumentElementList.class);
+		}
+		assertSameDecoding("{\"results\":["
+				+ "{\"min_tick_size\":\"0.0100\",\"tradeable\":true},"
+				+ "{\"min_tick_size\":0.01,\"tradeable\":null,\"symbol\":\"FIT\"}]}",
+				InstrumentElementList.class);
+	}
+
+	@Test
+	public void position() {
+		assertSameDecoding("{\"account\":"
+				+ "\"https://api.robinhood.com/accounts/5RY82436/\","
+				+ "\"intraday_quantity\":\"0.0000\",\"quantity\":\"10.0000\","
+				+ "\"average_buy_price\":\"107.5000\","
+				+ "\"pending_average_buy_price\":\"1\"}",
+				PositionElement.class);
+	}
+
+	@Test
+	public void order() {
+		String json = "{\"fees\":\"0.00\",\"cancel\":null,\"id\":\"5b2a4a7b\","
+				+ "\"cumulative_quantity\":\"10.00000\",\"state\":\"filled\","
+				+ "\"executions\":[{\"timestamp\":\"2018-08-17T14:31:06.878000Z\","
+				+ "\"price\":\"107.50000000\",\"id\":\"2f4d1c3e\",\"quantity\":10}],"
+				+ "\"extended_hours\":false,\"override_dtbp_checks\":\"true\","
+				+ "\"url\":\"https://api.robinhood.com/orders/5b2a4a7b/\","
+				+ "\"average_price\":\"107.50000000\",\"quantity\":\"10.00000\"}";
+		assertSameDecoding(json, SecurityOrderElement.class);
+		SecurityOrderElement order = adapted.fromJson(json, SecurityOrderElement.class);
+		assertEquals(107.5f, order.getExecutions()[0].getPrice(), 0);
+		assertTrue(order.doesOverrideDtbpChecks());
+		assertNull(order.getCancel());
+	}
+
+	@Test
+	public void nullElement() {
+		assertNull(adapted.fromJson("null", TickerQuoteElement.class));
+	}
+
+}
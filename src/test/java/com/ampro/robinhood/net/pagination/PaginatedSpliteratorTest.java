@@ -0,0 +1,66 @@
+package com.ampro.robinhood.net.pagination;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.stream.StreamSupport;
+
+import org.junit.Test;
+
+import com.ampro.robinhood.endpoint.ApiElement;
+import com.ampro.robinhood.endpoint.ApiElementList;
+
+public class PaginatedSpliteratorTest {
+
+	@Test
+	public void lastPageIsStreamedWithoutNulls() {
+		Page page = new Page(new Element(1), null, new Element(2));
+		long count = StreamSupport.stream(new PaginatedSpliterator<>(page), false)
+		                          .count();
+		assertEquals(2, count);
+	}
+
+	@Test
+	public void splitHandsOffRestOfPage() {
+		Page page = new Page(new Element(1), new Element(2), new Element(3));
+		PaginatedSpliterator<Element> spliterator = new PaginatedSpliterator<>(page);
+		assertTrue(spliterator.tryAdvance(element -> assertEquals(1, element.id)));
+		Spliterator<Element> rest = spliterator.trySplit();
+		assertEquals(2, rest.estimateSize());
+		assertFalse(spliterator.tryAdvance(element -> {}));
+		assertNull(spliterator.trySplit());
+	}
+
+	@Test
+	public void reportsOrderedAndNonNull() {
+		PaginatedSpliterator<Element> spliterator
+				= new PaginatedSpliterator<>(new Page());
+		assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED));
+		assertTrue(spliterator.hasCharacteristics(Spliterator.NONNULL));
+	}
+
+	private static class Element implements ApiElement {
+		private final int id;
+
+		private Element(int id) {
+			this.id = id;
+		}
+
+		@Override
+		public boolean requiresAuth() { return false; }
+	}
+
+	private static class Page extends ApiElementList<Element> {
+		private Page(Element... elements) {
+			this.results = Arrays.asList(elements);
+		}
+
+		@Override
+		public boolean requiresAuth() { return false; }
+	}
+
+}
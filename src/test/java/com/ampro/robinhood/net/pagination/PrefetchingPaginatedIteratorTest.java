@@ -0,0 +1,110 @@
+package com.ampro.robinhood.net.pagination;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ampro.robinhood.endpoint.ApiElement;
+import com.ampro.robinhood.endpoint.ApiElementList;
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.net.request.RequestManager;
+import com.ampro.robinhood.net.transport.HttpTransport;
+import com.ampro.robinhood.net.transport.TransportConfig;
+import com.ampro.robinhood.net.transport.TransportResponse;
+import com.ampro.robinhood.throwables.RobinhoodApiException;
+import com.ampro.robinhood.util.Futures;
+
+public class PrefetchingPaginatedIteratorTest {
+
+	private RequestManager requestManager;
+
+	/** The number of page requests, the first one fails */
+	private final AtomicInteger requests = new AtomicInteger();
+
+	@Before
+	public void setUp() {
+		requestManager = new RequestManager(new HttpTransport() {
+			@Override
+			public TransportResponse send(ApiMethod method)
+			throws RobinhoodApiException {
+				return Futures.join(sendAsync(method));
+			}
+
+			@Override
+			public CompletableFuture<TransportResponse> sendAsync(ApiMethod method) {
+				if (requests.incrementAndGet() == 1) {
+					return Futures.failed(new RobinhoodApiException("boom"));
+				}
+				return CompletableFuture.completedFuture(new TransportResponse(
+						200, name -> null, new ByteArrayInputStream(
+						"{\"results\":[{\"id\":2}],\"next\":null}"
+								.getBytes(StandardCharsets.UTF_8))));
+			}
+
+			@Override
+			public TransportConfig getConfig() {
+				return null;
+			}
+
+			@Override
+			public void close() {
+			}
+		});
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		requestManager.close();
+	}
+
+	@Test
+	public void failedPageIsRequestedAgain() {
+		Page first = new Page("http://localhost/pages/2/", new Element(1));
+		PrefetchingPaginatedIterator<Element> iterator =
+				new PrefetchingPaginatedIterator<>(first, null, requestManager, 1);
+		assertEquals(1, iterator.next().id);
+		assertTrue(iterator.hasNext());
+		try {
+			iterator.next();
+			fail("The page failed to load");
+		} catch (IllegalStateException expected) {
+		}
+		assertTrue(iterator.hasNext());
+		assertEquals(2, iterator.next().id);
+		assertFalse(iterator.hasNext());
+		assertEquals(2, requests.get());
+	}
+
+	private static class Element implements ApiElement {
+		private int id;
+
+		private Element(int id) {
+			this.id = id;
+		}
+
+		@Override
+		public boolean requiresAuth() { return false; }
+	}
+
+	private static class Page extends ApiElementList<Element> {
+		private Page(String next, Element... elements) {
+			this.next = next;
+			this.results = Arrays.asList(elements);
+		}
+
+		@Override
+		public boolean requiresAuth() { return false; }
+	}
+
+}
@@ -0,0 +1,137 @@
+package com.ampro.robinhood.net.request;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.ampro.robinhood.throwables.PartialResultException;
+import com.ampro.robinhood.throwables.RobinhoodApiException;
+import com.ampro.robinhood.util.Futures;
+
+public class ChunkedRequestTest {
+
+	private static final List<String> TICKERS = Arrays.asList(
+			"MSFT", "VT", "VTI", "BAC", "DIS", "FB", "TSLA"
+	);
+
+	@Test
+	public void partitionKeepsOrder() {
+		List<List<String>> chunks = ChunkedRequest.partition(TICKERS, 3);
+		assertEquals(3, chunks.size());
+		assertEquals(Arrays.asList("MSFT", "VT", "VTI"), chunks.get(0));
+		assertEquals(Arrays.asList("TSLA"), chunks.get(2));
+	}
+
+	@Test
+	public void resultsAreMergedInKeyOrder() throws RobinhoodApiException {
+		List<CompletableFuture<List<String>>> pending = new ArrayList<>();
+		CompletableFuture<List<String>> result = new ChunkedRequest<String>(
+				TICKERS, 2, chunk -> {
+					CompletableFuture<List<String>> future = new CompletableFuture<>();
+					pending.add(future);
+					return future;
+				}
+		).execute(4);
+		//Complete the chunks out of order
+		List<List<String>> chunks = ChunkedRequest.partition(TICKERS, 2);
+		for (int i = pending.size() - 1; i >= 0; i--) {
+			pending.get(i).complete(lowerCase(chunks.get(i)));
+		}
+		assertEquals(lowerCase(TICKERS), Futures.join(result));
+	}
+
+	@Test
+	public void inFlightChunksAreBounded() throws RobinhoodApiException {
+		AtomicInteger inFlight = new AtomicInteger();
+		List<CompletableFuture<List<String>>> pending = new ArrayList<>();
+		CompletableFuture<List<String>> result = new ChunkedRequest<String>(
+				TICKERS, 1, chunk -> {
+					assertTrue(inFlight.incrementAndGet() <= 2);
+					CompletableFuture<List<String>> future = new CompletableFuture<>();
+					pending.add(future);
+					return future.whenComplete((v, ex) -> inFlight.decrementAndGet());
+				}
+		).execute(2);
+		for (int i = 0; i < pending.size(); i++) {
+			pending.get(i).complete(Arrays.asList(TICKERS.get(i)));
+		}
+		assertEquals(TICKERS, Futures.join(result));
+	}
+
+	@Test
+	public void failedChunkKeepsOtherResults() {
+		CompletableFuture<List<String>> result = new ChunkedRequest<String>(
+				TICKERS, 3, chunk -> chunk.contains("BAC")
+						? Futures.failed(new RobinhoodApiException("boom"))
+						: CompletableFuture.completedFuture(lowerCase(chunk))
+		).execute(1);
+		try {
+			Futures.join(result);
+			fail("Expected a PartialResultException");
+		} catch (PartialResultException ex) {
+			List<String> partial = ex.getPartialResult();
+			assertEquals(TICKERS.size(), partial.size());
+			assertEquals("msft", partial.get(0));
+			assertNull(partial.get(3));
+			assertEquals("tsla", partial.get(6));
+			assertEquals(1, ex.getFailures().size());
+		} catch (RobinhoodApiException ex) {
+			fail("Expected a PartialResultException");
+		}
+	}
+
+	@Test
+	public void chunksOfEqualKeysFailSeparately() {
+		List<String> repeated = Arrays.asList("MSFT", "VT", "MSFT", "VT");
+		CompletableFuture<List<String>> result = new ChunkedRequest<String>(
+				repeated, 2, chunk -> Futures.failed(new RobinhoodApiException("boom"))
+		).execute(2);
+		try {
+			Futures.join(result);
+			fail("Expected a PartialResultException");
+		} catch (PartialResultException ex) {
+			assertEquals(2, ex.getFailures().size());
+			assertEquals(repeated.subList(2, 4), ex.getChunks().get(1));
+		} catch (RobinhoodApiException ex) {
+			fail("Expected a PartialResultException");
+		}
+	}
+
+	@Test
+	public void chunkWithMissingResultsFails() {
+		CompletableFuture<List<String>> result = new ChunkedRequest<String>(
+				TICKERS, 3, chunk -> CompletableFuture.completedFuture(
+						chunk.contains("BAC")
+								? lowerCase(chunk.subList(1, chunk.size()))
+								: lowerCase(chunk))
+		).execute(1);
+		try {
+			Futures.join(result);
+			fail("Expected a PartialResultException");
+		} catch (PartialResultException ex) {
+			List<String> partial = ex.getPartialResult();
+			//The short chunk is dropped, the others keep their positions
+			assertNull(partial.get(3));
+			assertNull(partial.get(4));
+			assertEquals("tsla", partial.get(6));
+			assertTrue(ex.getFailures().containsKey(1));
+		} catch (RobinhoodApiException ex) {
+			fail("Expected a PartialResultException");
+		}
+	}
+
+	private static List<String> lowerCase(List<String> tickers) {
+		return tickers.stream().map(String::toLowerCase).collect(Collectors.toList());
+	}
+
+}
@@ -0,0 +1,118 @@
+package com.ampro.robinhood.net.request;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ampro.robinhood.Configuration;
+import com.ampro.robinhood.endpoint.instrument.data.InstrumentElementList;
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.net.transport.HttpTransport;
+import com.ampro.robinhood.net.transport.TransportConfig;
+import com.ampro.robinhood.net.transport.TransportResponse;
+
+public class ExecutionModeTest {
+
+	private RequestManager requestManager;
+	private HttpTransport original;
+
+	/** The thread the last request was sent from */
+	private final AtomicReference<Thread> sender = new AtomicReference<>();
+
+	@Before
+	public void setUp() {
+		requestManager = RequestManager.getInstance();
+		original = requestManager.getTransport();
+		requestManager.setTransport(new HttpTransport() {
+			@Override
+			public TransportResponse send(ApiMethod method) {
+				sender.set(Thread.currentThread());
+				return new TransportResponse(200, name -> null,
+						new ByteArrayInputStream("{\"results\":[]}"
+								.getBytes(StandardCharsets.UTF_8)));
+			}
+
+			@Override
+			public CompletableFuture<TransportResponse> sendAsync(ApiMethod method) {
+				return CompletableFuture.completedFuture(send(method));
+			}
+
+			@Override
+			public TransportConfig getConfig() {
+				return null;
+			}
+
+			@Override
+			public void close() {
+			}
+		});
+	}
+
+	@After
+	public void tearDown() {
+		requestManager.setExecutionMode(ExecutionMode.PLATFORM);
+		requestManager.setTransport(original);
+	}
+
+	@Test
+	public void platformTasksRunOnDaemonWorkers() throws Exception {
+		CompletableFuture<Thread> worker = CompletableFuture.supplyAsync(
+				Thread::currentThread, requestManager.getExecutor());
+		Thread thread = worker.get();
+		assertTrue(thread.isDaemon());
+		assertTrue(thread.getName().startsWith("robinhood-api-worker-"));
+	}
+
+	@Test
+	public void virtualModeNeedsVirtualThreads() {
+		boolean virtualThreads;
+		try {
+			Thread.class.getMethod("ofVirtual");
+			virtualThreads = true;
+		} catch (NoSuchMethodException e) {
+			virtualThreads = false;
+		}
+		assertEquals(virtualThreads, ExecutionMode.VIRTUAL.isAvailable());
+		if (!virtualThreads) {
+			try {
+				requestManager.setExecutionMode(ExecutionMode.VIRTUAL);
+				fail("Virtual threads are not available");
+			} catch (UnsupportedOperationException expected) {
+				assertEquals(ExecutionMode.PLATFORM,
+				             requestManager.getExecutionMode());
+			}
+		}
+	}
+
+	@Test
+	public void virtualModeSendsOnVirtualThreads() throws Exception {
+		Assume.assumeTrue(ExecutionMode.VIRTUAL.isAvailable());
+		requestManager.setExecutionMode(ExecutionMode.VIRTUAL);
+
+		requestManager.makeApiRequestAsync(new GetInstruments()).get();
+		assertTrue(sender.get().getName().startsWith("robinhood-api-virtual-"));
+
+		Thread worker = CompletableFuture.supplyAsync(
+				Thread::currentThread, requestManager.getExecutor()).get();
+		assertTrue(worker.getName().startsWith("robinhood-api-virtual-"));
+	}
+
+	private static class GetInstruments extends ApiMethod {
+		GetInstruments() {
+			super(Configuration.getDefault());
+			setUrlBase("http://localhost:8080/virtual/");
+			setReturnType(InstrumentElementList.class);
+		}
+	}
+
+}
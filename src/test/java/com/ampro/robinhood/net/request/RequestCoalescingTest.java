@@ -0,0 +1,139 @@
+package com.ampro.robinhood.net.request;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ampro.robinhood.Configuration;
+import com.ampro.robinhood.endpoint.instrument.data.InstrumentElementList;
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.net.transport.HttpTransport;
+import com.ampro.robinhood.net.transport.TransportConfig;
+import com.ampro.robinhood.net.transport.TransportResponse;
+
+public class RequestCoalescingTest {
+
+	private RequestManager requestManager;
+	private HttpTransport original;
+
+	/** Responses are only sent once the test releases them */
+	private final List<CompletableFuture<TransportResponse>> pending = new ArrayList<>();
+	private final AtomicInteger sent = new AtomicInteger();
+
+	@Before
+	public void setUp() {
+		requestManager = RequestManager.getInstance();
+		original = requestManager.getTransport();
+		requestManager.setTransport(new HttpTransport() {
+			@Override
+			public TransportResponse send(ApiMethod method) {
+				return sendAsync(method).join();
+			}
+
+			@Override
+			public synchronized CompletableFuture<TransportResponse> sendAsync(ApiMethod method) {
+				sent.incrementAndGet();
+				CompletableFuture<TransportResponse> response = new CompletableFuture<>();
+				pending.add(response);
+				return response;
+			}
+
+			@Override
+			public TransportConfig getConfig() {
+				return null;
+			}
+
+			@Override
+			public void close() {
+			}
+		});
+	}
+
+	@After
+	public void tearDown() {
+		requestManager.setTransport(original);
+	}
+
+	private void respond() {
+		for (CompletableFuture<TransportResponse> response : pending) {
+			response.complete(new TransportResponse(200, name -> null,
+					new ByteArrayInputStream("{\"results\":[]}"
+							.getBytes(StandardCharsets.UTF_8))));
+		}
+	}
+
+	@Test
+	public void identicalGetsShareOneRequest() throws Exception {
+		long before = requestManager.getCoalescedCount();
+		List<CompletableFuture<InstrumentElementList>> responses = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			responses.add(requestManager.makeApiRequestAsync(new GetInstruments("token")));
+		}
+		respond();
+
+		assertEquals(1, sent.get());
+		assertEquals(4, requestManager.getCoalescedCount() - before);
+		for (CompletableFuture<InstrumentElementList> response : responses) {
+			assertSame(responses.get(0).get(), response.get());
+		}
+	}
+
+	@Test
+	public void differentUsersAreNotCoalesced() throws Exception {
+		CompletableFuture<InstrumentElementList> first =
+				requestManager.makeApiRequestAsync(new GetInstruments("token"));
+		CompletableFuture<InstrumentElementList> second =
+				requestManager.makeApiRequestAsync(new GetInstruments("other"));
+		respond();
+
+		assertEquals(2, sent.get());
+		assertNotSame(first.get(), second.get());
+	}
+
+	@Test
+	public void differentQueriesAreNotCoalesced() throws Exception {
+		requestManager.makeApiRequestAsync(new GetInstruments("token", "MSFT"));
+		requestManager.makeApiRequestAsync(new GetInstruments("token", "MSFT"));
+		requestManager.makeApiRequestAsync(new GetInstruments("token", "FIT"));
+		respond();
+
+		assertEquals(2, sent.get());
+	}
+
+	@Test
+	public void finishedRequestIsSentAgain() throws Exception {
+		CompletableFuture<InstrumentElementList> first =
+				requestManager.makeApiRequestAsync(new GetInstruments("token"));
+		respond();
+		first.get();
+		requestManager.makeApiRequestAsync(new GetInstruments("token"));
+
+		assertEquals(2, sent.get());
+	}
+
+	private static class GetInstruments extends ApiMethod {
+		GetInstruments(String token) {
+			super(Configuration.getDefault());
+			setUrlBase("http://localhost:8080/coalesced/");
+			addHeaderParameter("Authorization", "Token " + token);
+			setReturnType(InstrumentElementList.class);
+		}
+
+		GetInstruments(String token, String symbol) {
+			this(token);
+			addQueryParameter("symbol", symbol);
+		}
+	}
+
+}
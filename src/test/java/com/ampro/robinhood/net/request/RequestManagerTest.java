@@ -0,0 +1,107 @@
+package com.ampro.robinhood.net.request;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import com.ampro.robinhood.Configuration;
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.net.transport.HttpTransport;
+import com.ampro.robinhood.net.transport.TransportConfig;
+import com.ampro.robinhood.net.transport.TransportResponse;
+import com.ampro.robinhood.net.transport.UnirestTransport;
+
+public class RequestManagerTest {
+
+	@Test
+	public void concurrentCallersShareOneInstance() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Callable<Object>> calls = new ArrayList<>();
+			for (int i = 0; i < 16; i++) {
+				calls.add(RequestManager::getInstance);
+				calls.add(Configuration::getDefault);
+			}
+			List<Future<Object>> results = pool.invokeAll(calls);
+			for (int i = 0; i < results.size(); i++) {
+				assertSame(results.get(i % 2).get(), results.get(i).get());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void ownManagersHaveTheirOwnRateLimits() throws Exception {
+		try (RequestManager first = new RequestManager(new StubTransport());
+		     RequestManager second = new RequestManager(new StubTransport())) {
+			assertNotSame(first.getRateLimiter(), second.getRateLimiter());
+			//Use up the burst of one manager's order bucket
+			for (int i = 0; i < 10; i++) {
+				first.getRateLimiter().reserve("orders");
+			}
+			assertTrue(first.getRateLimiter().reserve("orders") > 0);
+			assertEquals(0, second.getRateLimiter().reserve("orders"));
+		}
+	}
+
+	@Test
+	public void closingClosesTheTransport() throws Exception {
+		StubTransport transport = new StubTransport();
+		new RequestManager(transport).close();
+		assertTrue(transport.closed.get());
+	}
+
+	@Test
+	public void configuringAnOwnManagerLeavesUnirestAlone() throws Exception {
+		HttpTransport shared = RequestManager.getInstance().getTransport();
+		try (RequestManager own = RequestManager.create(new TransportConfig())) {
+			own.configureTransport(new TransportConfig());
+			assertFalse(own.getTransport() instanceof UnirestTransport);
+			assertSame(shared, RequestManager.getInstance().getTransport());
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void sharedInstanceCannotBeClosed() throws Exception {
+		RequestManager.getInstance().close();
+	}
+
+	private static class StubTransport implements HttpTransport {
+		final AtomicBoolean closed = new AtomicBoolean();
+
+		@Override
+		public TransportResponse send(ApiMethod method) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public CompletableFuture<TransportResponse> sendAsync(ApiMethod method) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public TransportConfig getConfig() {
+			return null;
+		}
+
+		@Override
+		public void close() {
+			closed.set(true);
+		}
+	}
+
+}
@@ -0,0 +1,104 @@
+package com.ampro.robinhood.net.request.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.ampro.robinhood.Configuration;
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.throwables.RobinhoodApiException;
+
+public class RequestMetricsTest {
+
+	private final RequestMetrics metrics = new RequestMetrics();
+
+	private final ApiMethod method = new GetNothing();
+
+	@After
+	public void tearDown() {
+		metrics.unregisterMBeans();
+	}
+
+	@Test
+	public void recordsEachPhaseAndSize() {
+		metrics.onSuccess(method, 1_000, TimeUnit.MILLISECONDS.toNanos(3), 500, 2048);
+		metrics.onSuccess(method, 1_000, TimeUnit.MILLISECONDS.toNanos(5), 500, 1024);
+
+		ApiMethodMetrics recorded = metrics.getAll().get("GetNothing");
+		assertEquals(2, recorded.getRequestCount());
+		assertEquals(0, recorded.getErrorCount());
+		assertEquals(3072, recorded.getResponseBytes());
+		assertEquals(2, recorded.getNetworkLatency().getCount());
+		assertEquals(4.0, recorded.getNetworkLatency().getMeanMillis(), 0.001);
+		//Power of two buckets: within a factor of two of the real value
+		double p99 = recorded.getNetworkLatency().getP99Millis();
+		assertTrue(p99 >= 4.194 && p99 <= 5.0);
+	}
+
+	@Test
+	public void countsErrorsByInnermostCause() {
+		metrics.onFailure(method, new CompletionException(new RobinhoodApiException(
+				"Failed to communicate with endpoint", new IOException())), 10);
+		metrics.onFailure(method, new RobinhoodApiException("Rate limit exceeded"), 10);
+
+		ApiMethodMetrics recorded = metrics.of(GetNothing.class);
+		assertEquals(2, recorded.getErrorCount());
+		assertEquals(Long.valueOf(1), recorded.getErrorCounts().get("IOException"));
+		assertEquals(Long.valueOf(1), recorded.getErrorCounts().get("RobinhoodApiException"));
+	}
+
+	@Test
+	public void publishesMBeanPerMethod() throws Exception {
+		metrics.onSuccess(method, 0, 0, 0, 42);
+		metrics.registerMBeans();
+
+		Object bytes = ManagementFactory.getPlatformMBeanServer().getAttribute(
+				nameOf(metrics), "ResponseBytes");
+		assertEquals(42L, bytes);
+	}
+
+	@Test
+	public void eachInstanceKeepsItsOwnMBeans() throws Exception {
+		RequestMetrics other = new RequestMetrics();
+		try {
+			metrics.onSuccess(method, 0, 0, 0, 1);
+			other.onSuccess(method, 0, 0, 0, 2);
+			metrics.registerMBeans();
+			other.registerMBeans();
+
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			assertEquals(1L, server.getAttribute(nameOf(metrics), "ResponseBytes"));
+			assertEquals(2L, server.getAttribute(nameOf(other), "ResponseBytes"));
+
+			other.unregisterMBeans();
+			assertFalse(server.isRegistered(nameOf(other)));
+			assertTrue(server.isRegistered(nameOf(metrics)));
+		} finally {
+			other.unregisterMBeans();
+		}
+	}
+
+	private static ObjectName nameOf(RequestMetrics metrics) throws Exception {
+		return new ObjectName("com.ampro.robinhood:type=ApiMethod,manager="
+		                      + metrics.getId() + ",name=GetNothing");
+	}
+
+	private static class GetNothing extends ApiMethod {
+		GetNothing() {
+			super(Configuration.getDefault());
+			setUrlBase("http://localhost:8080/nothing/");
+		}
+	}
+
+}
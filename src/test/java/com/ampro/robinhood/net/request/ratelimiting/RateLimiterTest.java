@@ -0,0 +1,71 @@
+package com.ampro.robinhood.net.request.ratelimiting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.ampro.robinhood.endpoint.instrument.methods.GetInstrumentByTicker;
+import com.ampro.robinhood.endpoint.quote.methods.GetTickerQuote;
+import com.ampro.robinhood.net.ApiMethod;
+
+public class RateLimiterTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	public void burstIsLetThroughImmediately() {
+		TokenBucket bucket = new TokenBucket(1, 3);
+		long now = System.nanoTime();
+		assertEquals(0, bucket.reserve(now));
+		assertEquals(0, bucket.reserve(now));
+		assertEquals(0, bucket.reserve(now));
+	}
+
+	@Test
+	public void emptyBucketQueuesInArrivalOrder() {
+		TokenBucket bucket = new TokenBucket(1, 1);
+		long now = System.nanoTime();
+		assertEquals(0, bucket.reserve(now));
+		assertEquals(SECOND, bucket.reserve(now));
+		assertEquals(2 * SECOND, bucket.reserve(now));
+	}
+
+	@Test
+	public void bucketRefillsOverTime() {
+		TokenBucket bucket = new TokenBucket(1, 1);
+		long now = System.nanoTime();
+		bucket.reserve(now);
+		assertEquals(0, bucket.reserve(now + SECOND));
+	}
+
+	@Test
+	public void blockedBucketWaitsForRetryTime() {
+		TokenBucket bucket = new TokenBucket(10, 5);
+		long now = System.nanoTime();
+		bucket.blockUntil(now + 5 * SECOND);
+		assertEquals(5 * SECOND, bucket.reserve(now));
+	}
+
+	@Test
+	public void serverLimitIsRecordedPerFamily() {
+		RateLimiter limiter = new RateLimiter();
+		limiter.limit(new RateLimit("quotes", 30));
+		assertTrue(limiter.isLimited("quotes"));
+		assertFalse(limiter.isLimited("orders"));
+		assertTrue(limiter.reserve("quotes") > 0);
+		assertEquals(0, limiter.reserve("orders"));
+	}
+
+	@Test
+	public void endpointFamilyIsFirstPathSegment() {
+		ApiMethod quote = new GetTickerQuote("MSFT");
+		ApiMethod instrument = new GetInstrumentByTicker("MSFT");
+		assertEquals("quotes", quote.getEndpointFamily());
+		assertEquals("instruments", instrument.getEndpointFamily());
+	}
+
+}
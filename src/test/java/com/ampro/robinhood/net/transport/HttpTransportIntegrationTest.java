@@ -0,0 +1,162 @@
+package com.ampro.robinhood.net.transport;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.ampro.robinhood.Configuration;
+import com.ampro.robinhood.endpoint.option.data.Options;
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.net.request.RequestManager;
+import com.ampro.robinhood.throwables.RobinhoodApiException;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+
+/**
+ * Sends the same requests through every transport against a local
+ * WireMock stand-in, printing the throughput of each.
+ */
+public class HttpTransportIntegrationTest {
+
+	private static final int REQUESTS = 500;
+
+	@Rule
+	public WireMockRule wireMockRule = new WireMockRule();
+
+	private RequestManager requestManager;
+	private HttpTransport original;
+
+	@Before
+	public void setUp() {
+		requestManager = RequestManager.getInstance();
+		original = requestManager.getTransport();
+		//The stand-in is not Robinhood, don't throttle it
+		requestManager.getRateLimiter().setBucket("options", 1_000_000, 1_000_000);
+		wireMockRule.stubFor(get(urlEqualTo("/options/aggregate_positions/"))
+			.willReturn(aResponse()
+				.withStatus(200)
+				.withBody("{\"previous\":null,\"next\":null,\"results\":[{"
+					+ "\"id\":\"9182928a-f780-4043-a307-d04e9d07ad3b\",\"symbol\":\"MU\"}]}")
+			));
+	}
+
+	@After
+	public void tearDown() {
+		requestManager.setTransport(original);
+		requestManager.getRateLimiter().setBucket("options", 5, 10);
+	}
+
+	@Test
+	public void unirestSendsConcurrentRequests() throws Exception {
+		requestManager.setTransport(HttpTransports.unirest(new TransportConfig()));
+		sendConcurrently("unirest");
+	}
+
+	@Test
+	public void apacheSendsConcurrentRequests() throws Exception {
+		requestManager.setTransport(HttpTransports.apache(new TransportConfig()));
+		assertEquals("MU", requestManager.<Options>makeApiRequest(method())
+		                                  .getResults().get(0).getSymbol());
+		sendConcurrently("apache");
+	}
+
+	@Test
+	public void http2SendsConcurrentRequests() throws Exception {
+		assumeTrue(HttpTransports.isHttp2Available());
+		requestManager.setTransport(HttpTransports.http2(new TransportConfig()));
+		assertEquals("MU", requestManager.<Options>makeApiRequest(method())
+		                                  .getResults().get(0).getSymbol());
+		sendConcurrently("http2");
+	}
+
+	@Test
+	public void rateLimitedResponsesReleaseTheirConnections() throws Exception {
+		wireMockRule.stubFor(get(urlEqualTo("/limited/"))
+			.willReturn(aResponse()
+				.withStatus(429)
+				.withHeader("Retry-After", "0")
+				.withBody("{\"detail\":\"Request was throttled.\"}")
+			));
+		HttpTransport apache = HttpTransports.apache(new TransportConfig());
+		try (RequestManager own = new RequestManager(apache)) {
+			own.makeApiRequest(new GetStandIn("limited", Options.class));
+			fail("Every attempt was rate limited");
+		} catch (RobinhoodApiException expected) {
+			assertEquals(0, apache.getPoolStats().getLeased());
+		}
+	}
+
+	@Test
+	public void voidResponsesReleaseTheirConnections() throws Exception {
+		wireMockRule.stubFor(get(urlEqualTo("/logout/"))
+			.willReturn(aResponse().withStatus(200).withBody("{}")));
+		HttpTransport apache = HttpTransports.apache(new TransportConfig());
+		try (RequestManager own = new RequestManager(apache)) {
+			for (int i = 0; i < 3; i++) {
+				own.makeApiRequest(new GetStandIn("logout", Void.TYPE));
+			}
+			assertEquals(0, apache.getPoolStats().getLeased());
+		}
+	}
+
+	@Test
+	public void closingAConfiguredManagerLeavesTheSharedOneAlone() throws Exception {
+		requestManager.setTransport(HttpTransports.unirest(new TransportConfig()));
+		RequestManager own = RequestManager.create(new TransportConfig());
+		own.configureTransport(new TransportConfig());
+		own.close();
+		assertEquals("MU", requestManager.<Options>makeApiRequest(method())
+		                                  .getResults().get(0).getSymbol());
+	}
+
+	/** Gets any path of the stand-in */
+	private static class GetStandIn extends ApiMethod {
+		GetStandIn(String path, Class<?> returnType) {
+			super(Configuration.getDefault());
+			setUrlBase("http://localhost:8080/" + path + "/");
+			setReturnType(returnType);
+		}
+	}
+
+	private static ApiMethod method() {
+		return new GetStandInOptions();
+	}
+
+	/** Gets the aggregate option positions from the stand-in */
+	private static class GetStandInOptions extends ApiMethod {
+		GetStandInOptions() {
+			super(Configuration.getDefault());
+			setUrlBase("http://localhost:8080/options/aggregate_positions/");
+			setReturnType(Options.class);
+		}
+	}
+
+	private void sendConcurrently(String name) throws Exception {
+		List<CompletableFuture<Options>> responses = new ArrayList<>();
+		long start = System.nanoTime();
+		for (int i = 0; i < REQUESTS; i++) {
+			responses.add(requestManager.makeApiRequestAsync(method()));
+		}
+		for (CompletableFuture<Options> response : responses) {
+			assertEquals("MU", response.get(10, TimeUnit.SECONDS)
+			                           .getResults().get(0).getSymbol());
+		}
+		long elapsed = System.nanoTime() - start;
+		System.out.printf("%s: %d requests in %d ms (%.0f/s)%n", name, REQUESTS,
+				TimeUnit.NANOSECONDS.toMillis(elapsed),
+				REQUESTS / (elapsed / 1e9));
+	}
+
+}
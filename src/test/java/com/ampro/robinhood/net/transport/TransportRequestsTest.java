@@ -0,0 +1,87 @@
+package com.ampro.robinhood.net.transport;
+
+import static org.junit.Assert.assertEquals;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.ampro.robinhood.endpoint.fundamentals.methods.GetTickerFundamental;
+import com.ampro.robinhood.endpoint.fundamentals.methods.GetTickerFundimentalList;
+import com.ampro.robinhood.endpoint.instrument.methods.GetInstrumentByTicker;
+import com.ampro.robinhood.endpoint.instrument.methods.SearchInstrumentsByKeyword;
+import com.ampro.robinhood.endpoint.quote.methods.GetTickerQuote;
+import com.ampro.robinhood.endpoint.quote.methods.GetTickerQuoteList;
+import com.ampro.robinhood.net.ApiMethod;
+
+public class TransportRequestsTest {
+
+	/**
+	 * The url as Unirest built it from the base url: {@code routeParam}
+	 * escapes a few unsafe characters of each route value and
+	 * {@code queryString} appends the {@link URLEncoder} encoded parameters
+	 */
+	private static String substituted(ApiMethod method) throws Exception {
+		String url = method.getBaseUrl();
+		for (Map.Entry<String, String> route : method.getRouteParameters().entrySet()) {
+			url = url.replace("{" + route.getKey() + "}", routeParam(route.getValue()));
+		}
+		StringBuilder query = new StringBuilder();
+		for (Map.Entry<String, Object> parameter
+				: method.getQueryParameters().entrySet()) {
+			query.append(query.length() == 0 ? '?' : '&')
+			     .append(URLEncoder.encode(parameter.getKey(), "UTF-8")).append('=')
+			     .append(URLEncoder.encode(parameter.getValue().toString(), "UTF-8"));
+		}
+		return url + query;
+	}
+
+	private static String routeParam(String value) {
+		StringBuilder encoded = new StringBuilder();
+		for (char c : value.toCharArray()) {
+			if (" %$&+,/:;=?@<>#".indexOf(c) >= 0) {
+				encoded.append('%').append(String.format("%02X", (int) c));
+			} else {
+				encoded.append(c);
+			}
+		}
+		return encoded.toString();
+	}
+
+	@Test
+	public void urlsMatchTheRouteSubstitution() throws Exception {
+		ApiMethod[] methods = {
+				new GetTickerQuote("MSFT"),
+				new GetTickerQuote("BRK.B"),
+				new GetTickerFundamental("BRK.B"),
+				new GetInstrumentByTicker("BRK.B"),
+				new GetTickerQuoteList(Arrays.asList("MSFT", "FIT", "BRK.B")),
+				new GetTickerFundimentalList(Arrays.asList("MSFT", "FIT")),
+				new SearchInstrumentsByKeyword("tesla")
+		};
+		for (ApiMethod method : methods) {
+			assertEquals(substituted(method), TransportRequests.url(method));
+		}
+	}
+
+	@Test
+	public void reservedCharactersDecodeTheSame() throws Exception {
+		//'*' is now escaped and '~' is not, both decode to the same value
+		ApiMethod quote = new GetTickerQuote("A*B~C");
+		assertEquals("https://api.robinhood.com/quotes/A*B~C/", substituted(quote));
+		assertEquals("https://api.robinhood.com/quotes/A%2AB~C/",
+		             TransportRequests.url(quote));
+
+		ApiMethod search = new SearchInstrumentsByKeyword("a*b~c d");
+		assertEquals("https://api.robinhood.com/instruments/?query=a*b%7Ec+d",
+		             substituted(search));
+		assertEquals("https://api.robinhood.com/instruments/?query=a%2Ab~c%20d",
+		             TransportRequests.url(search));
+		assertEquals(URLDecoder.decode(substituted(search), "UTF-8"),
+		             URLDecoder.decode(TransportRequests.url(search), "UTF-8"));
+	}
+
+}
@@ -0,0 +1,129 @@
+package com.ampro.robinhood.session;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ampro.robinhood.RobinhoodApi;
+import com.ampro.robinhood.net.ApiMethod;
+import com.ampro.robinhood.net.request.RequestManager;
+import com.ampro.robinhood.net.transport.HttpTransport;
+import com.ampro.robinhood.net.transport.TransportConfig;
+import com.ampro.robinhood.net.transport.TransportResponse;
+
+public class SessionPoolTest {
+
+	private RequestManager requestManager;
+
+	@Before
+	public void setUp() {
+		//The calls below never send a request
+		requestManager = new RequestManager(new HttpTransport() {
+			@Override
+			public TransportResponse send(ApiMethod method) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public CompletableFuture<TransportResponse> sendAsync(ApiMethod method) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public TransportConfig getConfig() {
+				return null;
+			}
+
+			@Override
+			public void close() {
+			}
+		});
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		requestManager.close();
+	}
+
+	private SessionPool pool(int maxConcurrent, double permitsPerSecond, int burst) {
+		SessionPool pool = new SessionPool(requestManager, maxConcurrent,
+		                                   permitsPerSecond, burst);
+		pool.add("A", new RobinhoodApi(requestManager));
+		pool.add("B", new RobinhoodApi(requestManager));
+		return pool;
+	}
+
+	@Test
+	public void accountsTakeTurns() throws Exception {
+		SessionPool pool = pool(1, 1000, 100);
+		List<String> order = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch blocked = new CountDownLatch(1);
+		//Hold the only slot until every call is queued
+		CompletableFuture<Boolean> first = pool.submit("A", api -> {
+			try {
+				return blocked.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				return false;
+			}
+		});
+		List<CompletableFuture<String>> calls = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			calls.add(pool.submit("A", api -> {
+				order.add("A");
+				return "A";
+			}));
+		}
+		calls.add(pool.submit("B", api -> {
+			order.add("B");
+			return "B";
+		}));
+		assertEquals(4, pool.getQueuedCount());
+		blocked.countDown();
+		assertTrue(first.get(5, TimeUnit.SECONDS));
+		CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0]))
+		                 .get(5, TimeUnit.SECONDS);
+		//B's only call goes before A's second one
+		assertEquals(Arrays.asList("A", "B", "A", "A"), order);
+	}
+
+	@Test
+	public void eachAccountHasItsOwnBudget() throws Exception {
+		SessionPool pool = pool(16, 10, 1);
+		long start = System.nanoTime();
+		List<CompletableFuture<Long>> calls = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			calls.add(pool.submit("A", api -> System.nanoTime()));
+		}
+		long other = pool.submit("B", api -> System.nanoTime())
+		                 .get(5, TimeUnit.SECONDS);
+		long last = calls.get(2).get(5, TimeUnit.SECONDS);
+		//A waits 100ms between calls, B is not held back by A
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(last - start) >= 180);
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(other - start) < 100);
+	}
+
+	@Test
+	public void bulkResultsAreKeyedByAccount() throws Exception {
+		SessionPool pool = pool(4, 1000, 100);
+		Map<String, Integer> results = pool.invokeAll(
+				api -> System.identityHashCode(api)).get(5, TimeUnit.SECONDS);
+		assertEquals(2, results.size());
+		assertEquals(System.identityHashCode(pool.getApi("A")),
+		             (int) results.get("A"));
+		assertEquals(System.identityHashCode(pool.getApi("B")),
+		             (int) results.get("B"));
+	}
+
+}